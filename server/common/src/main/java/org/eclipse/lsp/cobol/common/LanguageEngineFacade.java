@@ -14,6 +14,12 @@
  */
 package org.eclipse.lsp.cobol.common;
 
+import org.eclipse.lsp4j.Diagnostic;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
 /**
  * Language Engine Facade interface
  */
@@ -27,4 +33,32 @@ public interface LanguageEngineFacade {
    * @return list of LSP diagnostic object used to display errors in the editor
    */
   AnalysisResult analyze(String uri, String text, AnalysisConfig analysisConfig);
+
+  /**
+   * Analyze the document and report the syntax diagnostics as soon as they are known, before the
+   * semantic analysis finishes. The final result replaces the reported diagnostics. By default, the
+   * diagnostics are available only in the final result.
+   *
+   * @param uri - URI of the processing document to define positions and errors properly
+   * @param text of document opened in the client editor
+   * @param analysisConfig contains analysis processing features info and copybook config
+   * @param syntaxDiagnosticsListener receives the preliminary diagnostics grouped by file URI
+   * @return list of LSP diagnostic object used to display errors in the editor
+   */
+  default AnalysisResult analyzeInStages(
+      String uri,
+      String text,
+      AnalysisConfig analysisConfig,
+      Consumer<Map<String, List<Diagnostic>>> syntaxDiagnosticsListener) {
+    return analyze(uri, text, analysisConfig);
+  }
+
+  /**
+   * Release the data the engine keeps to analyze the next version of the document faster. By
+   * default, nothing is kept.
+   *
+   * @param uri - URI of the closed document
+   */
+  default void closeDocument(String uri) {
+  }
 }
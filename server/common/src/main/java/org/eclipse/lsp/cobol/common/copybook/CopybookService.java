@@ -16,6 +16,8 @@ package org.eclipse.lsp.cobol.common.copybook;
 
 import lombok.NonNull;
 
+import java.util.Set;
+
 /**
  * Provide API definition to search for copybooks files. The service also caches copybook to reduce
  * filesystem load.
@@ -25,6 +27,26 @@ public interface CopybookService {
   /** Remove all the stored copybook. */
   void invalidateCache();
 
+  /**
+   * Remove the stored copybooks that may be affected by the change of a file: the copybooks resolved
+   * to the file or to the files inside the folder, and the copybooks with the same name as the file.
+   *
+   * @param uri - the URI of the changed file or folder
+   * @return the URIs of the documents that use the affected copybooks, directly or through other
+   *     copybooks
+   */
+  Set<String> invalidateCache(@NonNull String uri);
+
+  /**
+   * Start resolving and reading the copybooks that the program text refers to in background, so the
+   * analysis of the program finds them ready instead of waiting for each of them in turn. The
+   * copybooks referred from the prefetched ones are prefetched as soon as these are read.
+   *
+   * @param programDocumentUri - the program document to prefetch the copybooks for
+   * @param text - the cleaned text of the program
+   */
+  void prefetch(@NonNull String programDocumentUri, @NonNull String text);
+
   /**
    * Retrieve and return the copybook by its name.
    *
@@ -120,4 +120,14 @@ public interface CobolDialect {
   default List<CodeActionProvider> getDialectCodeActionProviders() {
     return ImmutableList.of();
   }
+
+  /**
+   * Return the caches of the dialect grammars, so the server can bound their memory together with
+   * its own grammar caches.
+   *
+   * @return the grammar caches by the grammar name
+   */
+  default Map<String, GrammarCache> getGrammarCaches() {
+    return ImmutableMap.of();
+  }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.dialects;
+
+import org.antlr.v4.runtime.atn.ATNSimulator;
+import org.antlr.v4.runtime.atn.LexerATNSimulator;
+import org.antlr.v4.runtime.atn.ParserATNSimulator;
+import org.antlr.v4.runtime.dfa.DFA;
+
+/**
+ * The DFA cache of an ANTLR grammar, shared by all its lexers or parsers. The server uses it for its
+ * own grammars, and the dialects for theirs. ANTLR itself is provided by the server at runtime.
+ */
+public final class DfaGrammarCache implements GrammarCache {
+  private final ATNSimulator interpreter;
+
+  /**
+   * Create the cache of the grammar of the given interpreter
+   *
+   * @param interpreter the interpreter of any lexer or parser of the grammar
+   */
+  public DfaGrammarCache(ATNSimulator interpreter) {
+    this.interpreter = interpreter;
+  }
+
+  @Override
+  public int size() {
+    DFA[] dfas =
+        interpreter instanceof LexerATNSimulator
+            ? ((LexerATNSimulator) interpreter).decisionToDFA
+            : ((ParserATNSimulator) interpreter).decisionToDFA;
+    int states = 0;
+    for (DFA dfa : dfas) {
+      states += dfa.states.size();
+    }
+    return states;
+  }
+
+  @Override
+  public void clear() {
+    interpreter.clearDFA();
+  }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.dialects;
+
+/**
+ * A cache of a dialect grammar that only grows, e.g. the DFA cache of an ANTLR lexer or parser. The
+ * server counts its size together with its own grammar caches, and clears it once the total exceeds
+ * the limit.
+ */
+public interface GrammarCache {
+  /**
+   * Count the entries of the cache
+   *
+   * @return the number of entries, e.g. DFA states
+   */
+  int size();
+
+  /** Clear the cache. It is called only when no analysis is running. */
+  void clear();
+}
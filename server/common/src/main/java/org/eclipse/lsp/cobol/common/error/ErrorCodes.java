@@ -24,7 +24,9 @@ import lombok.AllArgsConstructor;
 public enum ErrorCodes implements ErrorCode {
     /** This copybook does not present in the copybook folder */
     MISSING_COPYBOOK("missing copybook"),
-    INCOMPATIBLE_SERVER_TYPE("incompatible server type");
+    INCOMPATIBLE_SERVER_TYPE("incompatible server type"),
+    /** The analysis of the document exceeded the budget and was not completed */
+    ANALYSIS_LIMITED("analysis limited");
 
     private String label;
 
@@ -16,6 +16,7 @@
 package org.eclipse.lsp.cobol.common.mapping;
 
 import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 
 import java.util.*;
@@ -25,17 +26,17 @@ import java.util.*;
  */
 public class DocumentMap {
   private final String uri;
-  private final LinkedList<TextTransformations> transformations = new LinkedList<>();
-  private final LinkedList<MappingService> mappings = new LinkedList<>();
+  private TextTransformations transformations;
+  private final List<MappingLayer> mappings = new ArrayList<>();
 
   public DocumentMap(String uri, String text) {
     this.uri = uri;
-    transformations.push(new TextTransformations(text, uri));
+    transformations = new TextTransformations(text, uri);
   }
 
   public DocumentMap(TextTransformations textTransformations) {
     this.uri = textTransformations.getUri();
-    transformations.push(textTransformations);
+    transformations = textTransformations;
   }
 
   /**
@@ -97,13 +98,13 @@ public class DocumentMap {
 
   /**
    * Commit current accumulated transformations. Create a new text transformation level on top of
-   * current one.
+   * current one. Only the mapping of the committed level is kept.
    */
   public void commitTransformations() {
     if (topTransformations().isChanged()) {
-      mappings.push(new MappingService(topTransformations()));
-      transformations.push(
-          new TextTransformations(topTransformations().calculateExtendedText(), topTransformations().getUri()));
+      addMapping(new MappingService(topTransformations()));
+      transformations =
+          new TextTransformations(topTransformations().calculateExtendedText(), topTransformations().getUri());
     }
   }
 
@@ -125,31 +126,70 @@ public class DocumentMap {
     if (checkCommitted && topTransformations().isChanged()) {
       throw new IllegalStateException("There are uncommitted changes in document map " + uri);
     }
-    if (mappings.isEmpty()) {
-      return extLocation;
+    Location location = extLocation;
+    for (int i = mappings.size() - 1; i >= 0 && Objects.equals(location.getUri(), uri); i--) {
+      location = mappings.get(i).mapLocation(location);
     }
-    LinkedList<MappingService> maps = new LinkedList<>(mappings);
-    return mapLocation(extLocation, maps);
+    return location;
   }
 
-  private Location mapLocation(Location location, LinkedList<MappingService> maps) {
-    if (maps.isEmpty() || !Objects.equals(location.getUri(), uri)) {
-      return location;
+  /**
+   * Most of the committed transformations don't move the text, e.g. dialects and REPLACE statements
+   * often substitute words with text of the same shape. Such mappings in a row that cover the same
+   * text are collapsed into one layer, so mapping a range through them costs a single range check.
+   */
+  private void addMapping(MappingService mappingService) {
+    Range identityRange = mappingService.getIdentityRange();
+    if (identityRange != null && !mappings.isEmpty()) {
+      MappingLayer top = mappings.get(mappings.size() - 1);
+      if (identityRange.equals(top.identityRange)) {
+        top.services.add(mappingService);
+        return;
+      }
     }
-    MappingService mappingService = maps.pop();
-    Location originalLocation =
-        mappingService
-            .getOriginalLocation(location.getRange())
-            .orElseThrow(IllegalStateException::new);
-
-    return mapLocation(originalLocation, maps);
+    mappings.add(new MappingLayer(identityRange, mappingService));
   }
 
   private TextTransformations topTransformations() {
-    return transformations.peek();
+    return transformations;
   }
 
   public String getText() {
     return topTransformations().getText();
   }
+
+  /** Mapping services applied one after another, the last added is applied first */
+  private static final class MappingLayer {
+    private final Range identityRange;
+    private final List<MappingService> services = new ArrayList<>();
+
+    MappingLayer(Range identityRange, MappingService mappingService) {
+      this.identityRange = identityRange;
+      services.add(mappingService);
+    }
+
+    Location mapLocation(Location location) {
+      // All the services keep this range in place if the first one does, as they map the same text
+      if (services.get(0).keepsInPlace(location.getRange())) {
+        return new Location(location.getUri(), copy(location.getRange()));
+      }
+      Location result = location;
+      for (int i = services.size() - 1; i >= 0; i--) {
+        if (!Objects.equals(result.getUri(), location.getUri())) {
+          break;
+        }
+        result =
+            services.get(i)
+                .getOriginalLocation(result.getRange())
+                .orElseThrow(IllegalStateException::new);
+      }
+      return result;
+    }
+
+    private static Range copy(Range range) {
+      return new Range(
+          new Position(range.getStart().getLine(), range.getStart().getCharacter()),
+          new Position(range.getEnd().getLine(), range.getEnd().getCharacter()));
+    }
+  }
 }
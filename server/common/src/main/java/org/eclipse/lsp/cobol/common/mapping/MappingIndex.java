@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+
+package org.eclipse.lsp.cobol.common.mapping;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Position lookup index over the extended ranges of the mapping items. The result is the same as
+ * taking the last item of the list that contains the position according to {@link
+ * MappingHelper#rangeIn(Range, Range)}, but the lookup costs a binary search instead of a scan of
+ * the whole list.
+ *
+ * <p>The lines where some item starts or ends are the boundaries. They split the document into
+ * boundary lines and gaps between them. Inside a gap, only the items that span it completely
+ * match, so the winner is precalculated for every gap. On a boundary line, the match depends on
+ * the character position, so the index keeps the items that start or end there and outrank the
+ * spanning winner, ordered by priority.
+ */
+final class MappingIndex {
+  private static final int NONE = -1;
+
+  private final MappingService.MappingItem[] items;
+  private final int[] boundaries;
+  private final int[] spanningWinners;
+  private final int[] candidateOffsets;
+  private final int[] candidates;
+
+  MappingIndex(List<MappingService.MappingItem> localityMap) {
+    items = localityMap.toArray(new MappingService.MappingItem[0]);
+    boundaries = collectBoundaries(items);
+    spanningWinners = findSpanningWinners();
+    candidateOffsets = new int[boundaries.length + 1];
+    candidates = collectCandidates();
+  }
+
+  /**
+   * Find the mapping item with the highest priority that contains the given position.
+   *
+   * @param position in the extended document
+   * @return the mapping item or empty if no item contains the position
+   */
+  Optional<MappingService.MappingItem> find(Position position) {
+    int line = position.getLine();
+    int boundary = Arrays.binarySearch(boundaries, line);
+    if (boundary < 0) {
+      return item(spanningWinners[gapSegment(-boundary - 1)]);
+    }
+    Range range = new Range(position, position);
+    for (int i = candidateOffsets[boundary]; i < candidateOffsets[boundary + 1]; i++) {
+      if (MappingHelper.rangeIn(range, items[candidates[i]].getExtendedRange())) {
+        return item(candidates[i]);
+      }
+    }
+    return item(spanningWinners[boundarySegment(boundary)]);
+  }
+
+  private Optional<MappingService.MappingItem> item(int index) {
+    return index == NONE ? Optional.empty() : Optional.of(items[index]);
+  }
+
+  private static int[] collectBoundaries(MappingService.MappingItem[] items) {
+    int[] lines = new int[items.length * 2];
+    for (int i = 0; i < items.length; i++) {
+      lines[2 * i] = startLine(items[i]);
+      lines[2 * i + 1] = endLine(items[i]);
+    }
+    Arrays.sort(lines);
+    int count = 0;
+    for (int i = 0; i < lines.length; i++) {
+      if (i == 0 || lines[i] != lines[i - 1]) {
+        lines[count++] = lines[i];
+      }
+    }
+    return Arrays.copyOf(lines, count);
+  }
+
+  /**
+   * Segments are numbered so that the gap before the boundary {@code k} is {@code 2k}, and the
+   * boundary line itself is {@code 2k + 1}. An item spans the contiguous segments strictly between
+   * its start and end lines, so the segments are assigned starting from the highest priority item,
+   * and the already assigned ones are skipped.
+   */
+  private int[] findSpanningWinners() {
+    int segments = boundaries.length * 2 + 1;
+    int[] winners = new int[segments];
+    Arrays.fill(winners, NONE);
+    int[] nextFree = new int[segments + 1];
+    for (int i = 0; i < nextFree.length; i++) {
+      nextFree[i] = i;
+    }
+    for (int index = items.length - 1; index >= 0; index--) {
+      int first = gapSegment(boundaryOf(startLine(items[index])) + 1);
+      int last = gapSegment(boundaryOf(endLine(items[index])));
+      for (int segment = findFree(nextFree, first); segment <= last; segment = findFree(nextFree, segment + 1)) {
+        winners[segment] = index;
+        nextFree[segment] = segment + 1;
+      }
+    }
+    return winners;
+  }
+
+  private static int findFree(int[] nextFree, int segment) {
+    int current = segment;
+    while (nextFree[current] != current) {
+      nextFree[current] = nextFree[nextFree[current]];
+      current = nextFree[current];
+    }
+    return current;
+  }
+
+  private int[] collectCandidates() {
+    for (int index = 0; index < items.length; index++) {
+      countCandidate(index, boundaryOf(startLine(items[index])));
+      if (endLine(items[index]) != startLine(items[index])) {
+        countCandidate(index, boundaryOf(endLine(items[index])));
+      }
+    }
+    for (int boundary = 0; boundary < boundaries.length; boundary++) {
+      candidateOffsets[boundary + 1] += candidateOffsets[boundary];
+    }
+    int[] result = new int[candidateOffsets[boundaries.length]];
+    int[] fill = Arrays.copyOf(candidateOffsets, boundaries.length);
+    // Descending order, so the first match during the lookup has the highest priority
+    for (int index = items.length - 1; index >= 0; index--) {
+      int start = boundaryOf(startLine(items[index]));
+      if (outranksSpanning(index, start)) {
+        result[fill[start]++] = index;
+      }
+      int end = boundaryOf(endLine(items[index]));
+      if (end != start && outranksSpanning(index, end)) {
+        result[fill[end]++] = index;
+      }
+    }
+    return result;
+  }
+
+  private void countCandidate(int index, int boundary) {
+    if (outranksSpanning(index, boundary)) {
+      candidateOffsets[boundary + 1]++;
+    }
+  }
+
+  private boolean outranksSpanning(int index, int boundary) {
+    return index > spanningWinners[boundarySegment(boundary)];
+  }
+
+  private int boundaryOf(int line) {
+    return Arrays.binarySearch(boundaries, line);
+  }
+
+  private static int gapSegment(int boundary) {
+    return boundary * 2;
+  }
+
+  private static int boundarySegment(int boundary) {
+    return boundary * 2 + 1;
+  }
+
+  private static int startLine(MappingService.MappingItem item) {
+    return item.getExtendedRange().getStart().getLine();
+  }
+
+  private static int endLine(MappingService.MappingItem item) {
+    return item.getExtendedRange().getEnd().getLine();
+  }
+}
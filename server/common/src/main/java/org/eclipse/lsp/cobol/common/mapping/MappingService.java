@@ -16,6 +16,7 @@ package org.eclipse.lsp.cobol.common.mapping;
 
 import java.util.*;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Value;
 import org.apache.commons.lang3.tuple.Pair;
@@ -53,9 +54,43 @@ public class MappingService {
 
   @Getter
   private final List<MappingItem> localityMap;
+  private final MappingIndex index;
+  /**
+   * The extended range of the only mapping item if it maps the text to the same position of the
+   * same document, or null if the mapping moves some text
+   */
+  @Getter(AccessLevel.PACKAGE)
+  private final Range identityRange;
 
   public MappingService(TextTransformations textTransformations) {
-    localityMap = new ArrayList<>(buildLocalityMap(textTransformations));
+    localityMap = buildLocalityMap(textTransformations);
+    index = new MappingIndex(localityMap);
+    identityRange = findIdentityRange(textTransformations.getUri());
+  }
+
+  /**
+   * Check if the mapping keeps the range as is. It happens when the transformations didn't move any
+   * text, e.g. replaced some words with the text of the same shape, and the range is inside the
+   * mapped text. The original location of such a range is the range itself.
+   *
+   * @param range is a range from extended source
+   * @return true if getOriginalLocation returns the same range for the same document
+   */
+  boolean keepsInPlace(Range range) {
+    return identityRange != null
+        && MappingHelper.rangeIn(new Range(range.getStart(), range.getStart()), identityRange)
+        && MappingHelper.rangeIn(new Range(range.getEnd(), range.getEnd()), identityRange);
+  }
+
+  private Range findIdentityRange(String uri) {
+    if (localityMap.size() != 1) {
+      return null;
+    }
+    MappingItem item = localityMap.get(0);
+    return Objects.equals(uri, item.originalLocation.getUri())
+        && item.extendedRange.equals(item.originalLocation.getRange())
+        ? item.extendedRange
+        : null;
   }
 
   /**
@@ -65,7 +100,7 @@ public class MappingService {
    */
   public Optional<Location> getOriginalLocation(Range range) {
     Optional<Pair<Position, String>> start = getOriginalPosition(range.getStart());
-    List<Optional<Pair<Position, String>>> optionalEnds = new LinkedList<>();
+    List<Optional<Pair<Position, String>>> optionalEnds = new ArrayList<>(3);
 
     optionalEnds.add(getOriginalPosition(range.getEnd()));
     optionalEnds.add(getOriginalPosition(new Position(range.getEnd().getLine() + 1, 0)));
@@ -130,7 +165,7 @@ public class MappingService {
 
   private Optional<Pair<Position, String>> getOriginalPosition(Position position) {
     return
-        findRangeAndLocation(new Range(position, position))
+        findRangeAndLocation(position)
             .map(mappingItem -> {
               int lineShift = position.getLine() - mappingItem.extendedRange.getStart().getLine();
               int charShift = mappingItem.originalLocation.getRange().getStart().getCharacter() - mappingItem.extendedRange.getStart().getCharacter();
@@ -146,12 +181,28 @@ public class MappingService {
             });
   }
 
+  private Optional<MappingItem> findRangeAndLocation(Position position) {
+    return index.find(position);
+  }
+
+  /**
+   * Find the last mapping item that contains the range. The item found for the start of the range
+   * is the one if it also contains the end, otherwise the whole map is scanned as for a range that
+   * crosses the mapping items.
+   */
   private Optional<MappingItem> findRangeAndLocation(Range range) {
-    List<MappingItem> list = localityMap.stream().filter(p -> MappingHelper.rangeIn(range, p.extendedRange)).collect(Collectors.toList());
-    if (list.size() == 0) {
-      return Optional.empty();
+    Optional<MappingItem> item = index.find(range.getStart());
+    if (item.isPresent()
+        && MappingHelper.rangeIn(new Range(range.getEnd(), range.getEnd()), item.get().extendedRange)) {
+      return item;
     }
-    return Optional.of(list.get(list.size() - 1));
+    MappingItem result = null;
+    for (MappingItem mappingItem : localityMap) {
+      if (MappingHelper.rangeIn(range, mappingItem.extendedRange)) {
+        result = mappingItem;
+      }
+    }
+    return Optional.ofNullable(result);
   }
 
   /**
@@ -160,8 +211,8 @@ public class MappingService {
    * @return a map
    */
   private List<MappingItem> buildLocalityMap(TextTransformations textTransformations) {
-    List<MappingItem> result = new LinkedList<>();
-    LinkedList<Range> ranges = new LinkedList<>(textTransformations.getExtensions().keySet());
+    List<MappingItem> result = new ArrayList<>();
+    List<Range> ranges = new ArrayList<>(textTransformations.getExtensions().keySet());
     ranges.sort(Comparator.comparingInt(e -> e.getStart().getLine()));
     int originalDocumentLine = 0;
     int extendedDocumentLine = 0;
@@ -240,17 +291,18 @@ public class MappingService {
 
   private static List<MappingItem> applyReplacements(List<MappingItem> localityMap, Map<Range, String> replacements, String text) {
     localityMap = new ArrayList<>(localityMap);
-    List<Range> ranges = new LinkedList<>(replacements.keySet());
-    ranges = ranges.stream().filter(r -> affectsToMapping(r, replacements.get(r))).collect(Collectors.toList());
-    ranges.sort(Comparator.comparingInt(e -> e.getStart().getLine()));
+    List<Range> ranges = replacements.keySet().stream()
+        .filter(r -> affectsToMapping(r, replacements.get(r)))
+        .sorted(Comparator.comparingInt(e -> e.getStart().getLine()))
+        .collect(Collectors.toList());
+    String[] lines = text.split(SEPARATOR);
 
     for (Range range : ranges) {
       if (MappingHelper.size(range) <= 1) {
         continue;
       }
 
-      String[] lines =  text.split(SEPARATOR);
-      List<MappingItem> iterationMap = new LinkedList<>(localityMap);
+      List<MappingItem> iterationMap = new ArrayList<>(localityMap);
       for (MappingItem item : iterationMap) {
         if (MappingHelper.rangeIn(range, item.originalLocation.getRange())) {
           Range adjustedRange = extendRangeIfNeeded(range, lines, replacements.get(range));
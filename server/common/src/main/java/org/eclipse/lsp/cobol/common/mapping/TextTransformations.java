@@ -14,8 +14,13 @@
  */
 package org.eclipse.lsp.cobol.common.mapping;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 
@@ -34,25 +39,66 @@ public class TextTransformations {
   private final Map<Range, TextTransformations> extensions = new HashMap<>();
   private final Set<Integer> inserts = new HashSet<>();
   private final Map<Range, String> replacements = new HashMap<>();
+  /** The extended text of the last calculation, it is valid until the next change */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private String extendedText;
+  /** The extended texts of the extensions that the cached extended text contains */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private Map<Range, String> extensionTexts = Collections.emptyMap();
 
   /**
-   * Apply all transformations and form resulting text
+   * Apply all transformations and form resulting text. The text is calculated once and reused
+   * until this object or one of its extensions changes.
    *
    * @return text with all transformations
    */
   public String calculateExtendedText() {
-    StringBuilder eda = new StringBuilder();
+    if (!isExtendedTextValid()) {
+      Map<Range, String> texts = new HashMap<>();
+      extensions.forEach((range, extension) -> texts.put(range, extension.calculateExtendedText()));
+      extendedText = buildExtendedText(texts);
+      extensionTexts = texts;
+    }
+    return extendedText;
+  }
 
-    LinkedList<Range> ranges = new LinkedList<>(extensions.keySet());
+  /**
+   * The extensions may still change after they were added, so the cached text is valid only if
+   * all of them return the same text objects that were used to build it.
+   */
+  private boolean isExtendedTextValid() {
+    if (extendedText == null) {
+      return false;
+    }
+    for (Map.Entry<Range, TextTransformations> extension : extensions.entrySet()) {
+      // Compare the references, the extensions return the same object while their text is valid
+      if (extension.getValue().calculateExtendedText() != extensionTexts.get(extension.getKey())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String buildExtendedText(Map<Range, String> texts) {
+    StringBuilder eda = new StringBuilder(text.length());
+
+    List<Range> ranges = new ArrayList<>(extensions.keySet());
     ranges.addAll(replacements.keySet());
     ranges.sort(
         Comparator.comparingInt((Range c) -> c.getStart().getLine())
             .thenComparingInt(c -> c.getStart().getCharacter()));
 
-    String[] lines = text.split(REGEX_KEEP_NEW_LINES, -1);
+    String[] lines = splitKeepingNewLines(text);
     int lineNumber = 0;
     int linePos;
-    Range currentRange = ranges.isEmpty() ? null : ranges.removeFirst();
+    int nextRange = 0;
+    Range currentRange = nextRange < ranges.size() ? ranges.get(nextRange++) : null;
     Range prevRange = null;
     while (currentRange != null && lineNumber < lines.length) {
       if (currentRange.getStart().getLine() > lineNumber) {
@@ -72,15 +118,14 @@ public class TextTransformations {
         eda.append(lines[lineNumber], linePos, currentRange.getStart().getCharacter());
         String replace;
         if (extensions.containsKey(currentRange)) {
-          TextTransformations mappable = extensions.get(currentRange);
-          replace = mappable.calculateExtendedText();
+          replace = texts.get(currentRange);
         } else {
           replace = replacements.get(currentRange);
         }
         if (inserts.contains(lineNumber)) {
           eda.append(lines[lineNumber]);
           prevRange = currentRange;
-          currentRange = ranges.isEmpty() ? null : ranges.removeFirst();
+          currentRange = nextRange < ranges.size() ? ranges.get(nextRange++) : null;
           eda.append(replace);
           //eda.append("\n");
           lineNumber++;
@@ -89,7 +134,7 @@ public class TextTransformations {
         eda.append(replace);
         lineNumber = currentRange.getEnd().getLine();
         prevRange = currentRange;
-        currentRange = ranges.isEmpty() ? null : ranges.removeFirst();
+        currentRange = nextRange < ranges.size() ? ranges.get(nextRange++) : null;
       }
     }
     for (int i = lineNumber; i < lines.length; i++) {
@@ -102,6 +147,22 @@ public class TextTransformations {
     return eda.toString();
   }
 
+  /**
+   * Split the text into lines that keep their line endings. It is the same as splitting by {@link
+   * #REGEX_KEEP_NEW_LINES} with no limit, i.e. the last line is empty if the text ends with a new
+   * line.
+   */
+  private static String[] splitKeepingNewLines(String text) {
+    List<String> lines = new ArrayList<>();
+    int lineStart = 0;
+    for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', lineStart)) {
+      lines.add(text.substring(lineStart, i + 1));
+      lineStart = i + 1;
+    }
+    lines.add(text.substring(lineStart));
+    return lines.toArray(new String[0]);
+  }
+
   /**
    * Replace copy statement with result of copybook substitution
    *
@@ -114,6 +175,7 @@ public class TextTransformations {
             new Position(range.getStart().getLine(), 0),
             new Position(range.getEnd().getLine(), range.getEnd().getCharacter()));
     extensions.put(extRange, textTransformations);
+    extendedText = null;
   }
 
   /**
@@ -129,6 +191,7 @@ public class TextTransformations {
             new Position(line, 80));
     extensions.put(extRange, textTransformations);
     inserts.add(line);
+    extendedText = null;
   }
 
   /**
@@ -139,6 +202,7 @@ public class TextTransformations {
    */
   public void replace(Range range, String newText) {
     replacements.put(range, newText);
+    extendedText = null;
   }
 
   /**
@@ -149,6 +213,7 @@ public class TextTransformations {
    */
   public void replace(Range range, TextTransformations textTransformations) {
     extensions.put(range, textTransformations);
+    extendedText = null;
   }
 
   /**
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+
+package org.eclipse.lsp.cobol.common.mapping;
+
+import lombok.Value;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Test class for {@link DocumentMap} */
+class DocumentMapTest {
+  private static final String URI = "document";
+  private static final String TEXT =
+      "       IDENTIFICATION DIVISION.\n"
+          + "       PROGRAM-ID. TEST1.\n"
+          + "       DATA DIVISION.\n"
+          + "       WORKING-STORAGE SECTION.\n"
+          + "       COPY IDMS SUBSCHEMA-NAMES.\n"
+          + "       01 PARENT.\n"
+          + "          05 CHILD PIC 9.\n"
+          + "       PROCEDURE DIVISION.\n"
+          + "           DISPLAY CHILD.";
+
+  @Test
+  void testStackedLayersMapLikeSequentialMappings() {
+    List<Edit> layers = new ArrayList<>();
+    layers.add(new Edit(new Range(new Position(1, 19), new Position(1, 24)), "TEST2", null));
+    layers.add(new Edit(new Range(new Position(5, 10), new Position(5, 16)), "FATHER", null));
+    layers.add(
+        new Edit(
+            new Range(new Position(4, 7), new Position(4, 33)),
+            "       01 SSC-NAMES.\n          05 SSC-NAME PIC X(8).",
+            "copybook"));
+    layers.add(new Edit(new Range(new Position(0, 7), new Position(0, 21)), "IDENTIFICATION", null));
+    layers.add(new Edit(new Range(new Position(2, 7), new Position(2, 11)), "    ", null));
+
+    DocumentMap documentMap = new DocumentMap(URI, TEXT);
+    List<MappingService> sequential = new ArrayList<>();
+    String text = TEXT;
+    for (Edit layer : layers) {
+      layer.apply(documentMap);
+      documentMap.commitTransformations();
+
+      TextTransformations transformations = TextTransformations.of(text, URI);
+      layer.apply(transformations);
+      sequential.add(new MappingService(transformations));
+      text = transformations.calculateExtendedText();
+    }
+    assertEquals(text, documentMap.getText());
+
+    for (int startLine = -1; startLine < 14; startLine++) {
+      for (int endLine = startLine; endLine < startLine + 3; endLine++) {
+        for (int character = 0; character < 90; character += 3) {
+          Range range = new Range(new Position(startLine, character), new Position(endLine, character + 5));
+          assertSameMapping(sequential, documentMap, range);
+        }
+      }
+    }
+  }
+
+  private static void assertSameMapping(List<MappingService> sequential, DocumentMap documentMap, Range range) {
+    Location expected;
+    try {
+      expected = mapSequentially(sequential, range);
+    } catch (IllegalStateException e) {
+      assertThrows(IllegalStateException.class, () -> documentMap.mapLocation(range, true), range.toString());
+      return;
+    }
+    assertEquals(expected, documentMap.mapLocation(range, true), range.toString());
+  }
+
+  private static Location mapSequentially(List<MappingService> sequential, Range range) {
+    Location location = new Location(URI, range);
+    for (int i = sequential.size() - 1; i >= 0 && URI.equals(location.getUri()); i--) {
+      location = sequential.get(i).getOriginalLocation(location.getRange()).orElseThrow(IllegalStateException::new);
+    }
+    return location;
+  }
+
+  /** A replacement with a text, or an extension with a copybook if the copybook URI is set */
+  @Value
+  private static class Edit {
+    Range range;
+    String text;
+    String copybookUri;
+
+    void apply(DocumentMap documentMap) {
+      if (copybookUri == null) {
+        documentMap.replace(range, text);
+      } else {
+        documentMap.extend(range, TextTransformations.of(text, copybookUri));
+      }
+    }
+
+    void apply(TextTransformations transformations) {
+      if (copybookUri == null) {
+        transformations.replace(range, text);
+      } else {
+        transformations.extend(range, TextTransformations.of(text, copybookUri));
+      }
+    }
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+
+package org.eclipse.lsp.cobol.common.mapping;
+
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/** Test class for {@link MappingIndex} */
+class MappingIndexTest {
+
+  @Test
+  void testEmptyIndex() {
+    MappingIndex index = new MappingIndex(Collections.emptyList());
+    assertFalse(index.find(new Position(0, 0)).isPresent());
+  }
+
+  @Test
+  void testLaterItemWins() {
+    MappingService.MappingItem whole = item(0, 0, 20, 80);
+    MappingService.MappingItem middle = item(5, 10, 7, 30);
+    MappingIndex index = new MappingIndex(Arrays.asList(whole, middle));
+
+    assertSame(whole, index.find(new Position(3, 0)).get());
+    assertSame(whole, index.find(new Position(5, 9)).get());
+    assertSame(middle, index.find(new Position(5, 10)).get());
+    assertSame(middle, index.find(new Position(6, 0)).get());
+    assertSame(middle, index.find(new Position(7, 30)).get());
+    assertSame(whole, index.find(new Position(7, 31)).get());
+    assertFalse(index.find(new Position(21, 0)).isPresent());
+  }
+
+  @Test
+  void testSameResultAsLinearScan() {
+    Random random = new Random(42);
+    for (int round = 0; round < 200; round++) {
+      List<MappingService.MappingItem> items = new ArrayList<>();
+      int count = 1 + random.nextInt(30);
+      for (int i = 0; i < count; i++) {
+        int startLine = random.nextInt(40);
+        // Allow single line and reversed ranges too, as they appear after the replacements
+        int endLine = startLine + random.nextInt(12) - 2;
+        items.add(item(startLine, random.nextInt(81), endLine, random.nextInt(81)));
+      }
+      MappingIndex index = new MappingIndex(items);
+      for (int line = -1; line < 55; line++) {
+        for (int character = 0; character <= 81; character++) {
+          Position position = new Position(line, character);
+          assertEquals(linearScan(items, position), index.find(position), position.toString());
+        }
+      }
+    }
+  }
+
+  private static Optional<MappingService.MappingItem> linearScan(
+      List<MappingService.MappingItem> items, Position position) {
+    Range range = new Range(position, position);
+    MappingService.MappingItem result = null;
+    for (MappingService.MappingItem item : items) {
+      if (MappingHelper.rangeIn(range, item.getExtendedRange())) {
+        result = item;
+      }
+    }
+    return Optional.ofNullable(result);
+  }
+
+  private static MappingService.MappingItem item(
+      int startLine, int startChar, int endLine, int endChar) {
+    Range range = new Range(new Position(startLine, startChar), new Position(endLine, endChar));
+    return new MappingService.MappingItem(range, new Location("uri", range), null);
+  }
+}
@@ -309,6 +309,28 @@ class MappingServiceTest {
     assertEquals(2, location4.get().getRange().getEnd().getCharacter());
   }
 
+  @Test
+  void testLocationCrossingCopybook() {
+    var service = prepareService();
+    Range range = new Range(new Position(5, 10), new Position(9, 15));
+    Optional<Location> location = service.getOriginalLocation(range);
+
+    MappingService.MappingItem expected = null;
+    for (MappingService.MappingItem item : service.getLocalityMap()) {
+      if (MappingHelper.rangeIn(range, item.getExtendedRange())) {
+        expected = item;
+      }
+    }
+    assertNotNull(expected);
+    assertTrue(location.isPresent());
+    assertEquals(expected.getOriginalLocation().getUri(), location.get().getUri());
+    assertEquals("original", location.get().getUri());
+    assertEquals(5, location.get().getRange().getStart().getLine());
+    assertEquals(10, location.get().getRange().getStart().getCharacter());
+    assertEquals(9, location.get().getRange().getEnd().getLine());
+    assertEquals(15, location.get().getRange().getEnd().getCharacter());
+  }
+
   @Test
   void testLocationAfterCopybook() {
     var service = prepareService();
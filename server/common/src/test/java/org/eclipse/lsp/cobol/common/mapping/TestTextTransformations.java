@@ -19,6 +19,7 @@ import org.eclipse.lsp4j.Range;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /** Text Transformation tests */
 class TestTextTransformations {
@@ -124,4 +125,26 @@ class TestTextTransformations {
         + "Line 2\n"
         + "1: TEST\n", tt.calculateExtendedText());
   }
+
+  @Test
+  void extendedTextIsReusedUntilChange() {
+    TextTransformations tt = new TextTransformations(TEST, "https://example.com/text1.txt");
+    tt.replace(new Range(new Position(1, 3), new Position(1, 7)), "1234");
+    String text = tt.calculateExtendedText();
+    assertSame(text, tt.calculateExtendedText());
+
+    tt.replace(new Range(new Position(0, 3), new Position(0, 7)), "4321");
+    assertEquals("0: 4321\n1: 1234\n", tt.calculateExtendedText());
+  }
+
+  @Test
+  void extendedTextReflectsChangedExtension() {
+    TextTransformations tt = new TextTransformations("Hi!\n" + TEST, "https://example.com/text1.txt");
+    TextTransformations boom = TextTransformations.of("Line 1\nLine 2\n", "BOOM.cpy");
+    tt.extend(new Range(new Position(1, 0), new Position(1, 7)), boom);
+    assertEquals("Hi!\nLine 1\nLine 2\n\n1: TEST\n", tt.calculateExtendedText());
+
+    boom.replace(new Range(new Position(1, 2), new Position(1, 3)), "M");
+    assertEquals("Hi!\nLine 1\nLiMe 2\n\n1: TEST\n", tt.calculateExtendedText());
+  }
 }
@@ -15,14 +15,17 @@
 package org.eclipse.lsp.cobol.dialects.daco;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.eclipse.lsp.cobol.common.ResultWithErrors;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.common.dialects.CobolDialect;
+import org.eclipse.lsp.cobol.common.dialects.DfaGrammarCache;
 import org.eclipse.lsp.cobol.common.dialects.DialectOutcome;
 import org.eclipse.lsp.cobol.common.dialects.DialectProcessingContext;
+import org.eclipse.lsp.cobol.common.dialects.GrammarCache;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
 import org.eclipse.lsp.cobol.common.message.MessageService;
@@ -113,6 +116,16 @@ public final class DaCoDialect implements CobolDialect {
     return KeywordsUtils.getKeywords("KeywordsDaCo.txt");
   }
 
+  @Override
+  public Map<String, GrammarCache> getGrammarCaches() {
+    return ImmutableMap.<String, GrammarCache>builder()
+        .put("DaCoLexer", new DfaGrammarCache(new DaCoLexer(null).getInterpreter()))
+        .put("DaCoParser", new DfaGrammarCache(new DaCoParser(null).getInterpreter()))
+        .put("VariableLexer", new DfaGrammarCache(new VariableLexer(null).getInterpreter()))
+        .put("VariableParser", new DfaGrammarCache(new VariableParser(null).getInterpreter()))
+        .build();
+  }
+
   private void removeDcDb(ExtendedSource extendedSource) {
     String input = extendedSource.getText();
     Matcher matcher = dcdbPattern.matcher(input);
@@ -15,6 +15,7 @@
 package org.eclipse.lsp.cobol.dialects.idms;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.apache.commons.lang3.tuple.Pair;
@@ -23,8 +24,10 @@ import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
 import org.eclipse.lsp.cobol.common.copybook.CopybookName;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.common.dialects.CobolDialect;
+import org.eclipse.lsp.cobol.common.dialects.DfaGrammarCache;
 import org.eclipse.lsp.cobol.common.dialects.DialectOutcome;
 import org.eclipse.lsp.cobol.common.dialects.DialectProcessingContext;
+import org.eclipse.lsp.cobol.common.dialects.GrammarCache;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.mapping.DocumentMap;
 import org.eclipse.lsp.cobol.common.message.MessageService;
@@ -221,6 +224,16 @@ public final class IdmsDialect implements CobolDialect {
     return ImmutableList.of(IDMS_CPY_LOCAL_PATHS);
   }
 
+  @Override
+  public Map<String, GrammarCache> getGrammarCaches() {
+    return ImmutableMap.<String, GrammarCache>builder()
+        .put("IdmsLexer", new DfaGrammarCache(new IdmsLexer(null).getInterpreter()))
+        .put("IdmsParser", new DfaGrammarCache(new IdmsParser(null).getInterpreter()))
+        .put("IdmsCopyLexer", new DfaGrammarCache(new IdmsCopyLexer(null).getInterpreter()))
+        .put("IdmsCopyParser", new DfaGrammarCache(new IdmsCopyParser(null).getInterpreter()))
+        .build();
+  }
+
   private IdmsCopyParser.StartRuleContext parseCopyIdms(String text, String programDocumentUri, List<SyntaxError> errors) {
     IdmsCopyLexer lexer = new IdmsCopyLexer(CharStreams.fromString(text));
     CommonTokenStream tokens = new CommonTokenStream(lexer);
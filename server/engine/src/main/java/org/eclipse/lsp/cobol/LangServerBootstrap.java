@@ -22,6 +22,7 @@ import com.google.inject.Injector;
 import lombok.NonNull;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp.cobol.core.engine.GrammarWarmUp;
 import org.eclipse.lsp.cobol.domain.modules.DatabusModule;
 import org.eclipse.lsp.cobol.domain.modules.EngineModule;
 import org.eclipse.lsp.cobol.domain.modules.ServiceModule;
@@ -64,6 +65,7 @@ public class LangServerBootstrap {
     Injector injector = initCtx();
     LanguageServer server = injector.getInstance(LanguageServer.class);
     ClientProvider provider = injector.getInstance(ClientProvider.class);
+    injector.getInstance(GrammarWarmUp.class).start();
 
     start(args, server, provider);
   }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core;
+
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.Vocabulary;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The case-insensitive table of the keyword token types of a lexer.
+ *
+ * <p>The keywords of {@link CobolLexer} are declared in the tokens section instead of the separate
+ * lexer rules, so the lexer matches them as identifiers and then looks up the keyword type here. A
+ * keyword is a token without a lexer rule, its spelling is the token name with dashes instead of
+ * the underscores, e.g. SOURCE-COMPUTER for SOURCE_COMPUTER, and the single letter for the names
+ * like S_CHAR.
+ */
+public final class CobolKeywords {
+  private static final String LETTER_SUFFIX = "_CHAR";
+
+  private final char[][] keywords;
+  private final int[] hashes;
+  private final int[] types;
+  private final int mask;
+  private final int defaultType;
+  private int maxLength;
+
+  /**
+   * Create the table of the keywords of the lexer
+   *
+   * @param vocabulary the lexer vocabulary
+   * @param ruleNames the lexer rule names
+   * @param defaultType the type of the tokens that are not keywords
+   */
+  public CobolKeywords(Vocabulary vocabulary, String[] ruleNames, int defaultType) {
+    this.defaultType = defaultType;
+    Set<String> rules = new HashSet<>(Arrays.asList(ruleNames));
+    int size = Integer.highestOneBit(vocabulary.getMaxTokenType() * 2) * 2;
+    keywords = new char[size][];
+    hashes = new int[size];
+    types = new int[size];
+    mask = size - 1;
+    for (int type = 1; type <= vocabulary.getMaxTokenType(); type++) {
+      String name = vocabulary.getSymbolicName(type);
+      if (name != null && !rules.contains(name)) {
+        add(toKeyword(name).toCharArray(), type);
+      }
+    }
+  }
+
+  /**
+   * Get the type of the token that the lexer has just matched
+   *
+   * @param input the lexer input positioned right after the token
+   * @param length the token length
+   * @return the keyword type or the default type if the token is not a keyword
+   */
+  public int getType(IntStream input, int length) {
+    if (length > maxLength) {
+      return defaultType;
+    }
+    int hash = 0;
+    for (int i = -length; i < 0; i++) {
+      hash = 31 * hash + toUpperCase(input.LA(i));
+    }
+    for (int slot = hash & mask; keywords[slot] != null; slot = (slot + 1) & mask) {
+      if (hashes[slot] == hash && matches(keywords[slot], input, length)) {
+        return types[slot];
+      }
+    }
+    return defaultType;
+  }
+
+  private void add(char[] keyword, int type) {
+    int hash = 0;
+    for (char c : keyword) {
+      hash = 31 * hash + c;
+    }
+    int slot = hash & mask;
+    while (keywords[slot] != null) {
+      slot = (slot + 1) & mask;
+    }
+    keywords[slot] = keyword;
+    hashes[slot] = hash;
+    types[slot] = type;
+    maxLength = Math.max(maxLength, keyword.length);
+  }
+
+  private static boolean matches(char[] keyword, IntStream input, int length) {
+    if (keyword.length != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (keyword[i] != toUpperCase(input.LA(i - length))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String toKeyword(String name) {
+    if (name.length() == LETTER_SUFFIX.length() + 1 && name.endsWith(LETTER_SUFFIX)) {
+      return name.substring(0, 1);
+    }
+    return name.replace('_', '-');
+  }
+
+  private static int toUpperCase(int c) {
+    return c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c;
+  }
+}
@@ -18,10 +18,15 @@
 package org.eclipse.lsp.cobol.core;
 
 import com.google.common.annotations.VisibleForTesting;
+import org.antlr.v4.runtime.ANTLRErrorListener;
 import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Token;
 import org.antlr.v4.runtime.TokenStream;
+import org.eclipse.lsp.cobol.common.message.MessageTemplate;
 import org.eclipse.lsp.cobol.common.utils.PreprocessorStringUtils;
 import org.eclipse.lsp.cobol.core.strategy.CobolErrorStrategy;
+import org.eclipse.lsp.cobol.core.visitor.ParserListener;
 
 import java.util.regex.Pattern;
 
@@ -65,6 +70,35 @@ public abstract class MessageServiceParser extends Parser {
     super.notifyErrorListeners(message);
   }
 
+  /**
+   * Notify the error listeners about a syntax error with a message template. The {@link
+   * ParserListener} keeps the template to localize it when the errors are published, the other
+   * listeners receive the localized message.
+   *
+   * @param offendingToken the token that caused the error
+   * @param message the template of the error message
+   * @param e the recognition exception or null
+   */
+  public void notifyErrorListeners(
+      Token offendingToken, MessageTemplate message, RecognitionException e) {
+    _syntaxErrors++;
+    int line = -1;
+    int charPositionInLine = -1;
+    if (offendingToken != null) {
+      line = offendingToken.getLine();
+      charPositionInLine = offendingToken.getCharPositionInLine();
+    }
+    for (ANTLRErrorListener listener : getErrorListeners()) {
+      if (listener instanceof ParserListener) {
+        ((ParserListener) listener)
+            .syntaxError(this, offendingToken, line, charPositionInLine, message, e);
+      } else {
+        listener.syntaxError(
+            this, offendingToken, line, charPositionInLine, localizeTemplate(message), e);
+      }
+    }
+  }
+
   /**
    * Validate a string and throw an error if it is not equal to the expected value
    *
@@ -287,6 +321,12 @@ public abstract class MessageServiceParser extends Parser {
         .getMessage(messageKey, parameters);
   }
 
+  private String localizeTemplate(MessageTemplate message) {
+    return ((CobolErrorStrategy) this.getErrorHandler())
+        .getMessageService()
+        .localizeTemplate(message);
+  }
+
   private Integer tryParseInt(String input) {
     Integer parsedValue;
     try {
@@ -18,7 +18,6 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
-import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.tree.ParseTreeListener;
 import org.eclipse.lsp.cobol.common.AnalysisConfig;
@@ -26,6 +25,7 @@ import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp.cobol.common.ResultWithErrors;
 import org.eclipse.lsp.cobol.common.SubroutineService;
 import org.eclipse.lsp.cobol.common.copybook.CopybookConfig;
+import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.common.dialects.DialectOutcome;
 import org.eclipse.lsp.cobol.common.dialects.DialectProcessingContext;
 import org.eclipse.lsp.cobol.common.error.ErrorSeverity;
@@ -35,6 +35,7 @@ import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
 import org.eclipse.lsp.cobol.common.mapping.OriginalLocation;
 import org.eclipse.lsp.cobol.common.mapping.TextTransformations;
 import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.common.message.MessageTemplate;
 import org.eclipse.lsp.cobol.common.model.tree.*;
 import org.eclipse.lsp.cobol.common.model.tree.variable.*;
 import org.eclipse.lsp.cobol.common.processor.ProcessingContext;
@@ -42,12 +43,16 @@ import org.eclipse.lsp.cobol.common.processor.ProcessingPhase;
 import org.eclipse.lsp.cobol.common.processor.ProcessorDescription;
 import org.eclipse.lsp.cobol.common.utils.RangeUtils;
 import org.eclipse.lsp.cobol.common.utils.ThreadInterruptionUtil;
-import org.eclipse.lsp.cobol.core.CobolLexer;
 import org.eclipse.lsp.cobol.core.CobolParser;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisBudget;
 import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext;
 import org.eclipse.lsp.cobol.core.engine.analysis.EmbeddedCodeService;
 import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
 import org.eclipse.lsp.cobol.core.engine.errors.ErrorFinalizerService;
+import org.eclipse.lsp.cobol.core.engine.lexer.CobolTokenCache;
+import org.eclipse.lsp.cobol.core.engine.lexer.SplicedTokenSource;
+import org.eclipse.lsp.cobol.core.engine.parser.ProgramUnitParser;
+import org.eclipse.lsp.cobol.core.engine.parser.RecordingParserListener;
 import org.eclipse.lsp.cobol.core.engine.processor.AstProcessor;
 import org.eclipse.lsp.cobol.core.engine.symbols.SymbolAccumulatorService;
 import org.eclipse.lsp.cobol.core.engine.symbols.SymbolsRepository;
@@ -60,6 +65,7 @@ import org.eclipse.lsp.cobol.core.preprocessor.CopybookHierarchy;
 import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessor;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.GrammarPreprocessor;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.PreprocessorContext;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.CopybookExpansionCache;
 import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
 import org.eclipse.lsp.cobol.core.strategy.CobolErrorStrategy;
 import org.eclipse.lsp.cobol.core.visitor.CobolVisitor;
@@ -71,8 +77,11 @@ import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
+import static org.eclipse.lsp.cobol.common.error.ErrorSource.PARSING;
 import static org.eclipse.lsp.cobol.common.error.ErrorSource.WORKSPACE_SETTINGS;
 import static org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Activity.*;
 
@@ -96,6 +105,11 @@ public class CobolLanguageEngine {
   private final SymbolsRepository symbolsRepository;
   private final EmbeddedCodeService embeddedCodeService;
   private final ErrorFinalizerService errorFinalizerService;
+  private final CopybookService copybookService;
+  private final DfaCacheGovernor dfaCacheGovernor;
+  private final AnalysisBudget analysisBudget;
+  private final CobolTokenCache tokenCache = new CobolTokenCache();
+  private final ProgramUnitParser programUnitParser = new ProgramUnitParser();
 
   @Inject
   public CobolLanguageEngine(
@@ -109,7 +123,10 @@ public class CobolLanguageEngine {
       AstProcessor astProcessor,
       SymbolsRepository symbolsRepository,
       EmbeddedCodeService embeddedCodeService,
-      ErrorFinalizerService errorFinalizerService) {
+      ErrorFinalizerService errorFinalizerService,
+      CopybookService copybookService,
+      DfaCacheGovernor dfaCacheGovernor,
+      AnalysisBudget analysisBudget) {
     this.preprocessor = preprocessor;
     this.grammarPreprocessor = grammarPreprocessor;
     this.messageService = messageService;
@@ -121,6 +138,9 @@ public class CobolLanguageEngine {
     this.symbolsRepository = symbolsRepository;
     this.embeddedCodeService = embeddedCodeService;
     this.errorFinalizerService = errorFinalizerService;
+    this.copybookService = copybookService;
+    this.dfaCacheGovernor = dfaCacheGovernor;
+    this.analysisBudget = analysisBudget;
   }
 
   /**
@@ -137,34 +157,92 @@ public class CobolLanguageEngine {
   @NonNull
   public ResultWithErrors<AnalysisResult> run(
       @NonNull String documentUri, @NonNull String text, @NonNull AnalysisConfig analysisConfig) {
+    return run(documentUri, text, analysisConfig, errors -> { });
+  }
+
+  /**
+   * Perform syntax and semantic analysis for the given text document and report the preprocessor
+   * and parser errors as soon as they are known, before the semantic analysis starts. The final
+   * result contains all the errors, so the early errors should be treated as a preliminary view that
+   * the final result replaces.
+   *
+   * @param documentUri unique resource identifier of the processed document
+   * @param text the content of the document that should be processed
+   * @param analysisConfig contains analysis processing features info and copybook config
+   * @param syntaxErrorsListener receives the localized preprocessor and parser errors once, on the
+   *     analysis thread
+   * @return Semantic information wrapper object and list of syntax error that might send back to
+   *     the client
+   */
+  @NonNull
+  public ResultWithErrors<AnalysisResult> run(
+      @NonNull String documentUri,
+      @NonNull String text,
+      @NonNull AnalysisConfig analysisConfig,
+      @NonNull Consumer<List<SyntaxError>> syntaxErrorsListener) {
     ThreadInterruptionUtil.checkThreadInterrupted();
 
     if (ServerTypeUtil.isInCompatibleServerTypeRegistered(analysisConfig)) {
       return getErrorForIncompatibleServerTypeAndDialects(documentUri);
     }
 
+    return dfaCacheGovernor.runAnalysis(() -> analyze(documentUri, text, analysisConfig, syntaxErrorsListener));
+  }
+
+  /**
+   * Release the parse result of the document kept to parse its next version faster
+   *
+   * @param documentUri unique resource identifier of the closed document
+   */
+  public void closeDocument(@NonNull String documentUri) {
+    programUnitParser.remove(documentUri);
+  }
+
+  private ResultWithErrors<AnalysisResult> analyze(
+      String documentUri,
+      String text,
+      AnalysisConfig analysisConfig,
+      Consumer<List<SyntaxError>> syntaxErrorsListener) {
+    Optional<MessageTemplate> sizeExceeded = analysisBudget.checkSize(text);
+    if (sizeExceeded.isPresent()) {
+      return getPartialResult(documentUri, Collections.emptyList(), Collections.singletonList(sizeExceeded.get()));
+    }
     // Cleaning up
     ResultWithErrors<TextTransformations> resultWithErrors = preprocessor.cleanUpCode(documentUri, text);
-    AnalysisContext ctx = new AnalysisContext(new ExtendedSource(resultWithErrors.getResult()), analysisConfig);
+    AnalysisContext ctx = new AnalysisContext(new ExtendedSource(resultWithErrors.getResult()), analysisConfig, analysisBudget);
     ctx.getAccumulatedErrors().addAll(resultWithErrors.getErrors());
+    if (analysisConfig.getCopybookConfig().getCopybookProcessingMode().analyze) {
+      copybookService.prefetch(documentUri, ctx.getExtendedSource().extendedText());
+    }
 
     // Dialect processing
     dialectService.updateDialects(analysisConfig.getDialectRegistry());
     DialectOutcome dialectOutcome = ctx.measure(DIALECTS,
             () -> processDialects(ctx));
+    if (ctx.isBudgetExceeded()) {
+      return getPartialResult(documentUri, ctx.getAccumulatedErrors(), ctx.getExceededBudgets());
+    }
 
     // Preprocessor (replacement, copybooks)
     CopybooksRepository copybooksRepository = ctx.measure(PREPROCESSOR, () -> runPreprocessor(documentUri, ctx));
+    if (ctx.isBudgetExceeded()) {
+      return getPartialResult(documentUri, ctx.getAccumulatedErrors(), ctx.getExceededBudgets());
+    }
     applyDialectCopybooks(copybooksRepository, dialectOutcome.getDialectNodes());
 
     // Run parser
-    ParserListener listener = new ParserListener(ctx.getExtendedSource(), copybooksRepository);
-    CobolLexer lexer = new CobolLexer(CharStreams.fromString(ctx.getExtendedSource().extendedText()));
-    lexer.removeErrorListeners();
-    CommonTokenStream tokens = new CommonTokenStream(lexer);
+    RecordingParserListener listener = new RecordingParserListener(ctx.getExtendedSource(), copybooksRepository);
+    SplicedTokenSource tokenSource = tokenCache.createTokenSource(ctx.getExtendedSource().extendedText());
+    CommonTokenStream tokens = new CommonTokenStream(tokenSource);
 
     CobolParser.StartRuleContext tree = ctx.measure(PARSER,
-            () -> runParser(listener, lexer, tokens));
+            () -> runParser(documentUri, ctx, listener, tokenSource, tokens));
+    if (ctx.isBudgetExceeded()) {
+      ctx.getAccumulatedErrors().addAll(listener.getErrors());
+      return getPartialResult(documentUri, ctx.getAccumulatedErrors(), ctx.getExceededBudgets());
+    }
+    List<SyntaxError> syntaxErrors =
+        reportSyntaxErrors(ctx, listener, copybooksRepository, syntaxErrorsListener);
 
     // Parse embedded code
     List<Node> embeddedNodes = embeddedCodeService.generateNodes(ctx.getExtendedSource(), new ParserListener(ctx.getExtendedSource(), copybooksRepository), tree, treeListener,
@@ -180,6 +258,10 @@ public class CobolLanguageEngine {
                     copybooksRepository,
                     tokens,
                     tree));
+    if (ctx.isBudgetExceeded()) {
+      return getPartialResult(
+          documentUri, withSyntaxErrors(syntaxErrors, ctx.getAccumulatedErrors()), ctx.getExceededBudgets());
+    }
 
     addEmbeddedNodes(syntaxTree.get(0), embeddedNodes);
 
@@ -191,7 +273,6 @@ public class CobolLanguageEngine {
       return root;
     });
 
-    ctx.getAccumulatedErrors().addAll(listener.getErrors());
     ctx.measure(LATE_ERROR_PROCESSING,
         () -> errorFinalizerService.processLateErrors(ctx, copybooksRepository));
 
@@ -204,7 +285,71 @@ public class CobolLanguageEngine {
             .rootNode(rootNode)
             .symbolTableMap(symbolAccumulatorService.getProgramSymbols())
             .build(),
-            ctx.getAccumulatedErrors().stream().map(errorFinalizerService::localizeErrorMessage).collect(toList()));
+            limitErrors(
+                documentUri, withSyntaxErrors(syntaxErrors, ctx.getAccumulatedErrors()), ctx.getExceededBudgets()));
+  }
+
+  /**
+   * Add the errors found after the syntax errors were reported to them. The syntax errors are
+   * already processed and localized, so the later errors are localized before the duplicates are
+   * removed.
+   */
+  private List<SyntaxError> withSyntaxErrors(List<SyntaxError> syntaxErrors, List<SyntaxError> errors) {
+    return Stream.concat(
+            syntaxErrors.stream(), errors.stream().map(errorFinalizerService::localizeErrorMessage))
+        .distinct()
+        .collect(toList());
+  }
+
+  /**
+   * Create the result of the analysis that exceeded the budget. It doesn't contain the syntax tree,
+   * and the errors are limited to the budget and marked with the reason of the skipped analysis.
+   */
+  private ResultWithErrors<AnalysisResult> getPartialResult(
+      String documentUri, List<SyntaxError> errors, List<MessageTemplate> exceededBudgets) {
+    LOG.info("Partial analysis of {}: {}", documentUri, exceededBudgets.get(0).getTemplate());
+    return new ResultWithErrors<>(
+        AnalysisResult.builder().build(), limitErrors(documentUri, errors, exceededBudgets));
+  }
+
+  private List<SyntaxError> limitErrors(
+      String documentUri, List<SyntaxError> errors, List<MessageTemplate> exceededBudgets) {
+    if (exceededBudgets.isEmpty()) {
+      return errors.stream().map(errorFinalizerService::localizeErrorMessage).collect(toList());
+    }
+    List<SyntaxError> result = new ArrayList<>();
+    exceededBudgets.stream()
+        .map(reason -> SyntaxError.syntaxError()
+            .severity(ErrorSeverity.WARNING)
+            .messageTemplate(MessageTemplate.of("analysis.budgetExceeded", reason))
+            .errorSource(PARSING)
+            .errorCode(ErrorCodes.ANALYSIS_LIMITED)
+            .location(new OriginalLocation(
+                new Location(documentUri, new Range(new Position(0, 0), new Position(0, 0))), null))
+            .build())
+        .forEach(result::add);
+    errors.stream().distinct().limit(analysisBudget.getMaxErrors()).forEach(result::add);
+    return result.stream().map(errorFinalizerService::localizeErrorMessage).collect(toList());
+  }
+
+  /**
+   * Process and localize the errors found so far and report them to the listener. They are taken
+   * out of the accumulated errors and returned, so the final result reuses them instead of
+   * finalizing them again.
+   */
+  private List<SyntaxError> reportSyntaxErrors(AnalysisContext ctx, ParserListener listener,
+                                               CopybooksRepository copybooksRepository,
+                                               Consumer<List<SyntaxError>> syntaxErrorsListener) {
+    ThreadInterruptionUtil.checkThreadInterrupted();
+    List<SyntaxError> errors = new ArrayList<>(ctx.getAccumulatedErrors());
+    errors.addAll(listener.getErrors());
+    List<SyntaxError> syntaxErrors =
+        errorFinalizerService.processErrors(errors, copybooksRepository).stream()
+            .map(errorFinalizerService::localizeErrorMessage)
+            .collect(toList());
+    ctx.getAccumulatedErrors().clear();
+    syntaxErrorsListener.accept(syntaxErrors);
+    return syntaxErrors;
   }
 
   private ResultWithErrors<AnalysisResult> getErrorForIncompatibleServerTypeAndDialects(String documentUri) {
@@ -252,24 +397,39 @@ public class CobolLanguageEngine {
     return syntaxTree;
   }
 
-  private CobolParser.StartRuleContext runParser(ParserListener listener, CobolLexer lexer, CommonTokenStream tokens) {
+  private CobolParser.StartRuleContext runParser(String documentUri, AnalysisContext ctx,
+                                                 RecordingParserListener listener,
+                                                 SplicedTokenSource tokenSource, CommonTokenStream tokens) {
     ThreadInterruptionUtil.checkThreadInterrupted();
-    lexer.addErrorListener(listener);
+    tokenSource.addErrorListener(listener);
     CobolParser parser = new CobolParser(tokens);
     parser.removeErrorListeners();
     parser.addErrorListener(listener);
     parser.setErrorHandler(new CobolErrorStrategy(messageService));
     parser.addParseListener(treeListener);
-    return parser.startRule();
+    parser.addParseListener(analysisBudget.createParserGuard(PARSER, parser));
+    try {
+      return programUnitParser.parse(documentUri, parser, tokens, listener);
+    } catch (AnalysisBudget.BudgetExceededException e) {
+      ctx.exceedBudget(e.getReason());
+      return null;
+    }
   }
 
   private CopybooksRepository runPreprocessor(String programDocumentUri, AnalysisContext ctx) {
     List<SyntaxError> preprocessorErrors = new ArrayList<>();
     ExtendedSource extendedSource = ctx.getExtendedSource();
-    CopybooksRepository copybooks =
-            grammarPreprocessor.preprocess(new PreprocessorContext(programDocumentUri, extendedSource, extendedSource.getMainMap(),
-                    ctx.getConfig().getCopybookConfig(), new CopybookHierarchy(), new CopybooksRepository()))
-                    .unwrap(preprocessorErrors::addAll);
+    CopybooksRepository copybooks;
+    try {
+      copybooks =
+              grammarPreprocessor.preprocess(new PreprocessorContext(programDocumentUri, extendedSource, extendedSource.getMainMap(),
+                      ctx.getConfig().getCopybookConfig(), new CopybookHierarchy(), new CopybooksRepository(),
+                      new CopybookExpansionCache(), analysisBudget.createStageGuard(PREPROCESSOR)))
+                      .unwrap(preprocessorErrors::addAll);
+    } catch (AnalysisBudget.BudgetExceededException e) {
+      ctx.exceedBudget(e.getReason());
+      return null;
+    }
     extendedSource.commitTransformations();
 
     ctx.getAccumulatedErrors().addAll(preprocessorErrors);
@@ -286,9 +446,16 @@ public class CobolLanguageEngine {
                     .build();
     dialectProcessingContext.getExtendedSource().commitTransformations();
 
-    DialectOutcome dialectOutcome = dialectService
-                    .process(ctx.getConfig().getDialects(), dialectProcessingContext)
-                    .unwrap(ctx.getAccumulatedErrors()::addAll);
+    DialectOutcome dialectOutcome;
+    try {
+      dialectOutcome = dialectService
+                      .process(ctx.getConfig().getDialects(), dialectProcessingContext,
+                          analysisBudget.createStageGuard(DIALECTS))
+                      .unwrap(ctx.getAccumulatedErrors()::addAll);
+    } catch (AnalysisBudget.BudgetExceededException e) {
+      ctx.exceedBudget(e.getReason());
+      return null;
+    }
     Set<SyntaxError> errors = new HashSet<>(ctx.getAccumulatedErrors());
     ctx.getAccumulatedErrors().clear();
     ctx.getAccumulatedErrors().addAll(errors);
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.atn.ATNSimulator;
+import org.eclipse.lsp.cobol.common.dialects.DfaGrammarCache;
+import org.eclipse.lsp.cobol.common.dialects.GrammarCache;
+import org.eclipse.lsp.cobol.core.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the memory of the grammar DFA caches. The generated lexers and parsers keep the DFA states
+ * in static caches that only grow, so the states are counted after each analysis, and all the caches
+ * are cleared once the total exceeds the limit set with the "dfaMaxStates" system property. The
+ * caches of the dialect grammars are registered by the dialects and bounded together with the
+ * server ones. The analyses share a lock, so the caches are counted and cleared only when no
+ * analysis is running. The state counts are logged at most once in the report interval.
+ */
+@Slf4j
+@Singleton
+public class DfaCacheGovernor {
+  private static final String MAX_STATES_PROPERTY = "dfaMaxStates";
+  private static final int DEFAULT_MAX_STATES = 50_000;
+  private static final long REPORT_INTERVAL = TimeUnit.MINUTES.toNanos(10);
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<String, GrammarCache> caches = new ConcurrentSkipListMap<>();
+  private final int maxStates;
+  private long lastReport;
+  private boolean reported;
+
+  @Inject
+  public DfaCacheGovernor() {
+    this(Integer.getInteger(MAX_STATES_PROPERTY, DEFAULT_MAX_STATES));
+  }
+
+  DfaCacheGovernor(int maxStates) {
+    this.maxStates = maxStates;
+    register("CobolPreprocessorLexer", new CobolPreprocessorLexer(null).getInterpreter());
+    register("CobolPreprocessor", new CobolPreprocessor(null).getInterpreter());
+    register("CobolLexer", new CobolLexer(null).getInterpreter());
+    register("CobolParser", new CobolParser(null).getInterpreter());
+    register("Db2SqlLexer", new Db2SqlLexer(null).getInterpreter());
+    register("Db2SqlParser", new Db2SqlParser(null).getInterpreter());
+    register("CICSLexer", new CICSLexer(null).getInterpreter());
+    register("CICSParser", new CICSParser(null).getInterpreter());
+  }
+
+  /**
+   * Register the cache of a dialect grammar to bound it together with the server grammars
+   *
+   * @param name the name of the grammar
+   * @param cache the cache of the grammar
+   */
+  public void register(String name, GrammarCache cache) {
+    caches.put(name, cache);
+  }
+
+  /**
+   * Run the analysis that uses the grammars, and check the size of the DFA caches after it if no
+   * other analysis is running
+   *
+   * @param analysis the analysis to run
+   * @param <T> the type of the analysis result
+   * @return the analysis result
+   */
+  public <T> T runAnalysis(Supplier<T> analysis) {
+    lock.readLock().lock();
+    try {
+      return analysis.get();
+    } finally {
+      lock.readLock().unlock();
+      checkLimit();
+    }
+  }
+
+  /**
+   * Count the DFA states of the grammars
+   *
+   * @return the number of states by the grammar name
+   */
+  Map<String, Integer> countStates() {
+    Map<String, Integer> counts = new LinkedHashMap<>();
+    caches.forEach((name, cache) -> counts.put(name, cache.size()));
+    return counts;
+  }
+
+  private void register(String name, ATNSimulator interpreter) {
+    caches.put(name, new DfaGrammarCache(interpreter));
+  }
+
+  private void checkLimit() {
+    if (!lock.writeLock().tryLock()) {
+      return;
+    }
+    try {
+      Map<String, Integer> counts = countStates();
+      int total = counts.values().stream().mapToInt(Integer::intValue).sum();
+      if (total > maxStates) {
+        caches.values().forEach(GrammarCache::clear);
+        LOG.info("Cleared {} DFA states over the limit of {}: {}", total, maxStates, counts);
+      } else if (isReportDue()) {
+        LOG.info("DFA states: {} of {}: {}", total, maxStates, counts);
+      } else {
+        LOG.debug("DFA states: {}", counts);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private boolean isReportDue() {
+    long now = System.nanoTime();
+    if (reported && now - lastReport < REPORT_INTERVAL) {
+      return false;
+    }
+    reported = true;
+    lastReport = now;
+    return true;
+  }
+}
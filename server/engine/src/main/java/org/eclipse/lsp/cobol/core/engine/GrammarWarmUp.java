@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine;
+
+import com.google.common.io.Resources;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.eclipse.lsp.cobol.core.*;
+import org.eclipse.lsp.cobol.core.strategy.TwoStageParsing;
+import org.eclipse.lsp.cobol.core.visitor.VisitorHelper;
+import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+import static org.eclipse.lsp.cobol.core.CobolParser.*;
+
+/**
+ * Warms up the grammars at the server start. The generated parsers share their DFA caches, that are
+ * filled by the first documents, so the bundled program is parsed in the background the same way as
+ * a document, to make the first analysis close to the later ones. The warm-up is disabled with the
+ * "grammarWarmUp" system property set to false.
+ *
+ * <p>Only the server grammars are warmed up: the preprocessor, COBOL, Db2 SQL and CICS ones. The
+ * dialect grammars are not covered, so the first analysis with a dialect still fills their caches.
+ */
+@Slf4j
+@Singleton
+public class GrammarWarmUp {
+  private static final String WARM_UP_PROPERTY = "grammarWarmUp";
+  private static final String CORPUS = "/warmup/WARMUP.cbl";
+
+  private final CustomThreadPoolExecutor executors;
+  private final DfaCacheGovernor dfaCacheGovernor;
+
+  @Inject
+  public GrammarWarmUp(CustomThreadPoolExecutor executors, DfaCacheGovernor dfaCacheGovernor) {
+    this.executors = executors;
+    this.dfaCacheGovernor = dfaCacheGovernor;
+  }
+
+  /** Start the warm-up in the background lane unless it is disabled */
+  public void start() {
+    if (!Boolean.parseBoolean(System.getProperty(WARM_UP_PROPERTY, "true"))) {
+      LOG.debug("Grammar warm-up is disabled");
+      return;
+    }
+    executors.getThreadPoolExecutor().execute(this::run);
+  }
+
+  private void run() {
+    long start = System.currentTimeMillis();
+    try {
+      String text = Resources.toString(GrammarWarmUp.class.getResource(CORPUS), StandardCharsets.UTF_8);
+      int errors = dfaCacheGovernor.runAnalysis(() -> warmUp(text));
+      LOG.info(
+          "Grammar warm-up finished in {} ms with {} syntax errors",
+          System.currentTimeMillis() - start,
+          errors);
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Grammar warm-up failed", e);
+    }
+  }
+
+  /**
+   * Parse the given program with the preprocessor, COBOL and embedded code grammars
+   *
+   * @param text the program text
+   * @return the number of syntax errors found
+   */
+  static int warmUp(String text) {
+    CobolPreprocessor preprocessor =
+        createParser(new CobolPreprocessorLexer(CharStreams.fromString(text)), CobolPreprocessor::new);
+    preprocessor.startRule();
+
+    CobolParser parser = createParser(new CobolLexer(CharStreams.fromString(text)), CobolParser::new);
+    StartRuleContext tree = TwoStageParsing.parse(parser, CobolParser::startRule);
+    EmbeddedCodeWarmUp embeddedCode = new EmbeddedCodeWarmUp();
+    new ParseTreeWalker().walk(embeddedCode, tree);
+    return preprocessor.getNumberOfSyntaxErrors()
+        + parser.getNumberOfSyntaxErrors()
+        + embeddedCode.errors;
+  }
+
+  private static <P extends Parser> P createParser(Lexer lexer, Function<CommonTokenStream, P> constructor) {
+    lexer.removeErrorListeners();
+    P parser = constructor.apply(new CommonTokenStream(lexer));
+    parser.removeErrorListeners();
+    return parser;
+  }
+
+  /** Parses the embedded code with the same rules as the analysis does */
+  private static class EmbeddedCodeWarmUp extends CobolParserBaseListener {
+    private int errors;
+
+    @Override
+    public void exitExecSqlStatementInProcedureDivision(ExecSqlStatementInProcedureDivisionContext ctx) {
+      parseSql(ctx.execSqlStatement(), Db2SqlParser::procedureDivisionRules);
+    }
+
+    @Override
+    public void exitExecSqlStatementInWorkingStorage(ExecSqlStatementInWorkingStorageContext ctx) {
+      parseSql(ctx.execSqlStatement(), Db2SqlParser::dataDivisionRules);
+    }
+
+    @Override
+    public void exitExecSqlStatementInWorkingStorageAndLinkageSection(
+        ExecSqlStatementInWorkingStorageAndLinkageSectionContext ctx) {
+      parseSql(ctx.execSqlStatement(), Db2SqlParser::dataDivisionRules);
+    }
+
+    @Override
+    public void exitExecSqlStatementInDataDivision(ExecSqlStatementInDataDivisionContext ctx) {
+      parseSql(ctx.execSqlStatement(), Db2SqlParser::dataDivisionRules);
+    }
+
+    @Override
+    public void exitExecCicsStatement(ExecCicsStatementContext ctx) {
+      if (ctx.cicsRules() == null) return;
+      String code = VisitorHelper.getIntervalText(ctx.cicsRules());
+      CICSParser parser = createParser(new CICSLexer(CharStreams.fromString(code)), CICSParser::new);
+      TwoStageParsing.parse(parser, CICSParser::allCicsRules);
+      errors += parser.getNumberOfSyntaxErrors();
+    }
+
+    private void parseSql(ExecSqlStatementContext context, Function<Db2SqlParser, ParserRuleContext> rule) {
+      if (context.sqlCode() == null) return;
+      String code = VisitorHelper.getIntervalText(context.sqlCode());
+      Db2SqlParser parser = createParser(new Db2SqlLexer(CharStreams.fromString(code)), Db2SqlParser::new);
+      TwoStageParsing.parse(parser, rule);
+      errors += parser.getNumberOfSyntaxErrors();
+    }
+  }
+}
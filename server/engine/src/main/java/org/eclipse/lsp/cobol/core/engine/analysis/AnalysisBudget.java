@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.analysis;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import lombok.Getter;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.eclipse.lsp.cobol.common.message.MessageTemplate;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Activity;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The limits that keep the analysis of huge or badly broken documents responsive. A document with
+ * more lines than "analysisMaxLines" is not analyzed, and a stage that finds more errors than
+ * "analysisMaxErrors" or runs longer than "analysisStageTimeout" milliseconds stops the analysis
+ * before the semantic phases. The limits are set with the system properties of the same names.
+ */
+@Singleton
+public class AnalysisBudget {
+  private static final String MAX_LINES_PROPERTY = "analysisMaxLines";
+  private static final String MAX_ERRORS_PROPERTY = "analysisMaxErrors";
+  private static final String STAGE_TIMEOUT_PROPERTY = "analysisStageTimeout";
+  private static final int DEFAULT_MAX_LINES = 100_000;
+  private static final int DEFAULT_MAX_ERRORS = 5_000;
+  private static final long DEFAULT_STAGE_TIMEOUT = 60_000;
+
+  @Getter private final int maxLines;
+  @Getter private final int maxErrors;
+  private final long stageTimeout;
+
+  @Inject
+  public AnalysisBudget() {
+    this(
+        Integer.getInteger(MAX_LINES_PROPERTY, DEFAULT_MAX_LINES),
+        Integer.getInteger(MAX_ERRORS_PROPERTY, DEFAULT_MAX_ERRORS),
+        Long.getLong(STAGE_TIMEOUT_PROPERTY, DEFAULT_STAGE_TIMEOUT));
+  }
+
+  public AnalysisBudget(int maxLines, int maxErrors, long stageTimeout) {
+    this.maxLines = maxLines;
+    this.maxErrors = maxErrors;
+    this.stageTimeout = stageTimeout;
+  }
+
+  /**
+   * Check if the document is small enough to analyze
+   *
+   * @param text the document text
+   * @return the reason to skip the analysis if the document has too many lines
+   */
+  public Optional<MessageTemplate> checkSize(String text) {
+    int lines = 1;
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) == '\n') {
+        lines++;
+      }
+    }
+    return lines > maxLines
+        ? Optional.of(MessageTemplate.of("analysis.maxLines", lines, maxLines))
+        : Optional.empty();
+  }
+
+  /**
+   * Check if a stage of the analysis is within the budget
+   *
+   * @param activity the stage
+   * @param time the time of the stage in milliseconds
+   * @param errors the number of errors the stage found
+   * @return the reason to skip the rest of the analysis if the stage exceeded the budget
+   */
+  public Optional<MessageTemplate> checkStage(Activity activity, long time, int errors) {
+    if (errors > maxErrors) {
+      return Optional.of(MessageTemplate.of("analysis.maxErrors", getName(activity), errors, maxErrors));
+    }
+    if (time > stageTimeout) {
+      return Optional.of(MessageTemplate.of("analysis.stageTimeout", getName(activity), time, stageTimeout));
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Create a parse listener that stops the parser when it exceeds the budget of the given stage
+   *
+   * @param activity the stage that runs the parser
+   * @param parser the parser to watch
+   * @return the parse listener that throws {@link BudgetExceededException}
+   */
+  public ParseTreeListener createParserGuard(Activity activity, Parser parser) {
+    return new ParserGuard(activity, parser);
+  }
+
+  /**
+   * Create a check of the stage time for the loops of the stages that don't run a parser, like the
+   * dialect steps and the copybook expansion. The errors of these stages are checked when they end.
+   *
+   * @param activity the stage to watch
+   * @return the check that throws {@link BudgetExceededException} when the stage runs out of time
+   */
+  public Runnable createStageGuard(Activity activity) {
+    long startTime = System.nanoTime();
+    long deadline = startTime + TimeUnit.MILLISECONDS.toNanos(stageTimeout);
+    return () -> {
+      long now = System.nanoTime();
+      if (now > deadline) {
+        long time = TimeUnit.NANOSECONDS.toMillis(now - startTime);
+        checkStage(activity, time, 0).ifPresent(reason -> {
+          throw new BudgetExceededException(reason);
+        });
+      }
+    };
+  }
+
+  private static String getName(Activity activity) {
+    return activity.name().toLowerCase(Locale.ROOT).replace('_', ' ');
+  }
+
+  /** Thrown by the parser guard to stop the parser that exceeded the budget */
+  public static class BudgetExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    @Getter private final transient MessageTemplate reason;
+
+    BudgetExceededException(MessageTemplate reason) {
+      super(reason.getTemplate(), null, false, false);
+      this.reason = reason;
+    }
+  }
+
+  /**
+   * Checks the parser on the rule entries and the error nodes. The time is read only on every 256th
+   * call since the rules are entered very often.
+   */
+  private class ParserGuard implements ParseTreeListener {
+    private static final int TIME_CHECK_MASK = 0xFF;
+    private final Activity activity;
+    private final Parser parser;
+    private final long startTime = System.nanoTime();
+    private final long deadline = startTime + TimeUnit.MILLISECONDS.toNanos(stageTimeout);
+    private int calls;
+
+    ParserGuard(Activity activity, Parser parser) {
+      this.activity = activity;
+      this.parser = parser;
+    }
+
+    @Override
+    public void visitTerminal(TerminalNode node) {
+      // only the rules and the errors are checked
+    }
+
+    @Override
+    public void visitErrorNode(ErrorNode node) {
+      check();
+    }
+
+    @Override
+    public void enterEveryRule(ParserRuleContext ctx) {
+      check();
+    }
+
+    @Override
+    public void exitEveryRule(ParserRuleContext ctx) {
+      // only the rules and the errors are checked
+    }
+
+    private void check() {
+      int errors = parser.getNumberOfSyntaxErrors();
+      boolean timeCheck = (++calls & TIME_CHECK_MASK) == 0;
+      if (errors > maxErrors || (timeCheck && System.nanoTime() > deadline)) {
+        long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        checkStage(activity, time, errors).ifPresent(reason -> {
+          throw new BudgetExceededException(reason);
+        });
+      }
+    }
+  }
+}
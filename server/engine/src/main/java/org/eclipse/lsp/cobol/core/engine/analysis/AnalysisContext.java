@@ -20,6 +20,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.common.AnalysisConfig;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
+import org.eclipse.lsp.cobol.common.message.MessageTemplate;
 
 import java.util.*;
 import java.util.function.Supplier;
@@ -34,26 +35,62 @@ public class AnalysisContext {
   ExtendedSource extendedSource;
   Map<Activity, Timing> timing = new EnumMap<>(Activity.class);
   AnalysisConfig config;
+  AnalysisBudget budget;
   List<SyntaxError> accumulatedErrors = new ArrayList<>();
+  List<MessageTemplate> exceededBudgets = new ArrayList<>();
 
   /**
-   * Measure run time of supplier
+   * Measure run time of supplier, and check that the activity is within the analysis budget
    * @param activity current activity
    * @param supplier execution logic
    * @return result of execution
    * @param <T> type of execution result
    */
   public <T> T measure(Activity activity, Supplier<T> supplier) {
-    return timing.computeIfAbsent(activity, a -> new Timing()).measure(supplier);
+    int errors = accumulatedErrors.size();
+    try {
+      return timing.computeIfAbsent(activity, a -> new Timing()).measure(supplier);
+    } finally {
+      checkBudget(activity, errors);
+    }
   }
 
   /**
-   * Measure run time of runnable
+   * Measure run time of runnable, and check that the activity is within the analysis budget
    * @param activity current activity
    * @param runnable execution logic
    */
   public void measure(Activity activity, Runnable runnable) {
-    timing.computeIfAbsent(activity, a -> new Timing()).measure(runnable);
+    int errors = accumulatedErrors.size();
+    try {
+      timing.computeIfAbsent(activity, a -> new Timing()).measure(runnable);
+    } finally {
+      checkBudget(activity, errors);
+    }
+  }
+
+  /**
+   * Register the reason to skip the rest of the analysis
+   * @param reason the message of the exceeded budget
+   */
+  public void exceedBudget(MessageTemplate reason) {
+    exceededBudgets.add(reason);
+  }
+
+  /**
+   * Check if the analysis exceeded the budget, so the semantic phases should be skipped
+   * @return true if the analysis result should be partial
+   */
+  public boolean isBudgetExceeded() {
+    return !exceededBudgets.isEmpty();
+  }
+
+  private void checkBudget(Activity activity, int previousErrors) {
+    if (!isBudgetExceeded()) {
+      budget
+          .checkStage(activity, timing.get(activity).getTime(), accumulatedErrors.size() - previousErrors)
+          .ifPresent(this::exceedBudget);
+    }
   }
 
   /**
@@ -28,6 +28,7 @@ import org.eclipse.lsp.cobol.common.model.tree.Node;
 import org.eclipse.lsp.cobol.common.utils.RangeUtils;
 import org.eclipse.lsp.cobol.core.*;
 import org.eclipse.lsp.cobol.core.strategy.CobolErrorStrategy;
+import org.eclipse.lsp.cobol.core.strategy.TwoStageParsing;
 import org.eclipse.lsp.cobol.core.visitor.ParserListener;
 import org.eclipse.lsp.cobol.core.visitor.VisitorHelper;
 import org.eclipse.lsp4j.Position;
@@ -91,7 +92,7 @@ public class EmbeddedCodeListener extends CobolParserBaseListener {
 
     Position position = createPosition(context.getStart());
 
-    ParserRuleContext tree = parser.allCicsRules();
+    ParserRuleContext tree = TwoStageParsing.parse(parser, CICSParser::allCicsRules);
     ParseTreeVisitor<List<Node>> visitor = instanceVisitor(position, EmbeddedLanguage.CICS);
     resultNodes.addAll(visitor.visit(tree));
 
@@ -114,7 +115,7 @@ public class EmbeddedCodeListener extends CobolParserBaseListener {
     CommonTokenStream tokens = applyDb2Lexer(sqlCode);
     Position position = createPosition(sqlCode.getStart());
 
-    ParserRuleContext tree = grammarStartRule.apply(createDb2SqlParser(tokens));
+    ParserRuleContext tree = TwoStageParsing.parse(createDb2SqlParser(tokens), grammarStartRule);
     ParseTreeVisitor<List<Node>> visitor = instanceVisitor(createPosition(sqlCode.getStart()), EmbeddedLanguage.SQL);
     resultNodes.addAll(visitor.visit(tree));
 
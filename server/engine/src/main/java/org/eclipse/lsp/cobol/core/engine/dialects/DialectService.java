@@ -30,6 +30,7 @@ import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.common.message.MessageTemplate;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
 import org.eclipse.lsp.cobol.common.processor.ProcessorDescription;
+import org.eclipse.lsp.cobol.core.engine.DfaCacheGovernor;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
@@ -45,19 +46,25 @@ public class DialectService {
   private final DialectDiscoveryService discoveryService;
   private final CopybookService copybookService;
   private final MessageService messageService;
+  private final DfaCacheGovernor dfaCacheGovernor;
 
   @Inject
   public DialectService(
       DialectDiscoveryService discoveryService,
       CopybookService copybookService,
-      MessageService messageService) {
+      MessageService messageService,
+      DfaCacheGovernor dfaCacheGovernor) {
     this.dialectSuppliers = new HashMap<>();
     this.discoveryService = discoveryService;
     this.copybookService = copybookService;
     this.messageService = messageService;
+    this.dfaCacheGovernor = dfaCacheGovernor;
 
     List<CobolDialect> dialects = discoveryService.loadDialects(copybookService, messageService);
-    dialects.forEach(dialect -> dialectSuppliers.put(dialect.getName(), dialect));
+    dialects.forEach(dialect -> {
+      dialectSuppliers.put(dialect.getName(), dialect);
+      registerGrammarCaches(dialect);
+    });
   }
 
   /**
@@ -69,6 +76,19 @@ public class DialectService {
    */
   public ResultWithErrors<DialectOutcome> process(
       List<String> dialects, DialectProcessingContext context) {
+    return process(dialects, context, () -> { });
+  }
+
+  /**
+   * Process the source file text with dialects, and run the budget check before each dialect step
+   *
+   * @param dialects the list of enabled dialects
+   * @param context is a DialectProcessingContext class with all needed data for dialect processing
+   * @param budgetCheck stops the processing by throwing an exception when it runs out of time
+   * @return dialects outcome
+   */
+  public ResultWithErrors<DialectOutcome> process(
+      List<String> dialects, DialectProcessingContext context, Runnable budgetCheck) {
     List<SyntaxError> errors = new LinkedList<>();
     List<CobolDialect> orderedDialects;
     try {
@@ -77,6 +97,7 @@ public class DialectService {
       return handleMissingDialect(context, errors, e.getMessage());
     }
     for (CobolDialect orderedDialect : orderedDialects) {
+      budgetCheck.run();
       List<SyntaxError> dialectErrors = orderedDialect.extend(context);
       dialectErrors.forEach(
           e ->
@@ -93,6 +114,7 @@ public class DialectService {
     }
     ResultWithErrors<DialectOutcome> acc = new ResultWithErrors<>(new DialectOutcome(context), errors);
     for (CobolDialect orderedDialect : orderedDialects) {
+      budgetCheck.run();
       acc = processDialect(acc, orderedDialect, context);
       context.getExtendedSource().commitTransformations();
     }
@@ -199,6 +221,7 @@ public class DialectService {
           .findFirst()
               .map(dialect -> {
                 registerDialectCodeActions(dialect);
+                registerGrammarCaches(dialect);
                 changed.set(true);
                 return dialect;
               })
@@ -213,6 +236,10 @@ public class DialectService {
     discoveryService.registerDialectCodeActionProviders(dialect.getDialectCodeActionProviders());
   }
 
+  private void registerGrammarCaches(CobolDialect dialect) {
+    dialect.getGrammarCaches().forEach(dfaCacheGovernor::register);
+  }
+
   /**
    * Return a list of settings sections for provided dialects.
    *
@@ -61,12 +61,24 @@ public class ErrorFinalizerService {
    * @param copybooksRepository - copybook repository
    */
   public void processLateErrors(AnalysisContext ctx, CopybooksRepository copybooksRepository) {
-    ctx.getAccumulatedErrors().addAll(collectErrorsForCopybooks(ctx.getAccumulatedErrors(), copybooksRepository));
-    List<SyntaxError> distinct = ctx.getAccumulatedErrors().stream().distinct().collect(toList());
+    List<SyntaxError> distinct = processErrors(ctx.getAccumulatedErrors(), copybooksRepository);
     ctx.getAccumulatedErrors().clear();
     ctx.getAccumulatedErrors().addAll(distinct);
   }
 
+  /**
+   * Add the errors for copybook statements to the given errors and remove the duplicates. The given
+   * list is not modified.
+   * @param errors - the errors to process
+   * @param copybooksRepository - copybook repository
+   * @return the distinct list of errors including the ones for copybook statements
+   */
+  public List<SyntaxError> processErrors(List<SyntaxError> errors, CopybooksRepository copybooksRepository) {
+    return Stream.concat(errors.stream(), collectErrorsForCopybooks(errors, copybooksRepository).stream())
+        .distinct()
+        .collect(toList());
+  }
+
   private List<SyntaxError> collectErrorsForCopybooks(
       List<SyntaxError> errors, CopybooksRepository copybooksRepository) {
     Set<SyntaxError> processedErrors = new HashSet<>();
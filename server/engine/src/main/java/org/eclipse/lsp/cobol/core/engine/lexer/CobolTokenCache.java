@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.lexer;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.Value;
+import org.eclipse.lsp.cobol.core.CobolLexer;
+
+/**
+ * Keeps the tokens of the extended text chunks, so a document is lexed again only around the edited
+ * lines, and the copybook content copied into many documents is lexed once.
+ *
+ * <p>The text is split into chunks of whole lines. A chunk ends after a line whose content hash has
+ * the low bits set to zero, so the same lines give the same chunks wherever they are placed in the
+ * text, and an edit changes only the chunks around it. No COBOL token continues past a line break,
+ * so the chunks are lexed on their own if the lexer is in the default mode at the chunk end,
+ * otherwise the chunk grows up to the next end. The lexer also carries the COBOL special separators
+ * setting from chunk to chunk, changed by the CBL, PROCESS and IDENTIFICATION keywords, so the
+ * setting at the chunk start is a part of the cache key.
+ */
+public class CobolTokenCache {
+  private static final int MIN_CHUNK_LINES = 16;
+  private static final int CHUNK_LINES = 64;
+  private static final int MAX_CHUNK_LINES = 1024;
+  private static final long CACHE_WEIGHT = 4_000_000;
+
+  private final Cache<ChunkKey, LexedChunk> chunks =
+      CacheBuilder.newBuilder()
+          .maximumWeight(CACHE_WEIGHT)
+          .<ChunkKey, LexedChunk>weigher((key, tokens) -> key.getText().length())
+          .build();
+
+  /**
+   * Create a source of the tokens of the given text
+   *
+   * @param text the text to lex
+   * @return a new token source
+   */
+  public SplicedTokenSource createTokenSource(String text) {
+    return new SplicedTokenSource(text, this);
+  }
+
+  /** Remove all the cached tokens */
+  public void invalidateAll() {
+    chunks.invalidateAll();
+  }
+
+  LexedChunk lex(String chunk, boolean specialSeparators, CobolLexer lexer) {
+    ChunkKey key = new ChunkKey(chunk, specialSeparators);
+    LexedChunk lexed = chunks.getIfPresent(key);
+    if (lexed == null) {
+      lexed = LexedChunk.lex(chunk, specialSeparators, lexer);
+      chunks.put(key, lexed);
+    }
+    return lexed;
+  }
+
+  /**
+   * Find the end of the chunk that starts at the given offset
+   *
+   * @param text the whole text
+   * @param start the chunk start, i.e. the text start or the position after a line break
+   * @return the offset after the last line break of the chunk or the text length
+   */
+  int findChunkEnd(String text, int start) {
+    int lineStart = start;
+    for (int lines = 1; lines <= MAX_CHUNK_LINES; lines++) {
+      int lineEnd = text.indexOf('\n', lineStart);
+      if (lineEnd < 0) {
+        return text.length();
+      }
+      if (lines >= MIN_CHUNK_LINES && endsChunk(text, lineStart, lineEnd)) {
+        return lineEnd + 1;
+      }
+      lineStart = lineEnd + 1;
+    }
+    return lineStart;
+  }
+
+  private static boolean endsChunk(String text, int lineStart, int lineEnd) {
+    int hash = 0;
+    for (int i = lineStart; i < lineEnd; i++) {
+      hash = 31 * hash + text.charAt(i);
+    }
+    hash ^= hash >>> 16;
+    return (hash & (CHUNK_LINES - 1)) == 0;
+  }
+
+  /** The chunk text with the lexer state it starts in */
+  @Value
+  private static class ChunkKey {
+    String text;
+    boolean specialSeparators;
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.lexer;
+
+import lombok.Value;
+import org.antlr.v4.runtime.*;
+import org.eclipse.lsp.cobol.core.CobolLexer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The tokens of a text chunk lexed on its own, stored as plain numbers to keep the cache compact.
+ * The positions are relative to the chunk start, the last token is always EOF.
+ */
+final class LexedChunk {
+  private static final int TYPE = 0;
+  private static final int CHANNEL = 1;
+  private static final int START = 2;
+  private static final int STOP = 3;
+  private static final int LINE = 4;
+  private static final int POSITION = 5;
+  private static final int FIELDS = 6;
+
+  private final int[] tokens;
+  private final List<LexerError> errors;
+  private final boolean endsInDefaultMode;
+  private final boolean endsWithSpecialSeparators;
+  private final int size;
+  private final int lineBreaks;
+
+  private LexedChunk(
+      int[] tokens,
+      List<LexerError> errors,
+      boolean endsInDefaultMode,
+      boolean endsWithSpecialSeparators,
+      int size,
+      int lineBreaks) {
+    this.tokens = tokens;
+    this.errors = errors;
+    this.endsInDefaultMode = endsInDefaultMode;
+    this.endsWithSpecialSeparators = endsWithSpecialSeparators;
+    this.size = size;
+    this.lineBreaks = lineBreaks;
+  }
+
+  /**
+   * Lex the given chunk of text
+   *
+   * @param text the chunk of text
+   * @param specialSeparators the COBOL special separators setting of the lexer at the chunk start
+   * @param lexer the lexer to reuse, its input, error listeners and settings are replaced
+   * @return the lexed chunk
+   */
+  static LexedChunk lex(String text, boolean specialSeparators, CobolLexer lexer) {
+    CharStream input = CharStreams.fromString(text);
+    List<int[]> lexed = new ArrayList<>();
+    List<LexerError> errors = new ArrayList<>();
+    lexer.removeErrorListeners();
+    lexer.addErrorListener(
+        new BaseErrorListener() {
+          @Override
+          public void syntaxError(
+              Recognizer<?, ?> recognizer,
+              Object offendingSymbol,
+              int line,
+              int charPositionInLine,
+              String msg,
+              RecognitionException e) {
+            errors.add(new LexerError(lexed.size(), line, charPositionInLine, msg));
+          }
+        });
+    lexer.setInputStream(input);
+    lexer.setCobolSpecialSeparatorsEnabled(specialSeparators);
+    Token token;
+    do {
+      token = lexer.nextToken();
+      lexed.add(
+          new int[] {
+            token.getType(),
+            token.getChannel(),
+            token.getStartIndex(),
+            token.getStopIndex(),
+            token.getLine(),
+            token.getCharPositionInLine()
+          });
+    } while (token.getType() != Token.EOF);
+
+    int[] tokens = new int[lexed.size() * FIELDS];
+    for (int i = 0; i < lexed.size(); i++) {
+      System.arraycopy(lexed.get(i), 0, tokens, i * FIELDS, FIELDS);
+    }
+    boolean endsInDefaultMode = lexer._mode == Lexer.DEFAULT_MODE && lexer._modeStack.isEmpty();
+    return new LexedChunk(
+        tokens,
+        errors.isEmpty() ? Collections.emptyList() : errors,
+        endsInDefaultMode,
+        lexer.isCobolSpecialSeparatorsEnabled(),
+        input.size(),
+        countLineBreaks(text));
+  }
+
+  /**
+   * Check if the lexer returns to the default mode at the end of the chunk. Only then the lexing of
+   * the following text doesn't depend on this chunk.
+   *
+   * @return true if the lexer is in the default mode at the chunk end
+   */
+  boolean endsInDefaultMode() {
+    return endsInDefaultMode;
+  }
+
+  /**
+   * Check the COBOL special separators setting of the lexer at the end of the chunk, the following
+   * chunk starts with it
+   *
+   * @return true if the special separators are enabled at the chunk end
+   */
+  boolean endsWithSpecialSeparators() {
+    return endsWithSpecialSeparators;
+  }
+
+  /**
+   * Get the number of tokens, including EOF
+   *
+   * @return the number of tokens
+   */
+  int getTokenCount() {
+    return tokens.length / FIELDS;
+  }
+
+  /**
+   * Get the size of the chunk in the code points, as the char streams count it
+   *
+   * @return the chunk size
+   */
+  int getSize() {
+    return size;
+  }
+
+  /**
+   * Get the number of line breaks in the chunk, i.e. the lines the lexer counts in it minus one
+   *
+   * @return the number of line breaks
+   */
+  int getLineBreaks() {
+    return lineBreaks;
+  }
+
+  /**
+   * Get the lexer errors in the order they appear
+   *
+   * @return the list of errors
+   */
+  List<LexerError> getErrors() {
+    return errors;
+  }
+
+  /**
+   * Create a token of the chunk placed at the given offset of the whole text
+   *
+   * @param index the index of the token in the chunk
+   * @param factory the factory to create the token
+   * @param source the source of the whole text
+   * @param offset the offset of the chunk in the whole text
+   * @param lineOffset the number of lines before the chunk
+   * @return the token
+   */
+  Token createToken(
+      int index,
+      TokenFactory<?> factory,
+      org.antlr.v4.runtime.misc.Pair<TokenSource, CharStream> source,
+      int offset,
+      int lineOffset) {
+    int base = index * FIELDS;
+    return factory.create(
+        source,
+        tokens[base + TYPE],
+        null,
+        tokens[base + CHANNEL],
+        tokens[base + START] + offset,
+        tokens[base + STOP] + offset,
+        tokens[base + LINE] + lineOffset,
+        tokens[base + POSITION]);
+  }
+
+  private static int countLineBreaks(String text) {
+    int count = 0;
+    for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) {
+      count++;
+    }
+    return count;
+  }
+
+  /** A lexer error reported while the token with the given index was lexed */
+  @Value
+  static class LexerError {
+    int tokenIndex;
+    int line;
+    int charPositionInLine;
+    String message;
+  }
+}
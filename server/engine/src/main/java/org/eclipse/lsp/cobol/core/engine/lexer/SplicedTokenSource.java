@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.lexer;
+
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.misc.Pair;
+import org.eclipse.lsp.cobol.core.CobolLexer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A token source that produces the same tokens as {@link CobolLexer} for the whole text, but splices
+ * them from the cached tokens of the text chunks. The lexer errors are reported to the listeners
+ * right before the token they were found with, as the lexer itself does.
+ */
+public class SplicedTokenSource implements TokenSource {
+  private final String text;
+  private final CobolTokenCache cache;
+  private final CharStream input;
+  private final Pair<TokenSource, CharStream> source;
+  private final List<ANTLRErrorListener> errorListeners = new ArrayList<>();
+  private TokenFactory<?> factory = CommonTokenFactory.DEFAULT;
+  private CobolLexer lexer;
+  private boolean specialSeparators = true;
+
+  private LexedChunk chunk;
+  private int chunkEnd;
+  private int tokenIndex;
+  private int errorIndex;
+  private int offset;
+  private int lineOffset;
+  private Token lastToken;
+
+  SplicedTokenSource(String text, CobolTokenCache cache) {
+    this.text = text;
+    this.cache = cache;
+    input = CharStreams.fromString(text);
+    source = new Pair<>(this, input);
+  }
+
+  /**
+   * Add a listener for the lexer errors
+   *
+   * @param listener the listener to add
+   */
+  public void addErrorListener(ANTLRErrorListener listener) {
+    errorListeners.add(listener);
+  }
+
+  @Override
+  public Token nextToken() {
+    if (chunk == null) {
+      nextChunk();
+    }
+    while (tokenIndex == chunk.getTokenCount() - 1 && chunkEnd < text.length()) {
+      reportErrors();
+      offset += chunk.getSize();
+      lineOffset += chunk.getLineBreaks();
+      nextChunk();
+    }
+    reportErrors();
+    lastToken = chunk.createToken(tokenIndex, factory, source, offset, lineOffset);
+    if (lastToken.getType() != Token.EOF) {
+      tokenIndex++;
+    }
+    return lastToken;
+  }
+
+  @Override
+  public int getLine() {
+    return lastToken == null ? 1 : lastToken.getLine();
+  }
+
+  @Override
+  public int getCharPositionInLine() {
+    return lastToken == null ? 0 : lastToken.getCharPositionInLine();
+  }
+
+  @Override
+  public CharStream getInputStream() {
+    return input;
+  }
+
+  @Override
+  public String getSourceName() {
+    return input.getSourceName();
+  }
+
+  @Override
+  public void setTokenFactory(TokenFactory<?> factory) {
+    this.factory = factory;
+  }
+
+  @Override
+  public TokenFactory<?> getTokenFactory() {
+    return factory;
+  }
+
+  private void nextChunk() {
+    if (lexer == null) {
+      lexer = new CobolLexer(null);
+    }
+    int start = chunkEnd;
+    int end = cache.findChunkEnd(text, start);
+    chunk = cache.lex(text.substring(start, end), specialSeparators, lexer);
+    while (!chunk.endsInDefaultMode() && end < text.length()) {
+      end = cache.findChunkEnd(text, end);
+      chunk = cache.lex(text.substring(start, end), specialSeparators, lexer);
+    }
+    specialSeparators = chunk.endsWithSpecialSeparators();
+    lexer.setCobolSpecialSeparatorsEnabled(specialSeparators);
+    chunkEnd = end;
+    tokenIndex = 0;
+    errorIndex = 0;
+  }
+
+  private void reportErrors() {
+    List<LexedChunk.LexerError> errors = chunk.getErrors();
+    while (errorIndex < errors.size() && errors.get(errorIndex).getTokenIndex() <= tokenIndex) {
+      LexedChunk.LexerError error = errors.get(errorIndex++);
+      for (ANTLRErrorListener listener : errorListeners) {
+        listener.syntaxError(
+            lexer,
+            null,
+            error.getLine() + lineOffset,
+            error.getCharPositionInLine(),
+            error.getMessage(),
+            null);
+      }
+    }
+  }
+}
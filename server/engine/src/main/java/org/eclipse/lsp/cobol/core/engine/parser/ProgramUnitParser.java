@@ -0,0 +1,395 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.parser;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.atn.ATNState;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNodeImpl;
+import org.eclipse.lsp.cobol.common.UserInterruptException;
+import org.eclipse.lsp.cobol.core.CobolParser;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisBudget;
+import org.eclipse.lsp.cobol.core.engine.parser.RecordingParserListener.ParserError;
+import org.eclipse.lsp.cobol.core.strategy.TwoStageParsing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Parses a document again only in the program unit that was edited.
+ *
+ * <p>The parse tree, the tokens and the parser errors of the last version of a document are kept
+ * until the document is closed, up to a total of a million tokens for all the documents.
+ * When the next version is parsed, its tokens are compared with the previous ones from the start
+ * and from the end. If the changed tokens are inside of a program unit of the previous tree, i.e.
+ * after its first token and before its last one, only the innermost such unit is parsed. It is
+ * parsed from the same token and in the same parser context as the whole document would be, so the
+ * prediction and the error recovery see the same input. The rest of the previous tree and its
+ * parser errors are reused with the new tokens, which have the same types and texts, but may be
+ * shifted by the edit. The document is parsed entirely if the change crosses the unit boundaries,
+ * e.g. with an edited REPLACE or END PROGRAM statement, or if the unit parsed again ends in another
+ * place. A nested unit, or one that doesn't follow an END PROGRAM statement, is parsed alone only if
+ * it has no syntax errors, since the parser looks ahead through it to decide where the unit belongs.
+ * Any failure of the partial parsing is also handled by parsing the whole document, the previous
+ * tree is changed only when the tokens of the parsed unit are known to fit into it.
+ */
+@Slf4j
+public class ProgramUnitParser {
+  /** The parse trees are about as large as their tokens, so the kept documents are weighed by them */
+  private static final long MAX_TOKENS = 1_000_000;
+
+  private final Cache<String, ParsedDocument> documents =
+      CacheBuilder.newBuilder()
+          .maximumWeight(MAX_TOKENS)
+          .weigher((String uri, ParsedDocument document) -> document.getTokens().size())
+          .build();
+
+  /**
+   * Parse the document with the configured parser, reusing the parse tree of its previous version
+   * if possible
+   *
+   * @param documentUri the URI of the document
+   * @param parser the parser with the error strategy and the listeners
+   * @param tokens the tokens of the document
+   * @param listener the error listener of the parser
+   * @return the parse tree of the document
+   */
+  public CobolParser.StartRuleContext parse(
+      String documentUri, CobolParser parser, CommonTokenStream tokens, RecordingParserListener listener) {
+    ParsedDocument previous = documents.asMap().remove(documentUri);
+    CobolParser.StartRuleContext tree;
+    try {
+      tree = previous == null ? null : tryReparse(documentUri, previous, parser, tokens, listener);
+      if (tree == null) {
+        tree = TwoStageParsing.parse(parser, CobolParser::startRule);
+      }
+    } catch (RuntimeException e) {
+      // the previous tree changes only after a successful parsing, so it stays for the next version
+      if (previous != null) {
+        documents.asMap().putIfAbsent(documentUri, previous);
+      }
+      throw e;
+    }
+    tokens.fill();
+    documents.put(documentUri, new ParsedDocument(tokens.getTokens(), tree,
+        listener.getParserErrors().stream().map(ParserError::detach).collect(Collectors.toList())));
+    return tree;
+  }
+
+  /**
+   * Forget the parse result of the closed document
+   *
+   * @param documentUri the URI of the document
+   */
+  public void remove(String documentUri) {
+    documents.invalidate(documentUri);
+  }
+
+  /**
+   * Parse only the edited unit. If it is not possible, the errors the listener got meanwhile are
+   * removed and the parser is reset, so the whole document can be parsed from the start.
+   */
+  private static CobolParser.StartRuleContext tryReparse(String documentUri, ParsedDocument previous,
+      CobolParser parser, CommonTokenStream tokens, RecordingParserListener listener) {
+    int errorCount = listener.getErrors().size();
+    int parserErrorCount = listener.getParserErrors().size();
+    CobolParser.StartRuleContext tree;
+    try {
+      tree = reparse(previous, parser, tokens, listener);
+    } catch (AnalysisBudget.BudgetExceededException | UserInterruptException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      LOG.warn("Cannot parse the edited program unit of {}, parse the whole document", documentUri, e);
+      tree = null;
+    }
+    if (tree == null) {
+      listener.getErrors().subList(errorCount, listener.getErrors().size()).clear();
+      listener.getParserErrors().subList(parserErrorCount, listener.getParserErrors().size()).clear();
+      parser.reset();
+      // the parser may be left in the state that invoked the unit, the document starts in no state
+      parser.setState(ATNState.INVALID_STATE_NUMBER);
+    }
+    return tree;
+  }
+
+  private static CobolParser.StartRuleContext reparse(
+      ParsedDocument previous, CobolParser parser, CommonTokenStream tokens, RecordingParserListener listener) {
+    tokens.fill();
+    List<Token> oldTokens = previous.getTokens();
+    List<Token> newTokens = tokens.getTokens();
+    Token oldEof = oldTokens.get(oldTokens.size() - 1);
+    Token newEof = newTokens.get(newTokens.size() - 1);
+    int lineShift = newEof.getLine() - oldEof.getLine();
+    int charShift = newEof.getStartIndex() - oldEof.getStartIndex();
+    int tokenShift = newTokens.size() - oldTokens.size();
+
+    int limit = Math.min(oldTokens.size(), newTokens.size());
+    int changeStart = 0;
+    while (changeStart < limit && isSame(oldTokens.get(changeStart), newTokens.get(changeStart), 0, 0)) {
+      changeStart++;
+    }
+    int suffix = 0;
+    while (suffix < limit - changeStart
+        && isSame(oldTokens.get(oldTokens.size() - 1 - suffix), newTokens.get(newTokens.size() - 1 - suffix),
+            lineShift, charShift)) {
+      suffix++;
+    }
+    int changeEnd = oldTokens.size() - suffix;
+
+    if (changeStart == oldTokens.size() && tokenShift == 0) {
+      if (!previous.getErrors().stream().allMatch(ProgramUnitParser::hasToken)) {
+        return null;
+      }
+      previous.getErrors().forEach(error ->
+          listener.replay(error, newTokens.get(error.getToken().getTokenIndex()), error.getPosition()));
+      TokenRebinder rebinder = new TokenRebinder(newTokens, changeStart, changeEnd, 0, 0);
+      rebinder.check(previous.getTree(), null);
+      rebinder.rebind(previous.getTree(), null);
+      return previous.getTree();
+    }
+
+    CobolParser.ProgramUnitContext unit =
+        previous.getTree().compilationUnit() == null
+            ? null
+            : findUnit(previous.getTree().compilationUnit().programUnit(), changeStart, changeEnd);
+    if (unit == null) {
+      return null;
+    }
+    int unitStart = unit.start.getTokenIndex();
+    int unitStop = unit.stop.getTokenIndex();
+    boolean delimited = isDelimited(unit);
+    List<ParserError> errorsBefore = new ArrayList<>();
+    List<ParserError> errorsAfter = new ArrayList<>();
+    for (ParserError error : previous.getErrors()) {
+      if (isInside(error.getContext(), unit)) {
+        if (!delimited) {
+          return null;
+        }
+        continue;
+      }
+      if (!hasToken(error)) {
+        return null;
+      }
+      int index = error.getToken().getTokenIndex();
+      if (error.getPosition() <= unitStart) {
+        if (index >= unitStart) {
+          // the parser looked ahead into the unit to decide where it belongs
+          return null;
+        }
+        errorsBefore.add(error);
+      } else if (index >= changeEnd) {
+        errorsAfter.add(error);
+      } else {
+        return null;
+      }
+    }
+
+    errorsBefore.forEach(error -> listener.replay(error, newTokens.get(error.getToken().getTokenIndex()),
+        error.getPosition()));
+
+    ParserRuleContext parent = unit.getParent();
+    int childCount = parent.children.size();
+    int unitErrorCount = listener.getParserErrors().size();
+    CobolParser.ProgramUnitContext reparsed;
+    try {
+      reparsed = TwoStageParsing.parse(parser, p -> parseUnit(p, parent, childCount, unit));
+    } finally {
+      parent.children.subList(childCount, parent.children.size()).clear();
+    }
+    if (reparsed.stop == null
+        || reparsed.stop.getTokenIndex() != unitStop + tokenShift
+        || (!delimited && listener.getParserErrors().size() > unitErrorCount)) {
+      LOG.debug("The program unit at line {} cannot be parsed alone, parse the whole document", unit.start.getLine());
+      return null;
+    }
+    errorsAfter.forEach(error -> listener.replay(error,
+        newTokens.get(error.getToken().getTokenIndex() + tokenShift), error.getPosition() + tokenShift));
+
+    // nothing fails after the previous tree starts to change
+    TokenRebinder rebinder = new TokenRebinder(newTokens, changeStart, changeEnd, tokenShift, lineShift);
+    rebinder.check(previous.getTree(), unit);
+    parent.children.set(parent.children.indexOf(unit), reparsed);
+    rebinder.rebind(previous.getTree(), reparsed);
+    LOG.debug("Parsed the program unit at line {} of {} tokens", reparsed.start.getLine(),
+        reparsed.stop.getTokenIndex() - reparsed.start.getTokenIndex() + 1);
+    return previous.getTree();
+  }
+
+  private static CobolParser.ProgramUnitContext parseUnit(
+      CobolParser parser, ParserRuleContext parent, int childCount, CobolParser.ProgramUnitContext unit) {
+    parent.children.subList(childCount, parent.children.size()).clear();
+    parser.getTokenStream().seek(unit.start.getTokenIndex());
+    parser.setContext(parent);
+    parser.setState(unit.invokingState);
+    return parser.programUnit();
+  }
+
+  /**
+   * Find the innermost program unit that contains the changed tokens after its first token and
+   * before its last one
+   */
+  private static CobolParser.ProgramUnitContext findUnit(
+      List<CobolParser.ProgramUnitContext> units, int changeStart, int changeEnd) {
+    for (CobolParser.ProgramUnitContext unit : units) {
+      if (unit.start != null
+          && unit.stop != null
+          && unit.start.getTokenIndex() < changeStart
+          && unit.stop.getTokenIndex() >= changeEnd) {
+        CobolParser.ProgramUnitContext nested = findUnit(unit.programUnit(), changeStart, changeEnd);
+        return nested == null ? unit : nested;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Check if the parser enters the unit by its first token. Otherwise, e.g. for a nested unit, the
+   * parser looks ahead through the whole unit to decide where it belongs, so the unit can be parsed
+   * alone only if it has no errors.
+   */
+  private static boolean isDelimited(CobolParser.ProgramUnitContext unit) {
+    if (!(unit.getParent() instanceof CobolParser.CompilationUnitContext)) {
+      return false;
+    }
+    int index = unit.getParent().children.indexOf(unit);
+    if (index == 0) {
+      return true;
+    }
+    ParseTree previous = unit.getParent().children.get(index - 1);
+    return previous instanceof CobolParser.ProgramUnitContext
+        && ((CobolParser.ProgramUnitContext) previous).endProgramStatement() != null;
+  }
+
+  private static boolean isInside(ParserRuleContext context, CobolParser.ProgramUnitContext unit) {
+    for (ParserRuleContext ctx = context; ctx != null; ctx = ctx.getParent()) {
+      if (ctx == unit) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean hasToken(ParserError error) {
+    return error.getToken() != null && error.getToken().getTokenIndex() >= 0;
+  }
+
+  private static boolean isSame(Token oldToken, Token newToken, int lineShift, int charShift) {
+    return oldToken.getType() == newToken.getType()
+        && oldToken.getChannel() == newToken.getChannel()
+        && oldToken.getLine() + lineShift == newToken.getLine()
+        && oldToken.getCharPositionInLine() == newToken.getCharPositionInLine()
+        && oldToken.getStartIndex() + charShift == newToken.getStartIndex()
+        && oldToken.getText().equals(newToken.getText());
+  }
+
+  /**
+   * Replaces the tokens of the previous parse tree with the tokens of the current version. The
+   * tokens the error recovery conjured up have no index, they are shifted if they follow the change.
+   * The tree is checked first, so it is not changed halfway if a token has no replacement.
+   */
+  private static class TokenRebinder {
+    private final List<Token> tokens;
+    private final int changeStart;
+    private final int changeEnd;
+    private final int tokenShift;
+    private final int lineShift;
+    private int lastIndex = -1;
+
+    TokenRebinder(List<Token> tokens, int changeStart, int changeEnd, int tokenShift, int lineShift) {
+      this.tokens = tokens;
+      this.changeStart = changeStart;
+      this.changeEnd = changeEnd;
+      this.tokenShift = tokenShift;
+      this.lineShift = lineShift;
+    }
+
+    /**
+     * Check that all the tokens of the tree except of the given unit can be replaced
+     *
+     * @throws IllegalStateException if a token belongs to the changed part of the document
+     */
+    void check(ParseTree tree, ParseTree unit) {
+      visit(tree, unit, false);
+      lastIndex = -1;
+    }
+
+    void rebind(ParseTree tree, ParseTree reparsed) {
+      visit(tree, reparsed, true);
+    }
+
+    private void visit(ParseTree tree, ParseTree skipped, boolean replace) {
+      if (tree == skipped) {
+        lastIndex = changeEnd;
+      } else if (tree instanceof TerminalNodeImpl) {
+        TerminalNodeImpl node = (TerminalNodeImpl) tree;
+        int index = node.symbol.getTokenIndex();
+        Token token = map(node.symbol);
+        if (replace) {
+          node.symbol = token;
+        }
+        lastIndex = Math.max(lastIndex, index);
+      } else if (tree instanceof ParserRuleContext) {
+        ParserRuleContext ctx = (ParserRuleContext) tree;
+        Token start = map(ctx.start);
+        if (ctx.children != null) {
+          ctx.children.forEach(child -> visit(child, skipped, replace));
+        }
+        Token stop = map(ctx.stop);
+        if (replace) {
+          ctx.start = start;
+          ctx.stop = stop;
+        }
+      }
+    }
+
+    private Token map(Token token) {
+      if (token == null) {
+        return null;
+      }
+      int index = token.getTokenIndex();
+      if (index < 0) {
+        if (lastIndex < changeEnd || lineShift == 0) {
+          return token;
+        }
+        CommonToken shifted = new CommonToken(token);
+        shifted.setLine(token.getLine() + lineShift);
+        return shifted;
+      }
+      if (index < changeStart) {
+        return tokens.get(index);
+      }
+      if (index >= changeEnd) {
+        return tokens.get(index + tokenShift);
+      }
+      throw new IllegalStateException("The token " + index + " belongs to the program unit parsed again");
+    }
+  }
+
+  /** The parse result of the previous version of a document */
+  @Value
+  private static class ParsedDocument {
+    List<Token> tokens;
+    CobolParser.StartRuleContext tree;
+    List<ParserError> errors;
+  }
+}
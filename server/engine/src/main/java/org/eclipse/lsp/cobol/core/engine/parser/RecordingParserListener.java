@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.parser;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Value;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.Token;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
+import org.eclipse.lsp.cobol.common.message.MessageTemplate;
+import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
+import org.eclipse.lsp.cobol.core.visitor.ParserListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link ParserListener} that also keeps the errors of the parser as they were reported, so they
+ * can be registered again with the tokens of the next version of the document when its parse tree
+ * is reused, see {@link ProgramUnitParser}. The lexer errors are not kept, since the document is
+ * always lexed again. The errors are kept with the message arguments rendered to strings, since the
+ * lazy arguments read the text of the token stream they were created for.
+ */
+public class RecordingParserListener extends ParserListener {
+  @Getter(AccessLevel.PACKAGE)
+  private final List<ParserError> parserErrors = new ArrayList<>();
+
+  public RecordingParserListener(ExtendedSource extendedSource, CopybooksRepository copybooksRepository) {
+    super(extendedSource, copybooksRepository);
+  }
+
+  @Override
+  public void syntaxError(
+      Recognizer<?, ?> recognizer,
+      Object offendingSymbol,
+      int line,
+      int charPositionInLine,
+      String msg,
+      RecognitionException e) {
+    if (recognizer instanceof Parser) {
+      record((Parser) recognizer, offendingSymbol, line, charPositionInLine, null, msg);
+    }
+    super.syntaxError(recognizer, offendingSymbol, line, charPositionInLine, msg, e);
+  }
+
+  @Override
+  public void syntaxError(
+      Recognizer<?, ?> recognizer,
+      Object offendingSymbol,
+      int line,
+      int charPositionInLine,
+      MessageTemplate messageTemplate,
+      RecognitionException e) {
+    if (recognizer instanceof Parser) {
+      record((Parser) recognizer, offendingSymbol, line, charPositionInLine, messageTemplate, null);
+    }
+    super.syntaxError(recognizer, offendingSymbol, line, charPositionInLine, messageTemplate, e);
+  }
+
+  /**
+   * Register the error of the previous version of the document again
+   *
+   * @param error the error found by the parser in the previous version
+   * @param token the token of the current version that replaces the offending token of the error
+   * @param position the index of the current version token the parser was at
+   */
+  void replay(ParserError error, Token token, int position) {
+    int line = token.getLine() + error.getLine() - error.getToken().getLine();
+    parserErrors.add(new ParserError(token, line, error.getCharPositionInLine(), error.getMessageTemplate(),
+        error.getMessage(), error.getContext(), position));
+    if (error.getMessageTemplate() == null) {
+      super.syntaxError(null, token, line, error.getCharPositionInLine(), error.getMessage(), null);
+    } else {
+      super.syntaxError(null, token, line, error.getCharPositionInLine(), error.getMessageTemplate(), null);
+    }
+  }
+
+  private void record(
+      Parser parser,
+      Object offendingSymbol,
+      int line,
+      int charPositionInLine,
+      MessageTemplate messageTemplate,
+      String message) {
+    parserErrors.add(new ParserError(
+        offendingSymbol instanceof Token ? (Token) offendingSymbol : null,
+        line,
+        charPositionInLine,
+        messageTemplate,
+        message,
+        parser.getContext(),
+        parser.getCurrentToken().getTokenIndex()));
+  }
+
+  private static MessageTemplate render(MessageTemplate template) {
+    if (template == null || template.getArgs() == null) {
+      return template;
+    }
+    Object[] args = new Object[template.getArgs().length];
+    for (int i = 0; i < args.length; i++) {
+      Object arg = template.getArgs()[i];
+      if (arg instanceof MessageTemplate) {
+        args[i] = render((MessageTemplate) arg);
+      } else if (arg == null || arg instanceof String || arg instanceof Number) {
+        args[i] = arg;
+      } else {
+        args[i] = arg.toString();
+      }
+    }
+    return template.getDelimiter() == null
+        ? MessageTemplate.of(template.getTemplate(), args)
+        : MessageTemplate.concatenatingArgs(template.getTemplate(), template.getDelimiter(), args);
+  }
+
+  /**
+   * The error as the parser reported it, with either the message template or the message, and with
+   * the rule and the token index the parser was at
+   */
+  @Value
+  static class ParserError {
+    Token token;
+    int line;
+    int charPositionInLine;
+    MessageTemplate messageTemplate;
+    String message;
+    ParserRuleContext context;
+    int position;
+
+    /**
+     * Create the copy of the error that doesn't read the token stream of the document anymore, to
+     * keep it for the next version of the document
+     *
+     * @return the error with the message arguments rendered to strings
+     */
+    ParserError detach() {
+      return new ParserError(token, line, charPositionInLine, render(messageTemplate), message, context, position);
+    }
+  }
+}
@@ -143,6 +143,17 @@ public class CopybookHierarchy {
     }
   }
 
+  /**
+   * Get the patterns of the COPY REPLACING clauses that are applied to the current copybook
+   *
+   * @return the list of pattern groups in the order of application
+   */
+  public List<List<Pair<String, String>>> getCopybookReplacing() {
+    return recursiveReplaceStmtStack.stream()
+        .map(data -> new ArrayList<>(data.getReplacePatterns()))
+        .collect(toList());
+  }
+
   /**
    * Check if there is a recursive replacement
    *
@@ -14,9 +14,9 @@
  */
 package org.eclipse.lsp.cobol.core.preprocessor.delegates;
 
+import com.google.common.collect.ImmutableList;
 import com.google.inject.Inject;
 import lombok.NonNull;
-import org.antlr.v4.runtime.BufferedTokenStream;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.Lexer;
@@ -26,15 +26,17 @@ import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.mapping.DocumentMap;
 import org.eclipse.lsp.cobol.common.utils.ThreadInterruptionUtil;
 import org.eclipse.lsp.cobol.core.CobolPreprocessor;
+import org.eclipse.lsp.cobol.core.CobolPreprocessor.StartRuleContext;
 import org.eclipse.lsp.cobol.core.CobolPreprocessorLexer;
 import org.eclipse.lsp.cobol.core.preprocessor.CopybookHierarchy;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.*;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement.ReplacePreProcessorListener;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement.ReplacePreprocessorFactory;
 import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
+import org.eclipse.lsp.cobol.core.strategy.GrammarProfiler;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * This class runs pre-processing for COBOL using CobolPreprocessor.g4 grammar file. As a result, it
@@ -42,6 +44,13 @@ import java.util.List;
  * and usages specified, as well as related errors.
  */
 public class GrammarPreprocessorImpl implements GrammarPreprocessor {
+  /**
+   * The keywords that start every statement the listeners react to. Without any of them, the
+   * grammar preprocessing doesn't change the document.
+   */
+  private static final Pattern DIRECTIVE_KEYWORDS =
+      Pattern.compile("COPY|REPLACE|INCLUDE|TITLE|ENTER|CONTROL|CBL", Pattern.CASE_INSENSITIVE);
+
   private final GrammarPreprocessorListenerFactory listenerFactory;
   private final ReplacePreprocessorFactory replacingFactory;
 
@@ -56,43 +65,46 @@ public class GrammarPreprocessorImpl implements GrammarPreprocessor {
   @NonNull
   @Override
   public ResultWithErrors<CopybooksRepository> preprocess(@NonNull PreprocessorContext context) {
-    List<SyntaxError> errors = new ArrayList<>();
-
-    String replacedCode = replace(context.getCurrentDocument(), context.getHierarchy()).unwrap(errors::addAll);
+    ThreadInterruptionUtil.checkThreadInterrupted();
+    context.getBudgetCheck().run();
+    DocumentMap documentMap = context.getCurrentDocument();
+    String code = documentMap.extendedText();
+    if (context.getHierarchy().getLastTextReplacing() == null && !DIRECTIVE_KEYWORDS.matcher(code).find()) {
+      return new ResultWithErrors<>(context.getCopybooksRepository(), ImmutableList.of());
+    }
+    StartRuleContext tree = parse(code);
+    List<SyntaxError> errors = replace(tree, documentMap, context.getHierarchy());
 
-    return preprocess(context, replacedCode).accumulateErrors(errors);
+    String replacedCode = documentMap.extendedText();
+    if (!replacedCode.equals(code)) {
+      ThreadInterruptionUtil.checkThreadInterrupted();
+      tree = parse(replacedCode);
+    }
+    return preprocess(context, tree).accumulateErrors(errors);
   }
 
-  private ResultWithErrors<String> replace(DocumentMap documentMap, CopybookHierarchy hierarchy) {
-    ThreadInterruptionUtil.checkThreadInterrupted();
-    CobolPreprocessor preprocessorParser = new CobolPreprocessor(makeTokens(documentMap.extendedText()));
-    preprocessorParser.removeErrorListeners();
-
+  private List<SyntaxError> replace(StartRuleContext tree, DocumentMap documentMap, CopybookHierarchy hierarchy) {
     ReplacePreProcessorListener listener = replacingFactory.create(documentMap, hierarchy);
-    new ParseTreeWalker().walk(listener, preprocessorParser.startRule());
+    new ParseTreeWalker().walk(listener, tree);
     listener.applyReplacing();
-    return new ResultWithErrors<>(documentMap.extendedText(), listener.getErrors());
+    return listener.getErrors();
   }
 
-  private ResultWithErrors<CopybooksRepository> preprocess(
-          PreprocessorContext context,
-          String code) {
-    ThreadInterruptionUtil.checkThreadInterrupted();
-    BufferedTokenStream tokens = makeTokens(code);
-
+  private ResultWithErrors<CopybooksRepository> preprocess(PreprocessorContext context, StartRuleContext tree) {
     GrammarPreprocessorListener<CopybooksRepository> listener = listenerFactory.create(context);
-
-    CobolPreprocessor parser = new CobolPreprocessor(tokens);
-    parser.removeErrorListeners();
-
-    ParseTreeWalker walker = new ParseTreeWalker();
-    walker.walk(listener, parser.startRule());
+    new ParseTreeWalker().walk(listener, tree);
     return listener.getResult();
   }
 
-  private static BufferedTokenStream makeTokens(String code) {
+  /**
+   * The listeners only read the parse tree, so the tree of a text is walked by both of them unless
+   * the REPLACE statements change the text
+   */
+  private static StartRuleContext parse(String code) {
     Lexer lexer = new CobolPreprocessorLexer(CharStreams.fromString(code));
     lexer.removeErrorListeners();
-    return new CommonTokenStream(lexer);
+    CobolPreprocessor parser = new CobolPreprocessor(new CommonTokenStream(lexer));
+    parser.removeErrorListeners();
+    return GrammarProfiler.parse(parser, CobolPreprocessor::startRule);
   }
 }
@@ -20,10 +20,12 @@ import org.eclipse.lsp.cobol.common.copybook.CopybookConfig;
 import org.eclipse.lsp.cobol.common.mapping.DocumentMap;
 import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
 import org.eclipse.lsp.cobol.core.preprocessor.CopybookHierarchy;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.CopybookExpansionCache;
 import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
 
 /**
- * Preprocessor context
+ * Preprocessor context. The budget check stops the preprocessing that runs out of time, it is
+ * called when a text is preprocessed and when a copybook is expanded.
  */
 @Value
 public class PreprocessorContext {
@@ -33,4 +35,6 @@ public class PreprocessorContext {
   @NonNull CopybookConfig copybookConfig;
   @NonNull CopybookHierarchy hierarchy;
   @NonNull CopybooksRepository copybooksRepository;
+  @NonNull CopybookExpansionCache expansionCache;
+  @NonNull Runnable budgetCheck;
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks;
+
+import lombok.Value;
+import org.apache.commons.lang3.tuple.Pair;
+import org.eclipse.lsp.cobol.common.copybook.CopybookName;
+import org.eclipse.lsp.cobol.common.error.SyntaxError;
+import org.eclipse.lsp.cobol.common.mapping.DocumentMap;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the fully preprocessed copybooks of a single analysis, so the same copybook copied several
+ * times with the same replacing is expanded only once. The expansion depends on the copybook
+ * content, the COPY REPLACING clauses applied to it, and the copybooks it is nested in, so all of
+ * them form the key. The expanded document is not tied to the COPY statement, so it can be reused
+ * at any place; the errors found inside the copybook are kept to be reported for each statement.
+ *
+ * <p>Is not thread-safe, an instance should be used by a single analysis.
+ */
+public class CopybookExpansionCache {
+  private final Map<Key, Expansion> expansions = new HashMap<>();
+
+  /**
+   * Find the expansion of the copybook preprocessed in the same context before
+   *
+   * @param key the copybook and its preprocessing context
+   * @return the expansion or empty if the copybook wasn't expanded in this context
+   */
+  Optional<Expansion> get(Key key) {
+    return Optional.ofNullable(expansions.get(key));
+  }
+
+  /**
+   * Store the expansion of the copybook
+   *
+   * @param key the copybook and its preprocessing context
+   * @param expansion the committed copybook document and the errors found inside it
+   */
+  void put(Key key, Expansion expansion) {
+    expansions.put(key, expansion);
+  }
+
+  /** The copybook and the context it is preprocessed in */
+  @Value
+  static class Key {
+    String uri;
+    String content;
+    List<List<Pair<String, String>>> replacing;
+    List<CopybookName> enclosingCopybooks;
+  }
+
+  /** The committed copybook document and the errors found while preprocessing it */
+  @Value
+  static class Expansion {
+    DocumentMap document;
+    List<SyntaxError> errors;
+  }
+}
@@ -71,8 +71,10 @@ class CopybookPreprocessorService {
   private final List<SyntaxError> errors = new ArrayList<>();
 
   private final CopybookHierarchy hierarchy;
+  private final CopybookExpansionCache expansionCache;
   private final ReplacingService replacingService;
   private final CopybookErrorService copybookErrorService;
+  private final Runnable budgetCheck;
 
   private static final String HYPHEN = "-";
   private static final String UNDERSCORE = "_";
@@ -85,8 +87,10 @@ class CopybookPreprocessorService {
                                      CopybookConfig copybookConfig,
                                      CopybooksRepository copybooks,
                                      CopybookHierarchy hierarchy,
+                                     CopybookExpansionCache expansionCache,
                                      MessageService messageService,
-                                     ReplacingService replacingService) {
+                                     ReplacingService replacingService,
+                                     Runnable budgetCheck) {
     this.programDocumentUri = programDocumentUri;
     this.grammarPreprocessor = grammarPreprocessor;
     this.extendedSource = extendedSource;
@@ -95,12 +99,15 @@ class CopybookPreprocessorService {
     this.copybookConfig = copybookConfig;
     this.copybooks = copybooks;
     this.hierarchy = hierarchy;
+    this.expansionCache = expansionCache;
     this.replacingService = replacingService;
     this.copybookErrorService = new CopybookErrorService(messageService);
+    this.budgetCheck = budgetCheck;
   }
 
   void addCopybook(ParserRuleContext ctx, CobolPreprocessor.CopySourceContext copySource,
                           int maxCopybookLen, List<ReplacementContext> replacementContext) {
+    budgetCheck.run();
     CopybookName name = getCopybookName(copySource);
     String copybookName = name.getQualifiedName();
 
@@ -153,33 +160,53 @@ class CopybookPreprocessorService {
   private DocumentMap processCopybookWithReplacement(List<ReplacementContext> replacementContext, CopybookModel copybook,
                                                         Locality nameLocality,
                                                         Locality statementLocality) {
+    // the copybook text is replaced only by its own REPLACING phrase
+    boolean cacheable = replacementContext == null && hierarchy.getLastTextReplacing() == null;
+    List<CopybookName> enclosingCopybooks = hierarchy.mapCopybooks(CopybookUsage::getName);
     hierarchy.push(new CopybookUsage(copybook.getCopybookName(), CopybooksRepository.toId(copybook.getCopybookName().getQualifiedName(), null, nameLocality.getUri()), nameLocality));
     if (replacementContext != null) {
       replacementContext.forEach(h -> hierarchy.addTextReplacing(h.getReplacement(), h.getLocality().getUri(), h.getLocality().getRange()));
     }
 
-    DocumentMap copybookDocument = new DocumentMap(copybook.getUri(), copybook.getContent());
     hierarchy.prepareCopybookReplacement(copybook.getUri());
 
     if (hierarchy.containsRecursiveReplacement()) {
       errors.add(copybookErrorService.addRecursiveReplacementError(copybook.getCopybookName(), nameLocality));
     }
 
-    hierarchy.replaceCopybook(copybookDocument, replacingService::applyReplacing, errors);
-
-    PreprocessorContext copybookContext = new PreprocessorContext(programDocumentUri, extendedSource, copybookDocument, copybookConfig, hierarchy, copybooks);
-    List<SyntaxError> copybookErrors = new LinkedList<>();
-    grammarPreprocessor.preprocess(copybookContext).unwrap(copybookErrors::addAll);
+    CopybookExpansionCache.Key key = new CopybookExpansionCache.Key(copybook.getUri(), copybook.getContent(),
+        hierarchy.getCopybookReplacing(), enclosingCopybooks);
+    CopybookExpansionCache.Expansion expansion = cacheable ? expansionCache.get(key).orElse(null) : null;
+    if (expansion == null) {
+      expansion = expandCopybook(copybook);
+      // a REPLACE statement of the copybook stays in effect after it, so reusing the expansion would
+      // lose it; the statement is seen only when the copybook is expanded
+      boolean startsTextReplacing = hierarchy.getLastTextReplacing() != null;
+      if (cacheable && !startsTextReplacing) {
+        expansionCache.put(key, expansion);
+      }
+    }
 
-    copybookErrors.forEach(e -> errors.add(e.toBuilder().location(statementLocality.toOriginalLocation()).build()));
-    errors.addAll(copybookErrors);
+    expansion.getErrors().forEach(e -> errors.add(e.toBuilder().location(statementLocality.toOriginalLocation()).build()));
+    errors.addAll(expansion.getErrors());
     List<SyntaxError> distinct = errors.stream().distinct().collect(Collectors.toList());
     errors.clear();
     errors.addAll(distinct);
 
     hierarchy.pop();
+    return expansion.getDocument();
+  }
+
+  private CopybookExpansionCache.Expansion expandCopybook(CopybookModel copybook) {
+    DocumentMap copybookDocument = new DocumentMap(copybook.getUri(), copybook.getContent());
+    hierarchy.replaceCopybook(copybookDocument, replacingService::applyReplacing, errors);
+
+    PreprocessorContext copybookContext = new PreprocessorContext(programDocumentUri, extendedSource, copybookDocument,
+        copybookConfig, hierarchy, copybooks, expansionCache, budgetCheck);
+    List<SyntaxError> copybookErrors = new LinkedList<>();
+    grammarPreprocessor.preprocess(copybookContext).unwrap(copybookErrors::addAll);
     copybookDocument.commitTransformations();
-    return copybookDocument;
+    return new CopybookExpansionCache.Expansion(copybookDocument, copybookErrors);
   }
 
   private Locality mapLocality(Locality locality) {
@@ -76,8 +76,10 @@ public class GrammarPreprocessorListenerImpl extends CobolPreprocessorBaseListen
         copybookConfig,
         context.getCopybooksRepository(),
         context.getHierarchy(),
+        context.getExpansionCache(),
         messageService,
-        replacingService);
+        replacingService,
+        context.getBudgetCheck());
     this.replacingService = replacingService;
   }
 
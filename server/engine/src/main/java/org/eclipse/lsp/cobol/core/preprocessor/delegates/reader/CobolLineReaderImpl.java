@@ -50,9 +50,9 @@ import static org.eclipse.lsp.cobol.core.model.CobolLineTypeEnum.*;
 public class CobolLineReaderImpl implements CobolLineReader {
   private static final int INDICATOR_AREA_INDEX = 6;
   private static final int MAX_LINE_LENGTH = 80;
-  private static final Pattern COBOL_LINE_PATTERN =
-      Pattern.compile(
-          "^(?<sequence>.{0,6})(?<indicator>.?)(?<contentA>.{0,4})(?<contentB>.{0,61})(?<comment>.{0,8})(?<extra>.*)$");
+  private static final int CONTENT_AREA_A_INDEX = 7;
+  private static final int CONTENT_AREA_B_INDEX = 11;
+  private static final int COMMENT_AREA_INDEX = 72;
   private static final Pattern COMPILER_DIRECTIVE_LINE =
       Pattern.compile("(?i)(.{0,6} +|\\s*+)(?<directives>(CBL|PROCESS) .+)");
   private static final Map<String, CobolLineTypeEnum> INDICATORS =
@@ -80,43 +80,70 @@ public class CobolLineReaderImpl implements CobolLineReader {
       @NonNull String documentURI, @NonNull String lines) {
     List<SyntaxError> accumulatedErrors = new ArrayList<>();
     List<CobolLine> result = new ArrayList<>();
-    try (Scanner scanner = new Scanner(lines)) {
-      String currentLine;
-      CobolLine lastCobolLine = null;
-      int lineNumber = 0;
+    CobolLine lastCobolLine = null;
+    int lineNumber = 0;
+    int lineStart = 0;
+    int length = lines.length();
 
-      while (scanner.hasNextLine()) {
-        currentLine = scanner.nextLine();
-        CobolLine currentCobolLine =
-            parseLine(currentLine, documentURI, lineNumber).unwrap(accumulatedErrors::addAll);
+    while (lineStart < length) {
+      int lineEnd = findLineEnd(lines, lineStart);
+      String currentLine = lines.substring(lineStart, lineEnd);
+      CobolLine currentCobolLine =
+          parseLine(currentLine, documentURI, lineNumber).unwrap(accumulatedErrors::addAll);
 
-        currentCobolLine.setPredecessor(lastCobolLine);
-        result.add(currentCobolLine);
+      currentCobolLine.setPredecessor(lastCobolLine);
+      result.add(currentCobolLine);
 
-        lineNumber++;
-        lastCobolLine = currentCobolLine;
-      }
+      lineNumber++;
+      lastCobolLine = currentCobolLine;
+      lineStart = skipLineSeparator(lines, lineEnd);
     }
     return new ResultWithErrors<>(result, accumulatedErrors);
   }
 
+  /**
+   * Find the end of the line that starts at the given index. The recognized line separators are
+   * the same as {@link java.util.Scanner#nextLine()} uses.
+   *
+   * @param text the whole document text
+   * @param from the index of the line start
+   * @return the index of the line separator or the text length if it is the last line
+   */
+  private static int findLineEnd(String text, int from) {
+    for (int i = from; i < text.length(); i++) {
+      if (isLineSeparator(text.charAt(i))) {
+        return i;
+      }
+    }
+    return text.length();
+  }
+
+  private static int skipLineSeparator(String text, int lineEnd) {
+    if (lineEnd + 1 < text.length()
+        && text.charAt(lineEnd) == '\r'
+        && text.charAt(lineEnd + 1) == '\n') {
+      return lineEnd + 2;
+    }
+    return lineEnd + 1;
+  }
+
+  private static boolean isLineSeparator(char c) {
+    return c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029' || c == '\u0085';
+  }
+
   @NonNull
   private ResultWithErrors<CobolLine> parseLine(
       @NonNull String line, @NonNull String uri, int lineNumber) {
     List<SyntaxError> errors = new ArrayList<>();
     CobolLine cobolLine;
 
-    Matcher usualLine = COBOL_LINE_PATTERN.matcher(line);
-    Matcher directivesLine = COMPILER_DIRECTIVE_LINE.matcher(line);
-    if (directivesLine.matches()) {
+    Matcher directivesLine =
+        mayContainDirectives(line) ? COMPILER_DIRECTIVE_LINE.matcher(line) : null;
+    if (directivesLine != null && directivesLine.matches()) {
       cobolLine =
           processCompilerDirectives(line, uri, lineNumber, directivesLine).unwrap(errors::addAll);
-    } else if (usualLine.matches()) {
-      cobolLine = processNormalLine(line, uri, lineNumber, usualLine).unwrap(errors::addAll);
     } else {
-      // It is impossible. Pattern must match any line.
-      LOG.error("The line '{}' can't be parsed.", line);
-      cobolLine = new CobolLine();
+      cobolLine = processNormalLine(line, uri, lineNumber).unwrap(errors::addAll);
     }
 
     cobolLine.setNumber(lineNumber);
@@ -138,21 +165,42 @@ public class CobolLineReaderImpl implements CobolLineReader {
   }
 
   private ResultWithErrors<CobolLine> processNormalLine(
-      @NonNull String line, @NonNull String uri, int lineNumber, Matcher matcher) {
+      @NonNull String line, @NonNull String uri, int lineNumber) {
     List<SyntaxError> errors = new ArrayList<>();
     CobolLine cobolLine = new CobolLine();
-    cobolLine.setSequenceArea(matcher.group("sequence"));
-    String indicatorArea = matcher.group("indicator");
+    cobolLine.setSequenceArea(area(line, 0, INDICATOR_AREA_INDEX));
+    String indicatorArea = area(line, INDICATOR_AREA_INDEX, CONTENT_AREA_A_INDEX);
     cobolLine.setIndicatorArea(indicatorArea);
     cobolLine.setType(determineType(indicatorArea, uri, lineNumber).unwrap(errors::addAll));
-    cobolLine.setContentAreaA(matcher.group("contentA"));
-    cobolLine.setContentAreaB(matcher.group("contentB"));
-    cobolLine.setCommentArea(matcher.group("comment"));
+    cobolLine.setContentAreaA(area(line, CONTENT_AREA_A_INDEX, CONTENT_AREA_B_INDEX));
+    cobolLine.setContentAreaB(area(line, CONTENT_AREA_B_INDEX, COMMENT_AREA_INDEX));
+    cobolLine.setCommentArea(area(line, COMMENT_AREA_INDEX, MAX_LINE_LENGTH));
     checkLineLength(line, uri, lineNumber).ifPresent(errors::add);
 
     return new ResultWithErrors<>(cobolLine, errors);
   }
 
+  /**
+   * Cut the fixed-format area out of the line. The line may be shorter than the area boundaries,
+   * so the result is trimmed to the line length, and it is empty if the area starts after the end.
+   */
+  private static String area(String line, int start, int end) {
+    int length = line.length();
+    if (start >= length) {
+      return "";
+    }
+    return line.substring(start, Math.min(end, length));
+  }
+
+  /**
+   * A cheap check whether the directive pattern may match the line, so the regular expression runs
+   * only for the lines that mention CBL or PROCESS.
+   */
+  private static boolean mayContainDirectives(String line) {
+    return StringUtils.containsIgnoreCase(line, "CBL ")
+        || StringUtils.containsIgnoreCase(line, "PROCESS ");
+  }
+
   private String cleanupString(@NonNull String line, int contentStart) {
     String lineWithoutSequence = StringUtils.repeat(' ', contentStart) + line;
     return lineWithoutSequence.length() > 72
@@ -15,6 +15,8 @@
 
 package org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import lombok.AllArgsConstructor;
@@ -71,18 +73,28 @@ public class ReplacingServiceImpl implements ReplacingService {
 
   private static final String ERROR_REPLACING = "Error replacing on text: %s with the pattern: %s";
   private static final int INDIVIDUAL_WORD_VALID_LENGTH = 322;
+  private static final int PATTERN_CACHE_SIZE = 1000;
 
   private final MessageService messageService;
+  private final Cache<String, Pattern> patternCache =
+      CacheBuilder.newBuilder().maximumSize(PATTERN_CACHE_SIZE).build();
 
   @Inject
   public ReplacingServiceImpl(MessageService messageService) {
     this.messageService = messageService;
   }
 
+  /**
+   * Apply the patterns one by one, so each pattern is applied to the result of the previous ones.
+   * The patterns that replace nothing with nothing are skipped.
+   */
   @NonNull
   @Override
   public void applyReplacing(@NonNull DocumentMap documentMap, @NonNull ReplaceData replaceData) {
     for (Pair<String, String> replacePattern : replaceData.getReplacePatterns()) {
+      if (replacePattern.getLeft().isEmpty() && replacePattern.getRight().isEmpty()) {
+        continue;
+      }
       replace(documentMap, replacePattern, replaceData.getRange(documentMap.getUri()));
     }
   }
@@ -235,9 +247,13 @@ public class ReplacingServiceImpl implements ReplacingService {
     }
     String text = documentMap.getText();
     try {
-      Matcher matcher = Pattern.compile(pattern.getLeft(), Pattern.CASE_INSENSITIVE).matcher(text);
+      Matcher matcher = getPattern(pattern.getLeft()).matcher(text);
+      int[] lineStarts = null;
       while (matcher.find()) {
-        Range range = getRange(text, matcher);
+        if (lineStarts == null) {
+          lineStarts = findLineStarts(text);
+        }
+        Range range = getRange(lineStarts, matcher);
         if (RangeUtils.isInside(range, scope)) {
           documentMap.replace(range, pattern.getRight());
         }
@@ -248,17 +264,42 @@ public class ReplacingServiceImpl implements ReplacingService {
     }
   }
 
-  private Range getRange(String text, Matcher matcher) {
-    Position start = getPosition(text, matcher.start());
-    Position end = getPosition(text, matcher.end());
+  /**
+   * The same clauses come with every COPY REPLACING of the same copybook and with every REPLACE
+   * statement that is in effect, so the compiled patterns are reused.
+   */
+  private Pattern getPattern(String regex) {
+    Pattern pattern = patternCache.getIfPresent(regex);
+    if (pattern == null) {
+      pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+      patternCache.put(regex, pattern);
+    }
+    return pattern;
+  }
+
+  private Range getRange(int[] lineStarts, Matcher matcher) {
+    Position start = getPosition(lineStarts, matcher.start());
+    Position end = getPosition(lineStarts, matcher.end());
     return new Range(start, end);
   }
 
-  private Position getPosition(String text, int positionInFile) {
-    String prefix = text.substring(0, positionInFile);
-    int character = positionInFile - prefix.lastIndexOf("\n") - 1;
-    int line = StringUtils.countMatches(prefix, "\n");
-    return new Position(line, character);
+  private Position getPosition(int[] lineStarts, int positionInFile) {
+    int line = Arrays.binarySearch(lineStarts, positionInFile);
+    if (line < 0) {
+      line = -line - 2;
+    }
+    return new Position(line, positionInFile - lineStarts[line]);
+  }
+
+  /** The offsets where the lines begin, i.e. the text start and the offsets after line breaks */
+  private static int[] findLineStarts(String text) {
+    int count = 1 + StringUtils.countMatches(text, '\n');
+    int[] lineStarts = new int[count];
+    int line = 1;
+    for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) {
+      lineStarts[line++] = i + 1;
+    }
+    return lineStarts;
   }
 
   private Function<String, Boolean> checkContainWord(String check) {
@@ -19,12 +19,10 @@ import org.eclipse.lsp.cobol.core.preprocessor.CobolLine;
 import org.eclipse.lsp.cobol.core.model.CobolLineTypeEnum;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.util.CobolLineUtils;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import static org.eclipse.lsp.cobol.core.model.CobolLineTypeEnum.*;
 import static org.eclipse.lsp.cobol.core.preprocessor.ProcessingConstants.WS;
@@ -36,10 +34,9 @@ import static org.eclipse.lsp.cobol.core.preprocessor.ProcessingConstants.WS;
 public class CobolLineIndicatorProcessorImpl implements CobolLineReWriter {
 
   private static final String EMPTY_STRING = "";
-  private static final String DOUBLE_QUOTE_LITERAL = "\"([^\"]|\"\"|'')*+\"";
-  private static final String SINGLE_QUOTE_LITERAL = "'([^']|''|\"\")*+'";
-  private static final Pattern FLOATING_COMMENT_LINE =
-      Pattern.compile("(?<validText>.*?)(?<floatingComment>\\*> .+)?");
+  private static final String FLOATING_COMMENT = "*> ";
+  private static final Pattern DOUBLE_QUOTE_LITERAL = Pattern.compile("\"([^\"]|\"\"|'')*+\"");
+  private static final Pattern SINGLE_QUOTE_LITERAL = Pattern.compile("'([^']|''|\"\")*+'");
 
   /**
    * Normalizes the lines by stripping the sequence number and line indicator, and interpreting the
@@ -50,9 +47,11 @@ public class CobolLineIndicatorProcessorImpl implements CobolLineReWriter {
     if (lines.isEmpty()) {
       return Collections.emptyList();
     }
-    return StreamSupport.stream(lines.get(0).spliterator(), false)
-            .map(line -> line.getType() == PREPROCESSED ? line : processLine(line))
-            .collect(Collectors.toList());
+    List<CobolLine> result = new ArrayList<>(lines.size());
+    for (CobolLine line : lines.get(0)) {
+      result.add(line.getType() == PREPROCESSED ? line : processLine(line));
+    }
+    return result;
   }
 
   private CobolLine processLine(final CobolLine line) {
@@ -66,10 +65,20 @@ public class CobolLineIndicatorProcessorImpl implements CobolLineReWriter {
       return processContinuationLine(line, trimmedContentArea);
     }
 
-    Matcher matchedLine = FLOATING_COMMENT_LINE.matcher(trimmedContentArea);
-    return matchedLine.matches()
-            ? CobolLineUtils.copyCobolLineWithIndicatorAndContentArea(WS, matchedLine.group("validText"), line)
-            : CobolLineUtils.copyCobolLineWithIndicatorAndContentArea(WS, trimmedContentArea, line);
+    return CobolLineUtils.copyCobolLineWithIndicatorAndContentArea(
+        WS, removeFloatingComment(trimmedContentArea), line);
+  }
+
+  /**
+   * Cut off the floating comment, i.e. the first "*> " followed by any text, and keep the text
+   * before it.
+   */
+  private String removeFloatingComment(String contentArea) {
+    int commentStart = contentArea.indexOf(FLOATING_COMMENT);
+    while (commentStart >= 0 && commentStart + FLOATING_COMMENT.length() >= contentArea.length()) {
+      commentStart = contentArea.indexOf(FLOATING_COMMENT, commentStart + 1);
+    }
+    return commentStart < 0 ? contentArea : contentArea.substring(0, commentStart);
   }
 
   private CobolLine processContinuationLine(CobolLine line, String conditionalRightTrimmedContentArea) {
@@ -154,9 +163,8 @@ public class CobolLineIndicatorProcessorImpl implements CobolLineReWriter {
 
 
   private String removeStringLiterals(final String contentArea) {
-    return contentArea
-        .replaceAll(DOUBLE_QUOTE_LITERAL, EMPTY_STRING)
-        .replaceAll(SINGLE_QUOTE_LITERAL, EMPTY_STRING);
+    String withoutDoubleQuoted = DOUBLE_QUOTE_LITERAL.matcher(contentArea).replaceAll(EMPTY_STRING);
+    return SINGLE_QUOTE_LITERAL.matcher(withoutDoubleQuoted).replaceAll(EMPTY_STRING);
   }
 
   private String repairTrailingComma(final String contentArea) {
@@ -32,7 +32,6 @@ import org.eclipse.lsp4j.Range;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import static java.util.Optional.ofNullable;
@@ -50,7 +49,6 @@ import static org.eclipse.lsp.cobol.common.error.ErrorSeverity.ERROR;
  */
 @Slf4j
 public class ContinuationLineTransformation implements CobolLinesTransformation {
-  private static final Pattern BLANK_LINE_PATTERN = Pattern.compile("\\s*");
   private static final String PSEUDO_TEXT_DELIMITER = "=";
   private final MessageService messageService;
 
@@ -156,7 +154,22 @@ public class ContinuationLineTransformation implements CobolLinesTransformation
   }
 
   private boolean isBlankLine(CobolLine cobolLine) {
-    return BLANK_LINE_PATTERN.matcher(cobolLine.toString()).matches();
+    return isBlank(cobolLine.getSequenceArea())
+        && isBlank(cobolLine.getIndicatorArea())
+        && isBlank(cobolLine.getContentAreaA())
+        && isBlank(cobolLine.getContentAreaB())
+        && isBlank(cobolLine.getCommentArea());
+  }
+
+  /** Check the area against the regex whitespace class without building the whole line string */
+  private static boolean isBlank(String area) {
+    for (int i = 0; i < area.length(); i++) {
+      char c = area.charAt(i);
+      if (c != ' ' && c != '\t' && c != '\n' && c != '\u000B' && c != '\f' && c != '\r') {
+        return false;
+      }
+    }
+    return true;
   }
   private boolean isCommentLine(CobolLine cobolLine) {
     return cobolLine.getType() == CobolLineTypeEnum.COMMENT;
@@ -197,8 +210,8 @@ public class ContinuationLineTransformation implements CobolLinesTransformation
       CobolLine previousCobolLine, String uri, int lineNumber, CobolLine currentCobolLine) {
     if (isBlankLine(currentCobolLine) || isCommentLine(currentCobolLine))
       return null;
-    if (checkIfLineHasUnclosedString(previousCobolLine)
-        && !CobolLineTypeEnum.CONTINUATION.equals(currentCobolLine.getType())) {
+    if (!CobolLineTypeEnum.CONTINUATION.equals(currentCobolLine.getType())
+        && checkIfLineHasUnclosedString(previousCobolLine)) {
       // there is a string not closed correctly - I'll raise an error
       return registerStringClosingError(
           uri, lineNumber, getCobolLineTrimmedLength(previousCobolLine));
@@ -212,26 +225,30 @@ public class ContinuationLineTransformation implements CobolLinesTransformation
       return false;
     }
 
-    String cobolLineToCheck = cobolLine.getContentAreaA() + cobolLine.getContentAreaB();
-    String startChar = findQuoteOpeningChar(cobolLineToCheck);
+    String contentAreaA = cobolLine.getContentAreaA();
+    String contentAreaB = cobolLine.getContentAreaB();
+    char startChar = findQuoteOpeningChar(contentAreaA);
+    if (startChar == 0) startChar = findQuoteOpeningChar(contentAreaB);
 
-    if (startChar == null) return false;
-    return isStringMatchOdd(cobolLineToCheck, startChar);
+    if (startChar == 0) return false;
+    return (countQuotes(contentAreaA, startChar) + countQuotes(contentAreaB, startChar)) % 2 != 0;
   }
 
-  private String findQuoteOpeningChar(String cobolLineToCheck) {
-    int indexOfSingle = cobolLineToCheck.indexOf('\'');
-    int indexOfDouble = cobolLineToCheck.indexOf('"');
-
-    if (indexOfSingle == indexOfDouble) return null;
-
-    if (indexOfSingle != -1 && indexOfDouble == -1) return "'";
-    if (indexOfSingle == -1) return "\"";
-    return indexOfSingle > indexOfDouble ? "\"" : "'";
+  /** Find the first quote of the area, or return 0 if there are no quotes */
+  private char findQuoteOpeningChar(String area) {
+    for (int i = 0; i < area.length(); i++) {
+      char c = area.charAt(i);
+      if (c == '\'' || c == '"') return c;
+    }
+    return 0;
   }
 
-  private boolean isStringMatchOdd(String cobolLineToCheck, String substring) {
-    return StringUtils.countMatches(cobolLineToCheck, substring) % 2 != 0;
+  private int countQuotes(String area, char quote) {
+    int count = 0;
+    for (int i = 0; i < area.length(); i++) {
+      if (area.charAt(i) == quote) count++;
+    }
+    return count;
   }
 
   /**
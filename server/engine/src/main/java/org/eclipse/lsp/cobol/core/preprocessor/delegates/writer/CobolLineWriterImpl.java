@@ -60,7 +60,7 @@ public class CobolLineWriterImpl implements CobolLineWriter {
       if (isContinuationLine) {
         if (start == null) {
           CobolLine predecessor = line.getPredecessor();
-          int col = lineString(predecessor).length();
+          int col = lineLength(predecessor);
           start = new Position(predecessor.getNumber(), col);
         }
         process(sb, line);
@@ -83,17 +83,22 @@ public class CobolLineWriterImpl implements CobolLineWriter {
     if (line.getNumber() > 0) {
       sb.append(ProcessingConstants.NEWLINE);
     }
-    sb.append(lineString(line));
-  }
-
-  private String lineString(CobolLine line) {
-    StringBuilder sb = new StringBuilder();
     if (line.getType() != CobolLineTypeEnum.PREPROCESSED) {
       sb.append(ProcessingConstants.BLANK_SEQUENCE_AREA);
     }
     sb.append(line.getIndicatorArea());
-    sb.append(line.getContentArea());
-    return sb.toString();
+    sb.append(line.getContentAreaA());
+    sb.append(line.getContentAreaB());
+  }
+
+  private int lineLength(CobolLine line) {
+    int length = line.getType() != CobolLineTypeEnum.PREPROCESSED
+        ? ProcessingConstants.BLANK_SEQUENCE_AREA.length()
+        : 0;
+    return length
+        + line.getIndicatorArea().length()
+        + line.getContentAreaA().length()
+        + line.getContentAreaB().length();
   }
 
   /**
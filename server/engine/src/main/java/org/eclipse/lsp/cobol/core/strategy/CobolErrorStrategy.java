@@ -21,10 +21,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.antlr.v4.runtime.*;
 import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.common.message.MessageServiceProvider;
+import org.eclipse.lsp.cobol.common.message.MessageTemplate;
+import org.eclipse.lsp.cobol.core.MessageServiceParser;
 
 /**
  * This implementation of the error strategy customizes error messages that are extracted from the
- * parsing exceptions
+ * parsing exceptions. The messages are passed to the {@link MessageServiceParser} as templates, so
+ * they are localized only when the errors are published.
  */
 @Slf4j
 // for test
@@ -39,7 +42,7 @@ public class CobolErrorStrategy extends DefaultErrorStrategy implements MessageS
 
   public CobolErrorStrategy(MessageService messageService) {
     this.messageService = messageService;
-    this.errorMessageHelper = new ErrorMessageHelper(messageService);
+    this.errorMessageHelper = new ErrorMessageHelper();
   }
 
   @Override
@@ -76,16 +79,18 @@ public class CobolErrorStrategy extends DefaultErrorStrategy implements MessageS
   @Override
   protected void reportInputMismatch(Parser recognizer, InputMismatchException e) {
     Token token = e.getOffendingToken();
-    String msg =
+    MessageTemplate msg =
         errorMessageHelper.getInputMismatchMessage(recognizer, e, token, getOffendingToken(e));
-    recognizer.notifyErrorListeners(token, msg, e);
+    notifyErrorListeners(recognizer, token, msg, e);
   }
 
   @Override
   protected void reportNoViableAlternative(Parser recognizer, NoViableAltException e) {
-    String messageParams = errorMessageHelper.retrieveInputForNoViableException(recognizer, e);
-    String msg = messageService.getMessage(REPORT_NO_VIABLE_ALTERNATIVE, messageParams);
-    recognizer.notifyErrorListeners(e.getOffendingToken(), msg, e);
+    MessageTemplate msg =
+        MessageTemplate.of(
+            REPORT_NO_VIABLE_ALTERNATIVE,
+            errorMessageHelper.retrieveInputForNoViableException(recognizer, e));
+    notifyErrorListeners(recognizer, e.getOffendingToken(), msg, e);
   }
 
   @Override
@@ -95,8 +100,8 @@ public class CobolErrorStrategy extends DefaultErrorStrategy implements MessageS
     }
     beginErrorCondition(recognizer);
     Token currentToken = recognizer.getCurrentToken();
-    String msg = errorMessageHelper.getUnwantedTokenMessage(recognizer, currentToken);
-    recognizer.notifyErrorListeners(currentToken, msg, null);
+    MessageTemplate msg = errorMessageHelper.getUnwantedTokenMessage(recognizer, currentToken);
+    notifyErrorListeners(recognizer, currentToken, msg, null);
   }
 
   @Override
@@ -105,12 +110,21 @@ public class CobolErrorStrategy extends DefaultErrorStrategy implements MessageS
       return;
     }
     beginErrorCondition(recognizer);
-    String msg =
-        messageService.getMessage(
+    MessageTemplate msg =
+        MessageTemplate.of(
             REPORT_MISSING_TOKEN,
             errorMessageHelper.getExpectedText(recognizer),
             ErrorMessageHelper.getRule(recognizer));
-    recognizer.notifyErrorListeners(getPreviousToken(recognizer), msg, null);
+    notifyErrorListeners(recognizer, getPreviousToken(recognizer), msg, null);
+  }
+
+  private void notifyErrorListeners(
+      Parser recognizer, Token token, MessageTemplate msg, RecognitionException e) {
+    if (recognizer instanceof MessageServiceParser) {
+      ((MessageServiceParser) recognizer).notifyErrorListeners(token, msg, e);
+    } else {
+      recognizer.notifyErrorListeners(token, messageService.localizeTemplate(msg), e);
+    }
   }
 
   private Token getPreviousToken(Parser recognizer) {
@@ -15,13 +15,21 @@
 
 package org.eclipse.lsp.cobol.core.strategy;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
+import lombok.EqualsAndHashCode;
+import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.InputMismatchException;
 import org.antlr.v4.runtime.NoViableAltException;
 import org.antlr.v4.runtime.Parser;
 import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.Vocabulary;
+import org.antlr.v4.runtime.misc.Interval;
 import org.antlr.v4.runtime.misc.IntervalSet;
-import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.common.message.MessageTemplate;
 import org.eclipse.lsp.cobol.core.CobolParser;
 
 import java.util.*;
@@ -30,26 +38,30 @@ import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static org.antlr.v4.runtime.Recognizer.EOF;
 
-/** This is a utility class to fetch error messages encountered while parsing COBOL file. */
+/**
+ * This is a utility class to fetch error messages encountered while parsing COBOL file. The
+ * messages are returned as templates with the expected tokens and the input kept as they are, so
+ * the text is built only when the error gets localized.
+ */
 public class ErrorMessageHelper {
-  private final MessageService messageService;
   static final String PERFORM_MISSING_END = "ErrorStrategy.performMissingEnd";
   static final String REPORT_UNWANTED_TOKEN = "ErrorStrategy.reportUnwantedToken";
   static final String END_OF_FILE_MESSAGE = "ErrorStrategy.endOfFile";
   static final String REPORT_INPUT_MISMATCH = "ErrorStrategy.reportInputMismatch";
+  private static final String UNKNOWN_INPUT = "<unknown input>";
   private static final String MSG_DELIMITER = ", ";
   private static final String MSG_PREFIX = "{";
   private static final String MSG_SUFFIX = "}";
   private static final Map<Class<? extends Parser>, Set<String>> IDENTIFIER_TOKENS =
       IdentifierReplacing.retrieveTokenToRemove();
 
-  ErrorMessageHelper(MessageService messageService) {
-    this.messageService = messageService;
-  }
-
   private static final Map<String, String> SPECIAL_TOKEN_MAPPING =
       SpecialTokenReplacing.loadSpecialTokenMapping();
 
+  // the errors of a broken text usually expect the same few sets of tokens
+  private static final LoadingCache<ExpectedText, String> EXPECTED_TEXTS =
+      CacheBuilder.newBuilder().maximumSize(1_000).build(CacheLoader.from(ExpectedText::format));
+
   /**
    * Returns an input mismatch error message for a {@link InputMismatchException}
    *
@@ -57,13 +69,13 @@ public class ErrorMessageHelper {
    * @param e {@link InputMismatchException}
    * @param token token
    * @param offendingTokens offending token string
-   * @return error message string
+   * @return error message template
    */
-  public String getInputMismatchMessage(
+  public MessageTemplate getInputMismatchMessage(
       Parser recognizer, InputMismatchException e, Token token, String offendingTokens) {
     return token.getType() == EOF
-        ? messageService.getMessage(END_OF_FILE_MESSAGE)
-        : messageService.getMessage(
+        ? MessageTemplate.of(END_OF_FILE_MESSAGE)
+        : MessageTemplate.of(
             REPORT_INPUT_MISMATCH, offendingTokens, getExpectedText(recognizer, e));
   }
 
@@ -72,11 +84,11 @@ public class ErrorMessageHelper {
    *
    * @param recognizer Parser reference
    * @param currentToken current token
-   * @return error message string
+   * @return error message template
    */
-  public String getUnwantedTokenMessage(Parser recognizer, Token currentToken) {
+  public MessageTemplate getUnwantedTokenMessage(Parser recognizer, Token currentToken) {
     return currentToken.getType() == EOF
-        ? messageService.getMessage(END_OF_FILE_MESSAGE)
+        ? MessageTemplate.of(END_OF_FILE_MESSAGE)
         : createMessage(recognizer, currentToken);
   }
 
@@ -84,9 +96,9 @@ public class ErrorMessageHelper {
    * Returns an expected text, in case {@link InputMismatchException} is encountered while parsing.
    *
    * @param recognizer Parser ref
-   * @return an expected text
+   * @return an expected text that is built on {@link ExpectedText#toString()}
    */
-  public String getExpectedText(Parser recognizer) {
+  public ExpectedText getExpectedText(Parser recognizer) {
     return getExpectedText(recognizer, recognizer.getExpectedTokens());
   }
 
@@ -101,37 +113,32 @@ public class ErrorMessageHelper {
   }
 
   /**
-   * Returns input string which resulted in {@link NoViableAltException}
+   * Returns input which resulted in {@link NoViableAltException}
    *
    * @param recognizer parser ref
    * @param e {@link NoViableAltException}
-   * @return input string
+   * @return input that is converted to string on {@link InputText#toString()}
    */
-  public String retrieveInputForNoViableException(Parser recognizer, NoViableAltException e) {
-    return Optional.ofNullable(recognizer.getInputStream())
-        .map(it -> it.getText(e.getStartToken(), e.getOffendingToken()))
-        .orElse("<unknown input>");
+  public InputText retrieveInputForNoViableException(Parser recognizer, NoViableAltException e) {
+    return new InputText(recognizer.getInputStream(), e.getStartToken(), e.getOffendingToken());
   }
 
-  private String getExpectedText(Parser recognizer, InputMismatchException e) {
+  private ExpectedText getExpectedText(Parser recognizer, InputMismatchException e) {
     return getExpectedText(recognizer, e.getExpectedTokens());
   }
 
-  private String getExpectedText(Parser recognizer, IntervalSet interval) {
-    final String newMessage =
-        buildErrorMessage(
-            removeIdentifierTokens(recognizer, collectErrorTokens(recognizer, interval)));
-    return interval.size() > 1 ? String.format("{%s}", newMessage) : newMessage;
+  private ExpectedText getExpectedText(Parser recognizer, IntervalSet interval) {
+    return new ExpectedText(recognizer.getClass(), recognizer.getVocabulary(), interval);
   }
 
-  private String createMessage(Parser recognizer, Token t) {
+  private MessageTemplate createMessage(Parser recognizer, Token t) {
     String tokenName = SPECIAL_TOKEN_MAPPING.getOrDefault(t.getText(), t.getText());
     return recognizer.getContext().getRuleIndex() == CobolParser.RULE_performInlineStatement
-        ? messageService.getMessage(PERFORM_MISSING_END, tokenName)
-        : messageService.getMessage(REPORT_UNWANTED_TOKEN, tokenName, getExpectedText(recognizer));
+        ? MessageTemplate.of(PERFORM_MISSING_END, tokenName)
+        : MessageTemplate.of(REPORT_UNWANTED_TOKEN, tokenName, getExpectedText(recognizer));
   }
 
-  private String buildErrorMessage(List<String> tokens) {
+  private static String buildErrorMessage(List<String> tokens) {
     return tokens.stream()
         .map(it -> SPECIAL_TOKEN_MAPPING.getOrDefault(it, it))
         .filter(it -> !it.isEmpty())
@@ -140,20 +147,104 @@ public class ErrorMessageHelper {
         .collect(joining(MSG_DELIMITER));
   }
 
-  private List<String> removeIdentifierTokens(Parser recognizer, List<String> tokens) {
+  private static List<String> removeIdentifierTokens(
+      Class<? extends Parser> parserClass, List<String> tokens) {
     final Set<String> identifierTokens =
-        IDENTIFIER_TOKENS.getOrDefault(recognizer.getClass(), ImmutableSet.of());
+        IDENTIFIER_TOKENS.getOrDefault(parserClass, ImmutableSet.of());
     if (tokens.containsAll(identifierTokens)) tokens.removeAll(identifierTokens);
     return tokens;
   }
 
-  private List<String> collectErrorTokens(Parser recognizer, IntervalSet interval) {
+  private static List<String> collectErrorTokens(Vocabulary vocabulary, IntervalSet interval) {
     return Arrays.stream(
             interval
-                .toString(recognizer.getVocabulary())
+                .toString(vocabulary)
                 .replace(MSG_PREFIX, "")
                 .replace(MSG_SUFFIX, "")
                 .split(MSG_DELIMITER))
         .collect(toList());
   }
+
+  /**
+   * The tokens that the parser expected at the error position. The readable list of them is built
+   * only when the message is localized, and then it is shared by the errors that expect the same
+   * tokens.
+   */
+  @EqualsAndHashCode
+  public static final class ExpectedText {
+    private final Class<? extends Parser> parserClass;
+    private final Vocabulary vocabulary;
+    private final IntervalSet interval;
+
+    ExpectedText(Class<? extends Parser> parserClass, Vocabulary vocabulary, IntervalSet interval) {
+      this.parserClass = parserClass;
+      this.vocabulary = vocabulary;
+      this.interval = interval;
+    }
+
+    @Override
+    public String toString() {
+      return EXPECTED_TEXTS.getUnchecked(this);
+    }
+
+    private String format() {
+      String newMessage =
+          buildErrorMessage(
+              removeIdentifierTokens(parserClass, collectErrorTokens(vocabulary, interval)));
+      return interval.size() > 1 ? String.format("{%s}", newMessage) : newMessage;
+    }
+  }
+
+  /**
+   * The input between the tokens of the parser. Only the character stream of the tokens and the
+   * offsets of the input are kept, the text is read when the message is localized. The equality is
+   * based on the text.
+   */
+  public static final class InputText {
+    private final CharStream input;
+    private final int start;
+    private final int stop;
+    private String text;
+
+    InputText(TokenStream tokens, Token start, Token stop) {
+      if (tokens != null && isInSameInput(start, stop)) {
+        input = start.getInputStream();
+        this.start = start.getStartIndex();
+        this.stop = stop.getStopIndex();
+      } else {
+        input = null;
+        this.start = -1;
+        this.stop = -1;
+        text = tokens == null ? UNKNOWN_INPUT : tokens.getText(start, stop);
+      }
+    }
+
+    private static boolean isInSameInput(Token start, Token stop) {
+      return start != null
+          && stop != null
+          && start.getTokenIndex() >= 0
+          && stop.getTokenIndex() >= start.getTokenIndex()
+          && start.getStartIndex() >= 0
+          && start.getInputStream() != null
+          && start.getInputStream() == stop.getInputStream();
+    }
+
+    @Override
+    public String toString() {
+      if (text == null) {
+        text = stop < start ? "" : input.getText(Interval.of(start, stop));
+      }
+      return text;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return this == o || (o instanceof InputText && toString().equals(o.toString()));
+    }
+
+    @Override
+    public int hashCode() {
+      return toString().hashCode();
+    }
+  }
 }
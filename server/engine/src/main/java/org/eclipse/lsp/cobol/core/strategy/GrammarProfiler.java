@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.strategy;
+
+import lombok.experimental.UtilityClass;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.atn.DecisionInfo;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Collects the prediction statistics of the grammar decisions to find the rules that are expensive
+ * to parse. The profiling is enabled with the "grammarProfile" system property set to true. Then
+ * the parsers run with the LL prediction and the profiling simulator, and the statistics of all the
+ * parsed texts are summed up by the decision until the report is written.
+ */
+@UtilityClass
+public class GrammarProfiler {
+  private static final String PROFILE_PROPERTY = "grammarProfile";
+  private static final Map<String, DecisionStats> STATS = new LinkedHashMap<>();
+
+  /**
+   * Check if the grammar profiling is enabled
+   *
+   * @return true if the parsers should be profiled
+   */
+  public boolean isEnabled() {
+    return Boolean.getBoolean(PROFILE_PROPERTY);
+  }
+
+  /**
+   * Parse the input of the parser with the given rule, and collect the statistics if the profiling
+   * is enabled
+   *
+   * @param parser the parser to run
+   * @param rule the rule to start parsing with
+   * @param <P> the type of parser
+   * @param <T> the type of the resulting tree
+   * @return the parse tree
+   */
+  public <P extends Parser, T extends ParserRuleContext> T parse(P parser, Function<P, T> rule) {
+    if (!isEnabled()) {
+      return rule.apply(parser);
+    }
+    parser.setProfile(true);
+    T tree = rule.apply(parser);
+    record(parser);
+    return tree;
+  }
+
+  /**
+   * Write the collected statistics ranked by the prediction time, and clear them
+   *
+   * @param writer the writer for the report
+   */
+  public void writeReport(PrintWriter writer) {
+    List<DecisionStats> decisions;
+    synchronized (STATS) {
+      decisions = new ArrayList<>(STATS.values());
+      STATS.clear();
+    }
+    decisions.sort(Comparator.comparingLong((DecisionStats stats) -> stats.time).reversed());
+    writer.printf(
+        Locale.ROOT,
+        "%-20s %-40s %8s %12s %10s %12s %12s %11s %10s %12s %8s%n",
+        "Grammar", "Rule", "Decision", "Invocations", "Time, ms", "SLL max look", "LL fallbacks",
+        "LL max look", "Ambiguity", "Context sens", "Errors");
+    for (DecisionStats stats : decisions) {
+      writer.printf(
+          Locale.ROOT,
+          "%-20s %-40s %8d %12d %10.3f %12d %12d %11d %10d %12d %8d%n",
+          stats.grammar,
+          stats.rule,
+          stats.decision,
+          stats.invocations,
+          stats.time / 1_000_000.0,
+          stats.sllMaxLook,
+          stats.llFallbacks,
+          stats.llMaxLook,
+          stats.ambiguities,
+          stats.contextSensitivities,
+          stats.errors);
+    }
+    writer.flush();
+  }
+
+  private void record(Parser parser) {
+    String grammar = parser.getGrammarFileName();
+    synchronized (STATS) {
+      for (DecisionInfo info : parser.getParseInfo().getDecisionInfo()) {
+        if (info.invocations == 0) {
+          continue;
+        }
+        String rule = parser.getRuleNames()[parser.getATN().getDecisionState(info.decision).ruleIndex];
+        STATS
+            .computeIfAbsent(grammar + ":" + info.decision, key -> new DecisionStats(grammar, rule, info.decision))
+            .add(info);
+      }
+    }
+  }
+
+  /** The statistics of a decision summed up for all the parsed texts */
+  private static class DecisionStats {
+    private final String grammar;
+    private final String rule;
+    private final int decision;
+    private long invocations;
+    private long time;
+    private long sllMaxLook;
+    private long llFallbacks;
+    private long llMaxLook;
+    private long ambiguities;
+    private long contextSensitivities;
+    private long errors;
+
+    DecisionStats(String grammar, String rule, int decision) {
+      this.grammar = grammar;
+      this.rule = rule;
+      this.decision = decision;
+    }
+
+    void add(DecisionInfo info) {
+      invocations += info.invocations;
+      time += info.timeInPrediction;
+      sllMaxLook = Math.max(sllMaxLook, info.SLL_MaxLook);
+      llFallbacks += info.LL_Fallback;
+      llMaxLook = Math.max(llMaxLook, info.LL_MaxLook);
+      ambiguities += info.ambiguities.size();
+      contextSensitivities += info.contextSensitivities.size();
+      errors += info.errors.size();
+    }
+  }
+}
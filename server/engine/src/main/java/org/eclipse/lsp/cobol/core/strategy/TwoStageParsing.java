@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.strategy;
+
+import lombok.experimental.UtilityClass;
+import org.antlr.v4.runtime.ANTLRErrorListener;
+import org.antlr.v4.runtime.ANTLRErrorStrategy;
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.atn.ParserATNSimulator;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.dfa.DFAState;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Runs a parser in two stages. The input is parsed with the faster SLL prediction and the bail out
+ * strategy first. The SLL prediction resolves the conflicts of the ambiguous grammar rules without
+ * the full context, so it stops at the first decision the LL prediction would resolve with the full
+ * context. Thus, a successful first stage returns the same tree as the LL prediction. Only if it
+ * fails, because of a syntax error or such a decision, the input is parsed again with the LL
+ * prediction and the error strategy and listeners the parser was configured with, so the errors are
+ * the same as of a single LL parsing. If the grammar profiling is enabled, the input is parsed once
+ * with the LL prediction, see {@link GrammarProfiler}.
+ */
+@UtilityClass
+public class TwoStageParsing {
+
+  /**
+   * Parse the input of the configured parser with the given rule
+   *
+   * @param parser the parser with the error strategy and listeners for the syntax errors
+   * @param rule the rule to start parsing with
+   * @param <P> the type of parser
+   * @param <T> the type of the resulting tree
+   * @return the parse tree
+   */
+  public <P extends Parser, T extends ParserRuleContext> T parse(P parser, Function<P, T> rule) {
+    if (GrammarProfiler.isEnabled()) {
+      return GrammarProfiler.parse(parser, rule);
+    }
+    ANTLRErrorStrategy errorStrategy = parser.getErrorHandler();
+    List<ANTLRErrorListener> errorListeners = new ArrayList<>(parser.getErrorListeners());
+    ParserATNSimulator interpreter = parser.getInterpreter();
+    parser.removeErrorListeners();
+    parser.setErrorHandler(new BailErrorStrategy());
+    parser.setInterpreter(new SllSimulator(parser, interpreter));
+    T tree;
+    try {
+      tree = rule.apply(parser);
+    } catch (ParseCancellationException e) {
+      tree = null;
+    } finally {
+      parser.setInterpreter(interpreter);
+      parser.setErrorHandler(errorStrategy);
+      parser.removeErrorListeners();
+      errorListeners.forEach(parser::addErrorListener);
+    }
+    if (tree == null) {
+      parser.reset();
+      tree = rule.apply(parser);
+    }
+    return tree;
+  }
+
+  /** SLL prediction that cancels the parsing on a decision that requires the full context */
+  private static class SllSimulator extends ParserATNSimulator {
+    SllSimulator(Parser parser, ParserATNSimulator interpreter) {
+      super(parser, parser.getATN(), interpreter.decisionToDFA, interpreter.getSharedContextCache());
+      setPredictionMode(PredictionMode.SLL);
+    }
+
+    @Override
+    protected DFAState getExistingTargetState(DFAState previousD, int t) {
+      return checkContext(super.getExistingTargetState(previousD, t));
+    }
+
+    @Override
+    protected DFAState computeTargetState(DFA dfa, DFAState previousD, int t) {
+      return checkContext(super.computeTargetState(dfa, previousD, t));
+    }
+
+    private static DFAState checkContext(DFAState state) {
+      if (state != null && state.requiresFullContext) {
+        throw new ParseCancellationException("The decision requires the full context");
+      }
+      return state;
+    }
+  }
+}
@@ -25,6 +25,7 @@ import org.eclipse.lsp.cobol.common.error.ErrorSeverity;
 import org.eclipse.lsp.cobol.common.error.ErrorSource;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
+import org.eclipse.lsp.cobol.common.message.MessageTemplate;
 import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
 import org.eclipse.lsp4j.Location;
@@ -53,17 +54,46 @@ public class ParserListener extends BaseErrorListener {
       String msg,
       RecognitionException e) {
 
-    Range range = new Range(
-        new Position(line - 1, charPositionInLine), new Position(line - 1,
-        charPositionInLine + getOffendingSymbolSize(offendingSymbol)));
-
     if ("token recognition error at: '\\n'".equals(msg)) {
       return;
     }
+    register(offendingSymbol, line, charPositionInLine, SyntaxError.syntaxError().suggestion(msg));
+  }
+
+  /**
+   * Register a syntax error with the message template that is localized only when the errors are
+   * published
+   *
+   * @param recognizer the parser that found the error
+   * @param offendingSymbol the offending token
+   * @param line the line of the error
+   * @param charPositionInLine the position of the error in the line
+   * @param messageTemplate the template of the error message
+   * @param e the recognition exception or null
+   */
+  public void syntaxError(
+      Recognizer<?, ?> recognizer,
+      Object offendingSymbol,
+      int line,
+      int charPositionInLine,
+      MessageTemplate messageTemplate,
+      RecognitionException e) {
+    register(
+        offendingSymbol,
+        line,
+        charPositionInLine,
+        SyntaxError.syntaxError().messageTemplate(messageTemplate));
+  }
+
+  private void register(
+      Object offendingSymbol, int line, int charPositionInLine, SyntaxError.SyntaxErrorBuilder builder) {
+    Range range = new Range(
+        new Position(line - 1, charPositionInLine), new Position(line - 1,
+        charPositionInLine + getOffendingSymbolSize(offendingSymbol)));
 
     Location location = extendedSource.mapLocation(range);
     SyntaxError error =
-        SyntaxError.syntaxError()
+        builder
             .errorSource(ErrorSource.PARSING)
             .location(
                 Locality.builder()
@@ -71,10 +101,9 @@ public class ParserListener extends BaseErrorListener {
                     .range(location.getRange())
                     .copybookId(copybooksRepository.getCopybookIdByUri(location.getUri()))
                     .build().toOriginalLocation())
-            .suggestion(msg)
             .severity(ErrorSeverity.ERROR)
             .build();
-    LOG.debug("Syntax error by ParserListener " + error.toString());
+    LOG.debug("Syntax error by ParserListener {}", error);
     errors.add(error);
   }
 
@@ -38,7 +38,7 @@ public class DefaultDataBusBroker implements DataBusBroker {
 
   @Inject
   DefaultDataBusBroker(CustomThreadPoolExecutor customExecutor, DeadEventSubscriber deadEventSubscriber) {
-    ExecutorService executor = customExecutor.getThreadPoolExecutor();
+    ExecutorService executor = customExecutor.getEventThreadPoolExecutor();
     eventBus = new AsyncEventBus(executor);
     eventBus.register(deadEventSubscriber);
   }
@@ -17,19 +17,40 @@ package org.eclipse.lsp.cobol.domain.databus.model;
 
 import lombok.Value;
 
+import java.util.Collections;
+import java.util.Set;
+
 /**
  * This class is a signal object to show that it is needed to run the syntax and semantic again for
- * all the registered documents.
+ * the registered documents. If the document URIs are specified, only these documents are analyzed,
+ * otherwise all of them.
  */
 @Value
 public class RunAnalysisEvent implements DataEvent {
   private boolean verbose;
+  private Set<String> documentUris;
 
   public RunAnalysisEvent() {
-    this.verbose = false;
+    this(false);
   }
 
   public RunAnalysisEvent(boolean verbose) {
     this.verbose = verbose;
+    this.documentUris = null;
+  }
+
+  public RunAnalysisEvent(boolean verbose, Set<String> documentUris) {
+    this.verbose = verbose;
+    this.documentUris = Collections.unmodifiableSet(documentUris);
+  }
+
+  /**
+   * Check if the document should be analyzed
+   *
+   * @param uri the URI of the document
+   * @return true if all the documents are requested or the document is among the requested ones
+   */
+  public boolean isRequested(String uri) {
+    return documentUris == null || documentUris.contains(uri);
   }
 }
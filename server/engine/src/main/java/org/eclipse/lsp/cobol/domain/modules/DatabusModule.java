@@ -29,5 +29,11 @@ public class DatabusModule extends AbstractModule {
     bindConstant().annotatedWith(Names.named("MAX-POOL-SIZE")).to(10);
     bindConstant().annotatedWith(Names.named("KEEP-ALIVE-TIME-IN-SECONDS")).to(60);
     bindConstant().annotatedWith(Names.named("CORE-POOL-SIZE-FOR-SCHEDULED-POOL")).to(5);
+    bindConstant().annotatedWith(Names.named("QUEUE-CAPACITY")).to(1000);
+    bindConstant().annotatedWith(Names.named("INTERACTIVE-POOL-SIZE")).to(2);
+    bindConstant().annotatedWith(Names.named("INTERACTIVE-QUEUE-CAPACITY")).to(100);
+    bindConstant().annotatedWith(Names.named("COPYBOOK-POOL-SIZE")).to(4);
+    bindConstant().annotatedWith(Names.named("COPYBOOK-QUEUE-CAPACITY")).to(1000);
+    bindConstant().annotatedWith(Names.named("ANALYSIS-QUIET-PERIOD-IN-MILLISECONDS")).to(300);
   }
 }
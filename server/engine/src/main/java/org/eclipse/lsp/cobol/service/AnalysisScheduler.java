@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules the document analysis tasks per URI. A new task waits for the quiet period on the
+ * scheduled pool and replaces a task that is still waiting for the same URI, so a burst of changes
+ * results in a single analysis. There is at most one pending and one running task per URI; a
+ * pending task that became due while the previous one is running starts right after it finishes.
+ * The queue of a URI is removed when it has no tasks; the removal and the updates of the queue are
+ * guarded by its monitor, so a task is never added to a removed queue.
+ */
+@Slf4j
+@Singleton
+public class AnalysisScheduler {
+  private final Map<String, DocumentQueue> queues = new ConcurrentHashMap<>();
+  private final CustomThreadPoolExecutor executors;
+  private final long quietPeriod;
+
+  @Inject
+  public AnalysisScheduler(
+      CustomThreadPoolExecutor executors,
+      @Named("ANALYSIS-QUIET-PERIOD-IN-MILLISECONDS") int quietPeriod) {
+    this.executors = executors;
+    this.quietPeriod = quietPeriod;
+  }
+
+  /**
+   * Schedule the task to run after the configured quiet period. If there is a pending task for the
+   * URI, it is replaced by the given one, and the quiet period starts again.
+   *
+   * @param uri the document URI
+   * @param task the analysis task
+   * @return a future that completes when the task, or a task that replaced it, finishes
+   */
+  public CompletableFuture<Void> schedule(String uri, Runnable task) {
+    return schedule(uri, task, quietPeriod);
+  }
+
+  /**
+   * Schedule the task to run as soon as the running task for the URI, if any, finishes. A pending
+   * task for the URI is replaced by the given one.
+   *
+   * @param uri the document URI
+   * @param task the analysis task
+   * @return a future that completes when the task, or a task that replaced it, finishes
+   */
+  public CompletableFuture<Void> submit(String uri, Runnable task) {
+    return schedule(uri, task, 0);
+  }
+
+  /**
+   * Drop the pending task for the URI. The running task, if any, is not affected.
+   *
+   * @param uri the document URI
+   */
+  public void cancel(String uri) {
+    DocumentQueue queue = queues.get(uri);
+    if (queue == null) {
+      return;
+    }
+    PendingTask dropped;
+    synchronized (queue) {
+      dropped = queue.pending;
+      queue.pending = null;
+      if (!queue.running) {
+        queues.remove(uri, queue);
+      }
+    }
+    Optional.ofNullable(dropped).ifPresent(pending -> pending.result.complete(null));
+  }
+
+  private CompletableFuture<Void> schedule(String uri, Runnable task, long delay) {
+    DocumentQueue queue;
+    PendingTask pending;
+    long generation;
+    while (true) {
+      queue = queues.computeIfAbsent(uri, k -> new DocumentQueue());
+      synchronized (queue) {
+        if (queues.get(uri) != queue) {
+          // the queue was removed after the lookup, take the new one
+          continue;
+        }
+        if (queue.pending == null) {
+          queue.pending = new PendingTask();
+        } else {
+          LOG.debug("Pending analysis for uri: " + uri + " is replaced by a newer one.");
+        }
+        pending = queue.pending;
+        pending.task = task;
+        pending.due = false;
+        generation = ++pending.generation;
+        break;
+      }
+    }
+    DocumentQueue scheduledQueue = queue;
+    PendingTask scheduledTask = pending;
+    long scheduledGeneration = generation;
+    executors
+        .getScheduledThreadPoolExecutor()
+        .schedule(
+            () -> onQuietPeriodElapsed(uri, scheduledQueue, scheduledTask, scheduledGeneration),
+            delay,
+            TimeUnit.MILLISECONDS);
+    return pending.result;
+  }
+
+  private void onQuietPeriodElapsed(String uri, DocumentQueue queue, PendingTask pending, long generation) {
+    PendingTask next;
+    synchronized (queue) {
+      if (queue.pending != pending || pending.generation != generation) {
+        return;
+      }
+      pending.due = true;
+      next = queue.startPendingIfIdle();
+    }
+    run(uri, queue, next);
+  }
+
+  private void run(String uri, DocumentQueue queue, PendingTask task) {
+    if (task == null) {
+      return;
+    }
+    try {
+      executors
+          .getThreadPoolExecutor()
+          .execute(
+              () -> {
+                try {
+                  task.task.run();
+                  task.result.complete(null);
+                } catch (Exception e) {
+                  task.result.completeExceptionally(e);
+                } finally {
+                  onFinished(uri, queue);
+                }
+              });
+    } catch (RejectedExecutionException e) {
+      LOG.warn("Analysis task rejected: " + e.getMessage());
+      task.result.completeExceptionally(e);
+      onFinished(uri, queue);
+    }
+  }
+
+  private void onFinished(String uri, DocumentQueue queue) {
+    PendingTask next;
+    synchronized (queue) {
+      queue.running = false;
+      next = queue.startPendingIfIdle();
+      if (next == null && queue.pending == null) {
+        queues.remove(uri, queue);
+      }
+    }
+    run(uri, queue, next);
+  }
+
+  @VisibleForTesting
+  boolean hasQueue(String uri) {
+    return queues.containsKey(uri);
+  }
+
+  /** The state of the analysis tasks of a single document. Guarded by its own monitor. */
+  private static final class DocumentQueue {
+    private PendingTask pending;
+    private boolean running;
+
+    private PendingTask startPendingIfIdle() {
+      if (running || pending == null || !pending.due) {
+        return null;
+      }
+      PendingTask next = pending;
+      pending = null;
+      running = true;
+      return next;
+    }
+  }
+
+  /** A task waiting for its quiet period to elapse or for the running task to finish. */
+  private static final class PendingTask {
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+    private Runnable task;
+    private boolean due;
+    private long generation;
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service;
+
+import lombok.Value;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the changes applied to a document since the version that the last analysis result belongs
+ * to, and maps the positions between that version and the current text. The mapping works on the
+ * line level: a position on a line touched by any of the changes cannot be mapped, because the
+ * analysis result has no reliable information about it.
+ *
+ * <p>Only a limited number of changes is kept. A change that is not kept, e.g. a full change or a
+ * change made while there is no analysis result, makes the positions unmappable until the analysis
+ * of that or a later version arrives.
+ *
+ * <p>The class is not thread-safe, the owning {@link CobolDocumentModel} synchronizes the access.
+ */
+class ChangeHistory {
+  static final int MAX_CHANGES = 1000;
+  private final List<Change> changes = new ArrayList<>();
+  private long version;
+  private long analyzedVersion;
+  private long unmappedVersion;
+
+  /**
+   * Register a change of the given lines. The lines must be already clamped to the text before the
+   * change.
+   *
+   * @param startLine the first replaced line
+   * @param oldEndLine the last replaced line before the change
+   * @param newEndLine the last line of the inserted text after the change
+   */
+  void addChange(int startLine, int oldEndLine, int newEndLine) {
+    if (changes.size() >= MAX_CHANGES) {
+      skipChange();
+    } else {
+      changes.add(new Change(++version, startLine, oldEndLine, newEndLine));
+    }
+  }
+
+  /** Register a change that replaces the whole text, so no position can be mapped anymore. */
+  void addFullChange() {
+    skipChange();
+  }
+
+  /**
+   * Register a change without keeping it. The earlier changes are dropped too, since no position
+   * can be mapped across this change anyway.
+   */
+  void skipChange() {
+    changes.clear();
+    unmappedVersion = ++version;
+  }
+
+  int size() {
+    return changes.size();
+  }
+
+  long getVersion() {
+    return version;
+  }
+
+  /**
+   * Mark the given version as the one the current analysis result belongs to and drop the changes
+   * that are already included in it.
+   *
+   * @param analyzed the analyzed version
+   */
+  void markAnalyzed(long analyzed) {
+    analyzedVersion = Math.max(analyzedVersion, analyzed);
+    changes.removeIf(change -> change.version <= analyzedVersion);
+  }
+
+  /**
+   * Map the position in the current text to the text of the analyzed version.
+   *
+   * @param position the position in the current text
+   * @return the position in the analyzed text or empty if a change touches the line
+   */
+  Optional<Position> toAnalyzed(Position position) {
+    if (analyzedVersion < unmappedVersion) {
+      return Optional.empty();
+    }
+    int line = position.getLine();
+    for (int i = changes.size() - 1; i >= 0; i--) {
+      Change change = changes.get(i);
+      if (line >= change.startLine && line <= change.newEndLine) {
+        return Optional.empty();
+      }
+      if (line > change.newEndLine) {
+        line -= change.newEndLine - change.oldEndLine;
+      }
+    }
+    return Optional.of(new Position(line, position.getCharacter()));
+  }
+
+  /**
+   * Map the position in the text of the analyzed version to the current text.
+   *
+   * @param position the position in the analyzed text
+   * @return the position in the current text or empty if a change touches the line
+   */
+  Optional<Position> toCurrent(Position position) {
+    if (analyzedVersion < unmappedVersion) {
+      return Optional.empty();
+    }
+    int line = position.getLine();
+    for (Change change : changes) {
+      if (line >= change.startLine && line <= change.oldEndLine) {
+        return Optional.empty();
+      }
+      if (line > change.oldEndLine) {
+        line += change.newEndLine - change.oldEndLine;
+      }
+    }
+    return Optional.of(new Position(line, position.getCharacter()));
+  }
+
+  /**
+   * Map the range in the text of the analyzed version to the current text.
+   *
+   * @param range the range in the analyzed text
+   * @return the range in the current text or empty if a change touches it
+   */
+  Optional<Range> toCurrent(Range range) {
+    if (changes.isEmpty() && analyzedVersion >= unmappedVersion) {
+      return Optional.of(range);
+    }
+    return toCurrent(range.getStart())
+        .flatMap(start -> toCurrent(range.getEnd()).map(end -> new Range(start, end)));
+  }
+
+  /** A single change expressed in lines */
+  @Value
+  private static class Change {
+    long version;
+    int startLine;
+    int oldEndLine;
+    int newEndLine;
+  }
+}
@@ -14,46 +14,186 @@
  */
 package org.eclipse.lsp.cobol.service;
 
-import org.eclipse.lsp.cobol.common.AnalysisResult;
+import com.google.common.annotations.VisibleForTesting;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * This class stores a COBOL program text to be processed. Provides a list of lines and text tokens
  * by position.
+ *
+ * <p>The text is backed by an array of lines that keep their original line terminators, so the
+ * incremental changes sent by the client are applied in place by replacing only the affected
+ * lines. The full text is assembled lazily and cached until the next change.
+ *
+ * <p>The model remembers the changes applied since the text the current analysis result belongs
+ * to, so the positions can be mapped between the analyzed and the current text, see {@link
+ * ChangeHistory}.
  */
 @Data
 @Slf4j
 public class CobolDocumentModel {
   private static final String DELIMITER = "[ .\\[\\]()<>,*\"']+";
-  private final List<Line> lines = new ArrayList<>();
-  private final String text;
+
+  @Getter(AccessLevel.NONE)
+  private final List<String> rawLines = new ArrayList<>();
+
   private final String uri;
-  private AnalysisResult analysisResult;
+
+  @Setter(AccessLevel.NONE)
+  private volatile AnalysisResult analysisResult;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private String text;
+
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private final ChangeHistory history = new ChangeHistory();
 
   public CobolDocumentModel(String uri, String text, AnalysisResult analysisResult) {
     this.uri = uri;
-    this.text = text;
     this.analysisResult = analysisResult;
-    parse(text);
+    reset(text);
   }
 
   public CobolDocumentModel(String uri, String text) {
-    this.text = text;
     this.uri = uri;
-    parse(text);
+    reset(text);
   }
 
-  Line getLine(int number) {
-    return lines.stream().filter(line -> line.getNumber() == number).findFirst().orElse(null);
+  /**
+   * Return the current text of the document. The text is assembled from the lines only once after
+   * each change.
+   *
+   * @return the document text
+   */
+  public synchronized String getText() {
+    if (text == null) {
+      int length = 0;
+      for (String line : rawLines) length += line.length();
+      StringBuilder builder = new StringBuilder(length);
+      rawLines.forEach(builder::append);
+      text = builder.toString();
+    }
+    return text;
+  }
+
+  /**
+   * Return the current text of the document together with its version. The version should be
+   * passed back with the analysis result of this text.
+   *
+   * @return the document text and version
+   */
+  public synchronized Snapshot getSnapshot() {
+    return new Snapshot(getText(), history.getVersion());
+  }
+
+  /**
+   * Return the version of the current text, i.e. the number of changes applied to the document.
+   *
+   * @return the document version
+   */
+  public synchronized long getVersion() {
+    return history.getVersion();
+  }
+
+  /**
+   * Set the analysis result of the current text.
+   *
+   * @param analysisResult the analysis result
+   */
+  public synchronized void setAnalysisResult(AnalysisResult analysisResult) {
+    setAnalysisResult(analysisResult, history.getVersion());
+  }
+
+  /**
+   * Set the analysis result of the given version of the text. The changes applied after that
+   * version are kept to map the positions.
+   *
+   * @param analysisResult the analysis result
+   * @param version the version of the text that was analyzed, see {@link #getSnapshot()}
+   */
+  public synchronized void setAnalysisResult(AnalysisResult analysisResult, long version) {
+    this.analysisResult = analysisResult;
+    history.markAnalyzed(version);
+  }
+
+  /**
+   * Map the position in the current text to the text the analysis result belongs to.
+   *
+   * @param position the position in the current text
+   * @return the position in the analyzed text or empty if the line was changed after the analysis
+   */
+  public synchronized Optional<Position> toAnalyzedPosition(Position position) {
+    return history.toAnalyzed(position);
+  }
+
+  /**
+   * Map the range in the text the analysis result belongs to to the current text.
+   *
+   * @param range the range in the analyzed text
+   * @return the range in the current text or empty if the lines were changed after the analysis
+   */
+  public synchronized Optional<Range> toCurrentRange(Range range) {
+    return history.toCurrent(range);
+  }
+
+  /**
+   * Return the lines of the document without line terminators.
+   *
+   * @return the list of document lines
+   */
+  public synchronized List<Line> getLines() {
+    List<Line> result = new ArrayList<>(rawLines.size());
+    for (int i = 0; i < rawLines.size(); i++) {
+      result.add(new Line(i, stripTerminator(rawLines.get(i))));
+    }
+    return result;
+  }
+
+  /**
+   * Apply the given content changes to the document in the order they are listed. A change without
+   * a range replaces the whole text, otherwise only the lines affected by the range are rebuilt.
+   *
+   * @param changes - the list of changes sent by the client
+   */
+  public synchronized void applyChanges(List<TextDocumentContentChangeEvent> changes) {
+    for (TextDocumentContentChangeEvent change : changes) {
+      if (change.getRange() == null) {
+        reset(change.getText());
+        history.addFullChange();
+      } else {
+        applyRangeChange(change.getRange(), change.getText());
+      }
+    }
+  }
+
+  @VisibleForTesting
+  synchronized int getHistorySize() {
+    return history.size();
+  }
+
+  synchronized Line getLine(int number) {
+    if (number < 0 || number >= rawLines.size()) return null;
+    return new Line(number, stripTerminator(rawLines.get(number)));
   }
 
   /**
@@ -78,18 +218,79 @@ public class CobolDocumentModel {
     return retrieveToken(position, route);
   }
 
-  private void parse(String text) {
-    try (BufferedReader reader = new BufferedReader(new StringReader(text))) {
-      String lineText;
-      int lineNumber = 0;
+  private void reset(String newText) {
+    rawLines.clear();
+    rawLines.addAll(splitLines(newText));
+    text = newText;
+  }
+
+  private void applyRangeChange(Range range, String newText) {
+    int startLine = Math.min(Math.max(range.getStart().getLine(), 0), rawLines.size());
+    int endLine = Math.min(Math.max(range.getEnd().getLine(), startLine), rawLines.size());
+    String startRaw = startLine < rawLines.size() ? rawLines.get(startLine) : "";
+    String endRaw = endLine < rawLines.size() ? rawLines.get(endLine) : "";
+    String prefix = startRaw.substring(0, clampCharacter(startRaw, range.getStart().getCharacter()));
+    String suffix = endRaw.substring(clampCharacter(endRaw, range.getEnd().getCharacter()));
+
+    String rebuilt = prefix + newText + suffix;
+    int firstLine = startLine;
+    if (firstLine > 0 && rebuilt.startsWith("\n") && rawLines.get(firstLine - 1).endsWith("\r")) {
+      // the bare CR of the previous line and the inserted LF make a single CRLF line break
+      firstLine--;
+      rebuilt = rawLines.get(firstLine) + rebuilt;
+    }
+
+    List<String> affected = rawLines.subList(firstLine, Math.min(endLine + 1, rawLines.size()));
+    affected.clear();
+    affected.addAll(splitLines(rebuilt));
+    text = null;
+    if (analysisResult == null) {
+      // there is nothing to map the positions to, e.g. in a copybook
+      history.skipChange();
+    } else {
+      int lineBreaks = countLineBreaks(rebuilt) - (endsWithLineBreak(suffix) ? 1 : 0);
+      history.addChange(firstLine, endLine, firstLine + lineBreaks);
+    }
+  }
+
+  private static int countLineBreaks(String text) {
+    int count = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '\n' || (c == '\r' && (i + 1 == text.length() || text.charAt(i + 1) != '\n'))) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static boolean endsWithLineBreak(String text) {
+    return text.endsWith("\n") || text.endsWith("\r");
+  }
+
+  private static int clampCharacter(String rawLine, int character) {
+    return Math.min(Math.max(character, 0), stripTerminator(rawLine).length());
+  }
 
-      while ((lineText = reader.readLine()) != null) {
-        lines.add(new Line(lineNumber, lineText));
-        lineNumber++;
+  private static List<String> splitLines(String text) {
+    List<String> result = new ArrayList<>();
+    int lineStart = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '\n' || (c == '\r' && (i + 1 == text.length() || text.charAt(i + 1) != '\n'))) {
+        result.add(text.substring(lineStart, i + 1));
+        lineStart = i + 1;
       }
-    } catch (IOException e) {
-      LOG.error(e.getMessage());
     }
+    if (lineStart < text.length()) result.add(text.substring(lineStart));
+    return result;
+  }
+
+  private static String stripTerminator(String rawLine) {
+    int end = rawLine.length();
+    if (end > 0 && rawLine.charAt(end - 1) == '\n') end--;
+    if (end > 0 && rawLine.charAt(end - 1) == '\r') end--;
+    return end == rawLine.length() ? rawLine : rawLine.substring(0, end);
   }
 
   private String retrieveToken(Position position, Line route) {
@@ -130,6 +331,13 @@ public class CobolDocumentModel {
         && DELIMITER.contains(String.valueOf(route.getText().charAt(position.getCharacter() - 1)));
   }
 
+  /** A value object to store the document text of a particular version */
+  @Value
+  public static class Snapshot {
+    String text;
+    long version;
+  }
+
   /** A value object to store program lines */
   @Value
   public static class Line {
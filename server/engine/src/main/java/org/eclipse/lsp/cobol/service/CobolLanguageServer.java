@@ -44,7 +44,7 @@ import static java.lang.Boolean.TRUE;
 import static java.util.Collections.emptyList;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.*;
-import static org.eclipse.lsp4j.TextDocumentSyncKind.Full;
+import static org.eclipse.lsp4j.TextDocumentSyncKind.Incremental;
 
 /**
  * This class sets up the initial state of the services and applies other initialization activities,
@@ -116,7 +116,7 @@ public class CobolLanguageServer implements LanguageServer {
   public CompletableFuture<InitializeResult> initialize(@NonNull InitializeParams params) {
     ServerCapabilities capabilities = new ServerCapabilities();
 
-    capabilities.setTextDocumentSync(Full);
+    capabilities.setTextDocumentSync(Incremental);
     capabilities.setCompletionProvider(new CompletionOptions(false, emptyList()));
     capabilities.setDefinitionProvider(TRUE);
     capabilities.setReferencesProvider(TRUE);
@@ -213,6 +213,9 @@ public class CobolLanguageServer implements LanguageServer {
 
     // cancels all the running task on COBOL LS custom executor service.
     customThreadPoolExecutor.getThreadPoolExecutor().shutdownNow();
+    customThreadPoolExecutor.getInteractiveThreadPoolExecutor().shutdownNow();
+    customThreadPoolExecutor.getCopybookThreadPoolExecutor().shutdownNow();
+    customThreadPoolExecutor.getEventThreadPoolExecutor().shutdownNow();
     customThreadPoolExecutor.getScheduledThreadPoolExecutor().shutdownNow();
     LOG.info("All processing abandoned as per shutdown call");
   }
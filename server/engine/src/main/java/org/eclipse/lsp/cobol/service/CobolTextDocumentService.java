@@ -79,9 +79,12 @@ import org.eclipse.lsp4j.HoverParams;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.LocationLink;
 import org.eclipse.lsp4j.MessageType;
+import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.ReferenceParams;
 import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.TextDocumentPositionParams;
 import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.services.TextDocumentService;
@@ -98,7 +101,9 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -132,6 +137,7 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
       new ConcurrentHashMap<>();
   private final Map<String, CompletableFuture<Node>> cfAstMap = new ConcurrentHashMap<>();
   private final Map<String, CompletableFuture<Void>> futureMap = new ConcurrentHashMap<>();
+  private final Map<String, Boolean> firstTimeAnalysisRequests = new ConcurrentHashMap<>();
   private final Communications communications;
   private final LanguageEngineFacade engine;
   private final Formations formations;
@@ -148,8 +154,10 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   private final CopybookService copybookService;
   private final CopybookReferenceRepo copybookReferenceRepo;
   private final Map<String, Map<String, List<Diagnostic>>> errorsByFileForEachProgram;
+  private final Map<String, Map<String, List<Diagnostic>>> syntaxErrorsByFileForEachProgram;
   private final SyncProvider syncProvider;
   private final WatcherService watcherService;
+  private final AnalysisScheduler analysisScheduler;
 
   @VisibleForTesting
   CountDownLatch getWaitConfig() {
@@ -180,7 +188,8 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
       CopybookService copybookService,
       CopybookReferenceRepo copybookReferenceRepo,
       SyncProvider syncProvider,
-      WatcherService watcherService) {
+      WatcherService watcherService,
+      AnalysisScheduler analysisScheduler) {
     this.communications = communications;
     this.engine = engine;
     this.formations = formations;
@@ -195,10 +204,12 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
     this.configurationService = configurationService;
     this.copybookIdentificationService = copybookIdentificationService;
     this.errorsByFileForEachProgram = new ConcurrentHashMap<>();
+    this.syntaxErrorsByFileForEachProgram = new ConcurrentHashMap<>();
     this.copybookService = copybookService;
     this.copybookReferenceRepo = copybookReferenceRepo;
     this.syncProvider = syncProvider;
     this.watcherService = watcherService;
+    this.analysisScheduler = analysisScheduler;
     dataBus.subscribe(this);
   }
 
@@ -222,10 +233,14 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   public CompletableFuture<Either<List<CompletionItem>, CompletionList>> completion(
       CompletionParams params) {
     String uri = params.getTextDocument().getUri();
-    return handleResponse(
-        () -> Either.forRight(completions.collectFor(docs.get(uri), params)),
-        uri,
-        createDescriptiveErrorMessage("completion lookup", uri));
+    Supplier<Either<List<CompletionItem>, CompletionList>> completionSupplier =
+        () -> Either.forRight(completions.collectFor(docs.get(uri), params));
+    String exceptionMessage = createDescriptiveErrorMessage("completion lookup", uri);
+    if (!isDocumentSynced(uri)) {
+      return handleResponse(completionSupplier, uri, exceptionMessage);
+    }
+    return supplyInteractive(completionSupplier)
+        .whenComplete(reportExceptionIfThrown(exceptionMessage));
   }
 
   @Override
@@ -233,16 +248,14 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>>
       definition(DefinitionParams params) {
     String uri = params.getTextDocument().getUri();
-    Supplier<Either<List<? extends Location>, List<? extends LocationLink>>> definitionSupplier =
-        () -> {
-          List<Location> definitions =
-              isDocumentSynced(uri)
-                  ? occurrences.findDefinitions(docs.get(uri), params)
-                  : Collections.emptyList();
-          return Either.forLeft(definitions);
-        };
-    return handleResponse(
-        definitionSupplier, uri, createDescriptiveErrorMessage("definitions resolving", uri));
+    return handleNavigationResponse(
+        uri,
+        params,
+        (document, position) ->
+            Either.forLeft(
+                toCurrentLocations(document, occurrences.findDefinitions(document, position))),
+        Either.forLeft(Collections.emptyList()),
+        createDescriptiveErrorMessage("definitions resolving", uri));
   }
 
   private boolean isDocumentSynced(String uri) {
@@ -253,13 +266,14 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   @SuppressWarnings("cast")
   public CompletableFuture<List<? extends Location>> references(ReferenceParams params) {
     String uri = params.getTextDocument().getUri();
-    Supplier<List<? extends Location>> referenceSupplier =
-        () ->
-            isDocumentSynced(uri)
-                ? occurrences.findReferences(docs.get(uri), params, params.getContext())
-                : Collections.emptyList();
-    return handleResponse(
-        referenceSupplier, uri, createDescriptiveErrorMessage("references resolving", uri));
+    return handleNavigationResponse(
+        uri,
+        params,
+        (document, position) ->
+            toCurrentLocations(
+                document, occurrences.findReferences(document, position, params.getContext())),
+        Collections.emptyList(),
+        createDescriptiveErrorMessage("references resolving", uri));
   }
 
   @Override
@@ -267,14 +281,82 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   public CompletableFuture<List<? extends DocumentHighlight>> documentHighlight(
       DocumentHighlightParams params) {
     String uri = params.getTextDocument().getUri();
-    Supplier<List<? extends DocumentHighlight>> listSupplier =
-        () ->
-            isDocumentSynced(uri)
-                ? occurrences.findHighlights(
-                    docs.getOrDefault(uri, new CobolDocumentModel("", "")), params)
-                : Collections.emptyList();
-    return handleResponse(
-        listSupplier, uri, createDescriptiveErrorMessage("document highlighting", uri));
+    return handleNavigationResponse(
+        uri,
+        params,
+        (document, position) ->
+            toCurrentHighlights(document, occurrences.findHighlights(document, position)),
+        Collections.emptyList(),
+        createDescriptiveErrorMessage("document highlighting", uri));
+  }
+
+  /**
+   * Answer the request from the last completed analysis right away if the requested position can be
+   * mapped to the analyzed text, i.e. its line was not changed since then. Otherwise, wait for the
+   * running analysis as {@link #handleResponse(Supplier, String, String)} does.
+   */
+  private <U> CompletableFuture<U> handleNavigationResponse(
+      String uri,
+      TextDocumentPositionParams params,
+      BiFunction<CobolDocumentModel, TextDocumentPositionParams, U> request,
+      U emptyResult,
+      String exceptionMessage) {
+    Supplier<U> supplier = () -> answerFromLastAnalysis(uri, params, request, emptyResult);
+    CobolDocumentModel document = docs.get(uri);
+    if (document == null
+        || document.getAnalysisResult() == null
+        || !toAnalyzedPosition(document, params).isPresent()) {
+      return handleResponse(supplier, uri, exceptionMessage);
+    }
+    return supplyInteractive(supplier)
+        .whenComplete(reportExceptionIfThrown(exceptionMessage));
+  }
+
+  private <U> U answerFromLastAnalysis(
+      String uri,
+      TextDocumentPositionParams params,
+      BiFunction<CobolDocumentModel, TextDocumentPositionParams, U> request,
+      U emptyResult) {
+    if (!isDocumentSynced(uri)) {
+      return emptyResult;
+    }
+    CobolDocumentModel document = docs.get(uri);
+    TextDocumentPositionParams analyzedParams =
+        toAnalyzedPosition(document, params)
+            .filter(position -> !position.equals(params.getPosition()))
+            .map(position -> new TextDocumentPositionParams(params.getTextDocument(), position))
+            .orElse(params);
+    return request.apply(document, analyzedParams);
+  }
+
+  private Optional<Position> toAnalyzedPosition(
+      CobolDocumentModel document, TextDocumentPositionParams params) {
+    return ofNullable(params.getPosition()).flatMap(document::toAnalyzedPosition);
+  }
+
+  private List<Location> toCurrentLocations(CobolDocumentModel document, List<Location> locations) {
+    List<Location> result = new ArrayList<>(locations.size());
+    for (Location location : locations) {
+      if (!Objects.equals(document.getUri(), location.getUri())) {
+        result.add(location);
+      } else {
+        document
+            .toCurrentRange(location.getRange())
+            .ifPresent(range -> result.add(new Location(location.getUri(), range)));
+      }
+    }
+    return result;
+  }
+
+  private List<DocumentHighlight> toCurrentHighlights(
+      CobolDocumentModel document, List<DocumentHighlight> highlights) {
+    List<DocumentHighlight> result = new ArrayList<>(highlights.size());
+    for (DocumentHighlight highlight : highlights) {
+      document
+          .toCurrentRange(highlight.getRange())
+          .ifPresent(range -> result.add(new DocumentHighlight(range, highlight.getKind())));
+    }
+    return result;
   }
 
   private <U> CompletableFuture<U> handleResponse(
@@ -291,8 +373,7 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
             })
         .thenCompose(
             res ->
-                ShutdownCheckUtil.supplyAsyncAndCheckShutdown(
-                    disposableLSPStateService, supplier, executors.getThreadPoolExecutor()))
+                supplyInteractive(supplier))
         .whenComplete(reportExceptionIfThrown(exceptionMessage));
   }
 
@@ -301,19 +382,13 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   public CompletableFuture<List<? extends TextEdit>> formatting(DocumentFormattingParams params) {
     String uri = params.getTextDocument().getUri();
     CobolDocumentModel model = docs.get(uri);
-    return ShutdownCheckUtil.supplyAsyncAndCheckShutdown(
-            disposableLSPStateService,
-            (Supplier<List<? extends TextEdit>>) () -> formations.format(model),
-            executors.getThreadPoolExecutor())
+    return supplyInteractive((Supplier<List<? extends TextEdit>>) () -> formations.format(model))
         .whenComplete(reportExceptionIfThrown(createDescriptiveErrorMessage("formatting", uri)));
   }
 
   @Override
   public CompletableFuture<List<Either<Command, CodeAction>>> codeAction(CodeActionParams params) {
-    return ShutdownCheckUtil.supplyAsyncAndCheckShutdown(
-            disposableLSPStateService,
-            () -> actions.collect(params),
-            executors.getThreadPoolExecutor())
+    return supplyInteractive(() -> actions.collect(params))
         .whenComplete(
             reportExceptionIfThrown(
                 createDescriptiveErrorMessage(
@@ -332,9 +407,7 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
       LOG.warn(String.join(" ", GITFS_URI_NOT_SUPPORTED, uri));
       return;
     }
-    if (!isCopybook(uri, text, copybookExtensions)) {
-      registerDocument(uri, new CobolDocumentModel(uri, text));
-    }
+    registerDocument(uri, new CobolDocumentModel(uri, text));
     analyzeDocumentFirstTime(uri, text, false);
   }
 
@@ -349,9 +422,7 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
       return;
     }
     String uri = params.getTextDocument().getUri();
-    String text = params.getContentChanges().get(0).getText();
-    docs.computeIfPresent(uri, (k, v) -> new CobolDocumentModel(uri, text, v.getAnalysisResult()));
-    docs.computeIfAbsent(uri, k -> new CobolDocumentModel(uri, text));
+    String text = applyChanges(uri, params.getContentChanges());
     outlineMap.put(uri, new CompletableFuture<>());
     cfAstMap.put(uri, new CompletableFuture<>());
     TextDocumentItem docIdentifier = new TextDocumentItem();
@@ -360,17 +431,24 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
     if (isCopybook(docIdentifier.getUri(), docIdentifier.getText(), copybookExtensions)) {
       clearDiagnostics(uri);
       communications.publishDiagnostics(collectAllDiagnostics());
-      reanalyseOpenedPrograms(params, uri);
+      reanalyseOpenedPrograms(uri, text);
       return;
     }
     interruptAnalysis(uri);
     communications.notifyProgressBegin(uri);
-    registerFutureTask(
-        uri,
-        () -> {
-          doAnalysis(uri, text, false, false);
-          return null;
-        });
+    registerFutureTask(uri, () -> runScheduledAnalysis(uri, text), true);
+  }
+
+  private String applyChanges(String uri, List<TextDocumentContentChangeEvent> changes) {
+    return docs.compute(
+            uri,
+            (k, v) -> {
+              CobolDocumentModel model =
+                  ofNullable(v).orElseGet(() -> new CobolDocumentModel(uri, ""));
+              model.applyChanges(changes);
+              return model;
+            })
+        .getText();
   }
 
   private void clearDiagnostics(String uri) {
@@ -382,7 +460,7 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
                                             diagnosticMap.computeIfPresent(k, (k1, v1) -> Collections.emptyList())));
   }
 
-  private void reanalyseOpenedPrograms(DidChangeTextDocumentParams params, String uri)
+  private void reanalyseOpenedPrograms(String uri, String text)
       throws UnsupportedEncodingException {
     copybookReferenceRepo
         .getCopybookUsageReference(decode(uri, StandardCharsets.UTF_8.name()))
@@ -393,7 +471,7 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
                       val.getCopybookId(),
                       val.getCopybookName(),
                       uri,
-                      params.getContentChanges().get(0).getText());
+                      text);
               this.copybookService.store(copybookModel, true);
             });
     dataBus.postData(new RunAnalysisEvent(false));
@@ -407,9 +485,13 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
     String docText = ofNullable(docs.remove(uri)).map(CobolDocumentModel::getText).orElse("");
     LOG.info(format("Document closing invoked on URI %s", uri));
     interruptAnalysis(uri);
+    analysisScheduler.cancel(uri);
+    engine.closeDocument(uri);
+    firstTimeAnalysisRequests.remove(uri);
     if (isCopybook(uri, docText, copybookExtensions)) {
       return;
     }
+    syntaxErrorsByFileForEachProgram.remove(uri);
     clearDiagnostics(uri);
     communications.publishDiagnostics(collectAllDiagnostics());
     clearAnalysedFutureObject(uri);
@@ -450,7 +532,12 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   @Subscribe
   public void onRunAnalysisEventCallback(@NonNull RunAnalysisEvent event) {
     if (disposableLSPStateService.isServerShutdown()) return;
-    docs.forEach((key, value) -> analyzeDocumentFirstTime(key, value.getText(), event.isVerbose()));
+    docs.forEach(
+        (key, value) -> {
+          if (event.isRequested(key)) {
+            analyzeDocumentFirstTime(key, value.getText(), event.isVerbose());
+          }
+        });
   }
 
   @Override
@@ -484,18 +571,30 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   }
 
   private void analyzeDocumentFirstTime(String uri, String text, boolean userRequest) {
-    registerFutureTask(
-        uri,
-        () -> {
-          doAnalysis(uri, text, userRequest, true);
-          return null;
-        });
+    firstTimeAnalysisRequests.merge(uri, userRequest, Boolean::logicalOr);
     if (!isCopybook(uri, text, copybookExtensions)) {
       communications.notifyProgressBegin(uri);
     }
+    registerFutureTask(uri, () -> runScheduledAnalysis(uri, text), false);
   }
 
-  private void doAnalysis(String uri, String text, boolean userRequest, boolean firstTime) {
+  /**
+   * Run the analysis that was coalesced by the scheduler. The text is taken from the document
+   * model at the time of the run, so it is always the latest one, and a pending first time
+   * analysis request is not lost if a change replaced it in the scheduler.
+   */
+  private void runScheduledAnalysis(String uri, String text) {
+    Boolean userRequest = firstTimeAnalysisRequests.remove(uri);
+    CobolDocumentModel.Snapshot snapshot =
+        ofNullable(docs.get(uri))
+            .map(CobolDocumentModel::getSnapshot)
+            .orElseGet(() -> new CobolDocumentModel.Snapshot(text, 0));
+    doAnalysis(uri, snapshot, Boolean.TRUE.equals(userRequest), userRequest != null);
+  }
+
+  private void doAnalysis(
+      String uri, CobolDocumentModel.Snapshot snapshot, boolean userRequest, boolean firstTime) {
+    String text = snapshot.getText();
     synchronized (syncProvider.getSync(uri)) {
       try {
         CopybookProcessingMode copybookProcessingMode =
@@ -509,14 +608,26 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
           return;
         }
         AnalysisConfig config = configurationService.getConfig(uri, processingMode);
-        AnalysisResult result = engine.analyze(uri, text, config);
+        AtomicReference<Map<String, List<Diagnostic>>> syntaxErrors =
+            new AtomicReference<>(Collections.emptyMap());
+        AnalysisResult result =
+            engine.analyzeInStages(
+                uri,
+                text,
+                config,
+                diagnostics -> {
+                  syntaxErrors.set(diagnostics);
+                  publishSyntaxDiagnostics(uri, snapshot, diagnostics);
+                });
         ThreadInterruptionUtil.checkThreadInterrupted();
-        ofNullable(docs.get(uri)).ifPresent(doc -> doc.setAnalysisResult(result));
+        ofNullable(docs.get(uri))
+            .ifPresent(doc -> doc.setAnalysisResult(result, snapshot.getVersion()));
         notifyAnalysisFinished(uri, extractCopybookUris(result), processingMode);
         if (!docs.containsKey(uri)) {
           return;
         }
         errorsByFileForEachProgram.put(uri, result.getDiagnostics());
+        syntaxErrorsByFileForEachProgram.put(uri, syntaxErrors.get());
         communications.publishDiagnostics(collectAllDiagnostics());
         if (firstTime) {
           outlineMap
@@ -547,14 +658,62 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
     }
   }
 
-  private CompletableFuture<Void> registerFutureTask(String uri, Supplier<Void> task) {
+  /**
+   * Publish the preliminary diagnostics that are known before the semantic analysis finishes. They
+   * replace the syntax diagnostics of the previous analysis, while its semantic diagnostics stay
+   * published until the final result refines them, so they do not disappear for the time of the
+   * analysis. The diagnostics are not published if the document was changed or closed since the
+   * analyzed snapshot was taken, since a newer analysis is going to replace them anyway.
+   */
+  private void publishSyntaxDiagnostics(
+      String uri, CobolDocumentModel.Snapshot snapshot, Map<String, List<Diagnostic>> diagnostics) {
+    boolean actual =
+        ofNullable(docs.get(uri))
+            .map(doc -> doc.getVersion() == snapshot.getVersion())
+            .orElse(false);
+    if (!actual) {
+      return;
+    }
+    Map<String, List<Diagnostic>> previousSyntaxErrors =
+        ofNullable(syntaxErrorsByFileForEachProgram.put(uri, diagnostics)).orElse(Collections.emptyMap());
+    Map<String, List<Diagnostic>> merged = new HashMap<>();
+    ofNullable(errorsByFileForEachProgram.get(uri))
+        .ifPresent(previous -> previous.forEach((file, errors) -> {
+          List<Diagnostic> semanticErrors = new ArrayList<>(errors);
+          previousSyntaxErrors.getOrDefault(file, Collections.emptyList()).forEach(semanticErrors::remove);
+          merged.put(file, semanticErrors);
+        }));
+    diagnostics.forEach((file, errors) ->
+        merged.merge(file, errors, (o, n) -> Stream.concat(o.stream(), n.stream()).collect(toList())));
+    errorsByFileForEachProgram.put(uri, merged);
+    communications.publishDiagnostics(collectAllDiagnostics());
+  }
+
+  /**
+   * Register the analysis future of the document and schedule the task. The scheduler completes its
+   * future also when the task is rejected or dropped, and it is passed to the registered future, so
+   * the waiting requests and the progress of the document don't hang if the task never runs.
+   */
+  private CompletableFuture<Void> registerFutureTask(String uri, Runnable task, boolean debounce) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
     synchronized (futureMap) {
       Optional.ofNullable(futureMap.get(uri)).ifPresent(f -> f.cancel(true));
-      CompletableFuture<Void> future = new CompletableFuture<>();
       futureMap.put(uri, future);
-      future = CompletableFuture.supplyAsync(task, executors.getThreadPoolExecutor());
-      return future;
     }
+    CompletableFuture<Void> scheduled =
+        debounce ? analysisScheduler.schedule(uri, task) : analysisScheduler.submit(uri, task);
+    scheduled.whenComplete(
+        (result, error) -> {
+          if (error == null) {
+            future.complete(null);
+            return;
+          }
+          future.completeExceptionally(error);
+          if (futureMap.get(uri) == future) {
+            communications.notifyProgressEnd(uri);
+          }
+        });
+    return future;
   }
 
   private void notifyAnalysisFinished(
@@ -597,9 +756,12 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   @Override
   public CompletableFuture<Hover> hover(HoverParams params) {
     String uri = params.getTextDocument().getUri();
-    return CompletableFuture.supplyAsync(
-            () -> hoverProvider.getHover(docs.get(uri), params), executors.getThreadPoolExecutor())
-        .whenComplete(reportExceptionIfThrown(createDescriptiveErrorMessage("getting hover", uri)));
+    return handleNavigationResponse(
+        uri,
+        params,
+        hoverProvider::getHover,
+        null,
+        createDescriptiveErrorMessage("getting hover", uri));
   }
 
   @Override
@@ -622,7 +784,28 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   }
 
   private BiConsumer<Object, Throwable> reportExceptionIfThrown(String message) {
-    return (res, ex) -> ofNullable(ex).ifPresent(it -> LOG.error(message, it));
+    return (res, ex) -> ofNullable(ex).filter(it -> !isCancellation(it)).ifPresent(it -> LOG.error(message, it));
+  }
+
+  private static boolean isCancellation(Throwable error) {
+    return error instanceof CancellationException
+        || (error instanceof CompletionException && error.getCause() instanceof CancellationException);
+  }
+
+  /**
+   * Run the request on the interactive lane. Its queue is bounded, so when it is full, the request
+   * is cancelled and the client gets the cancellation response instead of an internal error.
+   */
+  private <U> CompletableFuture<U> supplyInteractive(Supplier<U> supplier) {
+    try {
+      return ShutdownCheckUtil.supplyAsyncAndCheckShutdown(
+          disposableLSPStateService, supplier, executors.getInteractiveThreadPoolExecutor());
+    } catch (RejectedExecutionException e) {
+      LOG.debug("Interactive request rejected: {}", e.getMessage());
+      CompletableFuture<U> cancelled = new CompletableFuture<>();
+      cancelled.cancel(false);
+      return cancelled;
+    }
   }
 
   private List<FoldingRange> getFoldingRangeFromDocumentSymbol(
@@ -35,15 +35,18 @@ import org.eclipse.lsp4j.CodeActionParams;
 import org.eclipse.lsp4j.DidChangeConfigurationParams;
 import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
 import org.eclipse.lsp4j.ExecuteCommandParams;
+import org.eclipse.lsp4j.FileEvent;
 import org.eclipse.lsp4j.services.WorkspaceService;
 
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 
 import static java.util.Optional.ofNullable;
 import static java.util.concurrent.CompletableFuture.runAsync;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.LOCALE;
 import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.LOGGING_LEVEL;
 
@@ -153,7 +156,9 @@ public class CobolWorkspaceServiceImpl implements WorkspaceService {
   }
 
   /**
-   * This method triggered when the user modifies the settings in the settings.json
+   * This method triggered when the user modifies the settings in the settings.json or the files in
+   * the watched copybook folders. Only the cached copybooks affected by the changed files are
+   * invalidated, and only the documents that use them are analyzed again.
    *
    * @param params the object that wrap the content changed by the user in the settings.json and
    *     sent from the client to the server.
@@ -162,7 +167,17 @@ public class CobolWorkspaceServiceImpl implements WorkspaceService {
   public void didChangeWatchedFiles(@NonNull DidChangeWatchedFilesParams params) {
     if (disposableLSPStateService.isServerShutdown()) return;
     copybookNameService.collectLocalCopybookNames();
-    rerunAnalysis(false);
+    Set<String> dependentDocuments =
+        params.getChanges().stream()
+            .map(FileEvent::getUri)
+            .map(copybookService::invalidateCache)
+            .flatMap(Set::stream)
+            .collect(toSet());
+    subroutineService.invalidateCache();
+    LOG.info("Cache invalidated for changed files, documents to analyze: {}", dependentDocuments);
+    if (!dependentDocuments.isEmpty()) {
+      dataBus.postData(new RunAnalysisEvent(false, dependentDocuments));
+    }
   }
 
   private void rerunAnalysis(boolean verbose) {
@@ -16,23 +16,34 @@ package org.eclipse.lsp.cobol.service.copybooks;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
+import lombok.Value;
 import org.eclipse.lsp.cobol.common.copybook.CopybookId;
 import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
 
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
- * Implements copybook cache functionality
+ * Implements copybook cache functionality. The cache has two levels: the copybook models are stored
+ * per program, since the same copybook name may resolve to different files for different programs,
+ * while the cleaned text of the copybook is stored once per resolved URI and content, and shared by
+ * all the programs that use the same copybook file.
  */
 @Singleton
 public class CopybookCache {
 
   private final Cache<CopybookId, CopybookModel> cache;
+  private final Cache<ContentKey, String> cleanTexts;
 
   @Inject
   public CopybookCache(
@@ -44,6 +55,11 @@ public class CopybookCache {
             .expireAfterWrite(duration, TimeUnit.valueOf(timeUnitName))
             .maximumSize(cacheSize)
             .build();
+    cleanTexts =
+        CacheBuilder.newBuilder()
+            .expireAfterAccess(duration, TimeUnit.valueOf(timeUnitName))
+            .maximumSize(cacheSize)
+            .build();
   }
 
   /**
@@ -51,6 +67,24 @@ public class CopybookCache {
    */
   public void invalidateAll() {
     cache.invalidateAll();
+    cleanTexts.invalidateAll();
+  }
+
+  /**
+   * Invalidates the copybooks that match the condition
+   * @param condition to check the cached copybook model
+   */
+  public void invalidate(Predicate<CopybookModel> condition) {
+    cache.asMap().values().removeIf(condition);
+  }
+
+  /**
+   * Checks if the copybook model is in cache
+   * @param copybookId copybook id
+   * @return true if the copybook is cached
+   */
+  public boolean contains(CopybookId copybookId) {
+    return cache.getIfPresent(copybookId) != null;
   }
 
   /**
@@ -72,4 +106,28 @@ public class CopybookCache {
   public void store(CopybookModel copybookModel) {
     cache.put(copybookModel.getCopybookId(), copybookModel);
   }
+
+  /**
+   * Gets the cleaned text of the copybook content. The text is cleaned only once for the same
+   * resolved URI and content, and the same instance is returned to all the programs that use it.
+   * @param uri resolved copybook uri
+   * @param content copybook content as it was read
+   * @param cleaner function to clean the content if it is not cached yet
+   * @return the cleaned text
+   */
+  public String getCleanText(String uri, String content, UnaryOperator<String> cleaner) {
+    ContentKey key = new ContentKey(uri, Hashing.sha256().hashString(content, StandardCharsets.UTF_8));
+    try {
+      return cleanTexts.get(key, () -> cleaner.apply(content));
+    } catch (ExecutionException e) {
+      throw new UncheckedExecutionException(e.getCause());
+    }
+  }
+
+  /** The key of the cleaned text: the resolved copybook uri and the hash of its content */
+  @Value
+  private static class ContentKey {
+    String uri;
+    HashCode contentHash;
+  }
 }
@@ -30,6 +30,24 @@ public interface CopybookReferenceRepo {
    */
   Set<CopybookModel> getCopybookUsageReference(String copybookUri);
 
+  /**
+   * Gives the URIs of all the documents that use the copybook file, directly or through other
+   * copybooks. If the URI points to a folder, all the copybooks inside it are taken into account.
+   *
+   * @param copybookUri is a URI of a copybook file or folder
+   * @return a set of the URIs of the dependent documents
+   */
+  Set<String> getDependentDocuments(String copybookUri);
+
+  /**
+   * Gives the URIs of all the documents that refer a copybook by the given name, directly or through
+   * other copybooks, regardless of the file the name was resolved to or whether it was resolved.
+   *
+   * @param copybookName is a name of a copybook
+   * @return a set of the URIs of the dependent documents
+   */
+  Set<String> getDependentDocumentsByName(String copybookName);
+
   /** Clears all copybook references. */
   void clearReferences();
 
@@ -19,19 +19,25 @@ import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
 import org.eclipse.lsp.cobol.common.copybook.CopybookName;
 
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Provides API to search for COBOL programs that refers a copybooks file.
  *
- * <p>Implementation of @{@link CopybookReferenceRepo}.
+ * <p>Implementation of @{@link CopybookReferenceRepo}. The references are indexed both by the
+ * resolved copybook URI and by the copybook name, so the documents affected by a change of a
+ * copybook file can be found without analyzing the whole workspace.
  */
 @Singleton
 public class CopybookReferenceRepoImpl implements CopybookReferenceRepo {
 
   private final Map<String, Set<CopybookModel>> copybookRef;
+  private final Map<String, Set<String>> copybookUrisByName;
 
   public CopybookReferenceRepoImpl() {
     this.copybookRef = new HashMap<>();
+    this.copybookUrisByName = new HashMap<>();
   }
 
   /**
@@ -41,14 +47,34 @@ public class CopybookReferenceRepoImpl implements CopybookReferenceRepo {
    * @return a set of all reference of passed copybook URI {@link CopybookModel}
    */
   @Override
-  public Set<CopybookModel> getCopybookUsageReference(String copybookUri) {
-    return copybookRef.getOrDefault(copybookUri, Collections.emptySet());
+  public synchronized Set<CopybookModel> getCopybookUsageReference(String copybookUri) {
+    return new HashSet<>(copybookRef.getOrDefault(copybookUri, Collections.emptySet()));
+  }
+
+  @Override
+  public synchronized Set<String> getDependentDocuments(String copybookUri) {
+    String folderPrefix = copybookUri + "/";
+    return collectDependents(
+        copybookRef.entrySet().stream()
+            .filter(it -> it.getKey() != null)
+            .filter(it -> it.getKey().equals(copybookUri) || it.getKey().startsWith(folderPrefix))
+            .map(Map.Entry::getValue));
+  }
+
+  @Override
+  public synchronized Set<String> getDependentDocumentsByName(String copybookName) {
+    return collectDependents(
+        copybookUrisByName.getOrDefault(toKey(copybookName), Collections.emptySet()).stream()
+            .map(uri -> copybookRef.getOrDefault(uri, Collections.emptySet()).stream()
+                .filter(it -> toKey(it.getCopybookName().getDisplayName()).equals(toKey(copybookName)))
+                .collect(Collectors.toSet())));
   }
 
   /** Clears all copybook references. */
   @Override
-  public void clearReferences() {
+  public synchronized void clearReferences() {
     this.copybookRef.clear();
+    this.copybookUrisByName.clear();
   }
 
   /**
@@ -59,7 +85,7 @@ public class CopybookReferenceRepoImpl implements CopybookReferenceRepo {
    * @param copybookModel @copybookModel for the copybook.
    */
   @Override
-  public void storeCopybookUsageReference(
+  public synchronized void storeCopybookUsageReference(
       CopybookName copybookName, String programUri, CopybookModel copybookModel) {
     Set<CopybookModel> copybookUsageRef =
         copybookRef.computeIfAbsent(copybookModel.getUri(), k -> new HashSet<>());
@@ -67,5 +93,29 @@ public class CopybookReferenceRepoImpl implements CopybookReferenceRepo {
         new CopybookModel(copybookName.toCopybookId(programUri), copybookName,  programUri, copybookModel.getContent());
     copybookUsageRef.add(copybookResolveContext);
     copybookRef.put(copybookModel.getUri(), copybookUsageRef);
+    copybookUrisByName
+        .computeIfAbsent(toKey(copybookName.getDisplayName()), k -> new HashSet<>())
+        .add(copybookModel.getUri());
+  }
+
+  /**
+   * Collect the documents that contain the given references. If a document is a copybook itself, the
+   * documents that use it are collected as well.
+   */
+  private Set<String> collectDependents(Stream<Set<CopybookModel>> references) {
+    Set<String> dependents = new HashSet<>();
+    Deque<String> documents =
+        references.flatMap(Set::stream).map(CopybookModel::getUri).collect(Collectors.toCollection(ArrayDeque::new));
+    while (!documents.isEmpty()) {
+      String document = documents.pop();
+      if (dependents.add(document)) {
+        copybookRef.getOrDefault(document, Collections.emptySet()).forEach(it -> documents.push(it.getUri()));
+      }
+    }
+    return dependents;
+  }
+
+  private static String toKey(String copybookName) {
+    return copybookName.toUpperCase(Locale.ROOT);
   }
 }
@@ -23,7 +23,9 @@ import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.common.copybook.*;
 import org.eclipse.lsp.cobol.common.utils.ThreadInterruptionUtil;
@@ -34,17 +36,32 @@ import org.eclipse.lsp.cobol.domain.databus.api.DataBusBroker;
 import org.eclipse.lsp.cobol.domain.databus.model.AnalysisFinishedEvent;
 import org.eclipse.lsp.cobol.lsp.jrpc.CobolLanguageClient;
 import org.eclipse.lsp.cobol.common.file.FileSystemService;
+import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static java.util.stream.Collectors.toList;
 
 /**
  * This service processes copybook requests and returns content by its name. The service also caches
  * copybook to reduce filesystem load.
+ *
+ * <p>The copybooks of a program may be prefetched: the COPY statements are found in the program text
+ * with a simple scan, and the copybooks are resolved and read on the copybook executor in parallel
+ * while the program is preprocessed. The prefetching never registers copybooks for downloading, so a
+ * false match of the scan costs only a useless client request. The analysis doesn't wait for a
+ * prefetching that has not started yet, e.g. because the copybook executor is busy with other
+ * programs, it resolves the copybook itself instead.
  */
 @Slf4j
 @Singleton
@@ -55,12 +72,18 @@ public class CopybookServiceImpl implements CopybookService {
   private final FileSystemService files;
   public final TextPreprocessor preprocessor;
   private static final String COBOL = "COBOL";
+  // the scan over-matches, e.g. COPY in comments or literals, which is harmless for a prefetch hint
+  private static final Pattern COPY_STATEMENT =
+      Pattern.compile("(?<![\\w-])(?:COPY|INCLUDE)\\s+([\"']?)([\\w@#$-]+)\\1(?![\\w-])", Pattern.CASE_INSENSITIVE);
 
   private final Map<String, Set<CopybookName>> copybooksForDownloading =
       new ConcurrentHashMap<>(8, 0.9f, 1);
 
   private final CopybookCache copybookCache;
   private final CopybookReferenceRepo copybookReferenceRepo;
+  private final ExecutorService prefetchExecutor;
+  private static final long PREFETCH_WAIT_SECONDS = 10;
+  private final Map<String, Map<String, PrefetchedCopybook>> prefetchedCopybooks = new ConcurrentHashMap<>();
 
   @Inject
   public CopybookServiceImpl(
@@ -69,12 +92,14 @@ public class CopybookServiceImpl implements CopybookService {
       FileSystemService files,
       TextPreprocessor preprocessor,
       CopybookCache copybookCache,
-      CopybookReferenceRepo copybookReferenceRepo) {
+      CopybookReferenceRepo copybookReferenceRepo,
+      CustomThreadPoolExecutor executors) {
     this.files = files;
     this.clientProvider = clientProvider;
     this.preprocessor = preprocessor;
     this.copybookCache = copybookCache;
     this.copybookReferenceRepo = copybookReferenceRepo;
+    this.prefetchExecutor = executors.getCopybookThreadPoolExecutor();
     dataBus.subscribe(this);
   }
 
@@ -85,9 +110,89 @@ public class CopybookServiceImpl implements CopybookService {
     LOG.debug("Cache invalidated");
     copybookReferenceRepo.clearReferences();
     copybooksForDownloading.clear();
+    prefetchedCopybooks.clear();
     copybookCache.invalidateAll();
   }
 
+  @Override
+  public Set<String> invalidateCache(@NonNull String uri) {
+    String copybookUri = files.decodeURI(uri);
+    String copybookName =
+        Optional.ofNullable(files.getNameFromURI(copybookUri)).map(CopybookServiceImpl::removeExtension).orElse("");
+    Set<String> dependents = new HashSet<>(copybookReferenceRepo.getDependentDocuments(copybookUri));
+    dependents.addAll(copybookReferenceRepo.getDependentDocumentsByName(copybookName));
+    copybookCache.invalidate(model -> isAffected(model, copybookUri, copybookName));
+    prefetchedCopybooks.values().forEach(prefetched -> prefetched.entrySet().removeIf(entry ->
+        isAffected(entry.getKey(), entry.getValue().getUri(), copybookUri, copybookName)));
+    LOG.debug("Cache invalidated for {}, dependent documents: {}", copybookUri, dependents);
+    return dependents;
+  }
+
+  private static String removeExtension(String fileName) {
+    int extension = fileName.lastIndexOf('.');
+    return extension < 0 ? fileName : fileName.substring(0, extension);
+  }
+
+  private static boolean isAffected(CopybookModel model, String copybookUri, String copybookName) {
+    String name = Optional.ofNullable(model.getCopybookName()).map(CopybookName::getDisplayName).orElse(null);
+    return isAffected(name, model.getUri(), copybookUri, copybookName);
+  }
+
+  private static boolean isAffected(String name, String uri, String copybookUri, String copybookName) {
+    return copybookName.equalsIgnoreCase(name)
+        || uri != null && (uri.equals(copybookUri) || uri.startsWith(copybookUri + "/"));
+  }
+
+  @Override
+  public void prefetch(@NonNull String programDocumentUri, @NonNull String text) {
+    Map<String, PrefetchedCopybook> prefetched = new ConcurrentHashMap<>();
+    prefetchedCopybooks.put(programDocumentUri, prefetched);
+    prefetchReferredCopybooks(programDocumentUri, text, prefetched);
+  }
+
+  private void prefetchReferredCopybooks(
+      String programUri, String text, Map<String, PrefetchedCopybook> prefetched) {
+    Matcher matcher = COPY_STATEMENT.matcher(text);
+    while (matcher.find()) {
+      CopybookName copybookName = new CopybookName(matcher.group(2));
+      if (copybookCache.contains(copybookName.toCopybookId(programUri))) {
+        continue;
+      }
+      PrefetchedCopybook copybook = new PrefetchedCopybook();
+      if (prefetched.putIfAbsent(copybookName.getDisplayName(), copybook) != null) {
+        continue;
+      }
+      try {
+        prefetchExecutor.execute(() -> prefetchCopybook(copybookName, programUri, prefetched, copybook));
+      } catch (RejectedExecutionException e) {
+        prefetched.remove(copybookName.getDisplayName());
+        LOG.debug("Copybook prefetching queue is full, {} will be resolved on demand", copybookName);
+        return;
+      }
+    }
+  }
+
+  private void prefetchCopybook(
+      CopybookName copybookName,
+      String programUri,
+      Map<String, PrefetchedCopybook> prefetched,
+      PrefetchedCopybook copybook) {
+    if (!copybook.start()) {
+      return;
+    }
+    CompletableFuture<Optional<CopybookFile>> future = copybook.getFuture();
+    try {
+      Optional<CopybookFile> copybookFile =
+          resolveCopybookFromWorkspace(copybookName, programUri).map(this::readCopybookFile);
+      future.complete(copybookFile);
+      copybookFile
+          .filter(it -> it.getContent() != null)
+          .ifPresent(it -> prefetchReferredCopybooks(programUri, cleanText(it.getUri(), it.getContent()), prefetched));
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+  }
+
   /**
    * Retrieve and return the copybook by its name. Copybook may be cached to limit interactions with
    * the file system.
@@ -186,10 +291,18 @@ public class CopybookServiceImpl implements CopybookService {
   }
 
   private CopybookModel cleanupCopybook(CopybookModel dirtyCopybook) {
-    String cleanText = CharMatcher.whitespace().trimTrailingFrom(preprocessor.cleanUpCode(dirtyCopybook.getUri(), dirtyCopybook.getContent()).getResult().calculateExtendedText());
+    if (dirtyCopybook.getContent() == null) {
+      return dirtyCopybook;
+    }
+    String cleanText = cleanText(dirtyCopybook.getUri(), dirtyCopybook.getContent());
     return new CopybookModel(dirtyCopybook.getCopybookId(), dirtyCopybook.getCopybookName(), dirtyCopybook.getUri(), cleanText);
   }
 
+  private String cleanText(String uri, String dirtyContent) {
+    return copybookCache.getCleanText(uri, dirtyContent,
+        content -> CharMatcher.whitespace().trimTrailingFrom(preprocessor.cleanUpCode(uri, content).getResult().calculateExtendedText()));
+  }
+
   private Optional<CopybookModel> tryResolveCopybookFromWorkspace(
       CopybookName copybookName, String programUri) {
     LOG.debug(
@@ -198,12 +311,34 @@ public class CopybookServiceImpl implements CopybookService {
         files.getNameFromURI(programUri));
 
     final Optional<CopybookModel> copybookModel =
-        resolveCopybookFromWorkspace(copybookName, programUri)
-            .map(uri -> loadCopybook(uri, copybookName, programUri));
+        findCopybookFile(copybookName, programUri)
+            .map(file -> loadCopybook(file, copybookName, programUri));
     LOG.debug("Copybook from workspace: {}", copybookModel);
     return copybookModel;
   }
 
+  @SuppressWarnings("java:S2142")
+  private Optional<CopybookFile> findCopybookFile(CopybookName copybookName, String programUri) {
+    PrefetchedCopybook prefetched =
+        copybookName.getDialectType() == null
+            ? Optional.ofNullable(prefetchedCopybooks.get(programUri))
+                .map(it -> it.remove(copybookName.getDisplayName()))
+                .orElse(null)
+            : null;
+    // the prefetching that has not started yet is skipped, it may be queued behind other programs
+    if (prefetched != null && !prefetched.start()) {
+      try {
+        return prefetched.getFuture().get(PREFETCH_WAIT_SECONDS, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        // rethrowing the InterruptedException to interrupt the parent thread.
+        throw new UncheckedExecutionException(e);
+      } catch (ExecutionException | TimeoutException e) {
+        LOG.debug("Copybook {} was not prefetched, resolving it on demand", copybookName, e);
+      }
+    }
+    return resolveCopybookFromWorkspace(copybookName, programUri).map(this::readCopybookFile);
+  }
+
   @SuppressWarnings("java:S2142")
   private Optional<String> resolveCopybookFromWorkspace(CopybookName copybookName, String programUri) {
     try {
@@ -234,11 +369,16 @@ public class CopybookServiceImpl implements CopybookService {
     return new CopybookModel(copybookName.toCopybookId(programUri), copybookName, null, null);
   }
 
-  private CopybookModel loadCopybook(String uri, CopybookName copybookName, String programUri) {
+  private CopybookFile readCopybookFile(String uri) {
     Path file = files.getPathFromURI(uri);
-    LOG.debug("Loading {} with URI {} for {} from path {}", copybookName, uri, files.getNameFromURI(programUri), file);
-    return files.fileExists(file)
-        ? new CopybookModel(copybookName.toCopybookId(programUri), copybookName, uri, files.getContentByPath(Objects.requireNonNull(file)))
+    LOG.debug("Reading copybook with URI {} from path {}", uri, file);
+    return new CopybookFile(uri, files.fileExists(file) ? files.getContentByPath(Objects.requireNonNull(file)) : null);
+  }
+
+  private CopybookModel loadCopybook(CopybookFile file, CopybookName copybookName, String programUri) {
+    LOG.debug("Loading {} with URI {} for {}", copybookName, file.getUri(), files.getNameFromURI(programUri));
+    return file.getContent() != null
+        ? new CopybookModel(copybookName.toCopybookId(programUri), copybookName, file.getUri(), file.getContent())
         : registerForDownloading(copybookName, programUri);
   }
 
@@ -253,6 +393,7 @@ public class CopybookServiceImpl implements CopybookService {
   public void handleAnalysisFinishedEvent(AnalysisFinishedEvent event) {
     LOG.debug("Received event {}", event);
     LOG.debug("Copybooks expecting downloading: {}", copybooksForDownloading);
+    prefetchedCopybooks.remove(event.getDocumentUri());
     Set<String> uris = new HashSet<>(event.getCopybookUris());
     String documentUri = event.getDocumentUri();
     uris.add(documentUri);
@@ -283,4 +424,39 @@ public class CopybookServiceImpl implements CopybookService {
     return ImmutableMap.copyOf(copybooksForDownloading);
   }
 
+  /** The resolved copybook file, the content is null if the file doesn't exist */
+  @Value
+  private static class CopybookFile {
+    String uri;
+    String content;
+  }
+
+  /**
+   * The prefetching of a copybook. It is skipped if the analysis needs the copybook before the
+   * copybook executor starts it.
+   */
+  private static final class PrefetchedCopybook {
+    private final AtomicBoolean started = new AtomicBoolean();
+    @Getter private final CompletableFuture<Optional<CopybookFile>> future = new CompletableFuture<>();
+
+    /**
+     * Claim the prefetching, only one caller succeeds
+     *
+     * @return true if the prefetching was not started before
+     */
+    boolean start() {
+      return started.compareAndSet(false, true);
+    }
+
+    /**
+     * Get the URI of the prefetched copybook file
+     *
+     * @return the URI, or null if the file is not resolved yet or not found
+     */
+    String getUri() {
+      return future.isDone() && !future.isCompletedExceptionally()
+          ? future.join().map(CopybookFile::getUri).orElse(null)
+          : null;
+    }
+  }
 }
@@ -39,12 +39,15 @@ import org.eclipse.lsp4j.WorkDoneProgressReport;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 
+import static java.util.Collections.emptyList;
+
 import static java.util.concurrent.CompletableFuture.runAsync;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.lsp4j.MessageType.Info;
@@ -58,6 +61,7 @@ import static org.eclipse.lsp4j.MessageType.Info;
 public class ServerCommunications implements Communications {
 
   private final Set<String> uriInProgress = new HashSet<>();
+  private final Map<String, List<Diagnostic>> publishedDiagnostics = new HashMap<>();
   private MessageService messageService;
   private Provider<CobolLanguageClient> provider;
   private FileSystemService files;
@@ -102,18 +106,35 @@ public class ServerCommunications implements Communications {
 
   /**
    * This method raise a diagnostic message to the client with syntax error retrieved by the COBOL
-   * LSP server for related files.
+   * LSP server for related files. The given map should contain the diagnostics of all the files
+   * known to the server. Only the files which diagnostics differ from the previously published ones
+   * are sent to the client; the files that are absent in the map now are cleared by publishing an
+   * empty list.
    *
    * @param diagnostics map of URIs and errors populated by the language engine
    */
   public void publishDiagnostics(Map<String, List<Diagnostic>> diagnostics) {
-    diagnostics.forEach(
-        (uri, diagnostic) ->
-            getClient()
-                .publishDiagnostics(
-                    new PublishDiagnosticsParams(uri, clean(diagnostic))));
+    synchronized (publishedDiagnostics) {
+      diagnostics.forEach(
+          (uri, diagnostic) -> publishIfChanged(uri, clean(diagnostic)));
+      publishedDiagnostics.keySet().stream()
+          .filter(uri -> !diagnostics.containsKey(uri))
+          .collect(toList())
+          .forEach(uri -> publishIfChanged(uri, emptyList()));
+    }
   }
 
+  private void publishIfChanged(String uri, List<Diagnostic> diagnostics) {
+    if (diagnostics.equals(publishedDiagnostics.getOrDefault(uri, emptyList()))) {
+      return;
+    }
+    getClient().publishDiagnostics(new PublishDiagnosticsParams(uri, diagnostics));
+    if (diagnostics.isEmpty()) {
+      publishedDiagnostics.remove(uri);
+    } else {
+      publishedDiagnostics.put(uri, diagnostics);
+    }
+  }
 
   @Override
   public void notifyProgressBegin(String uri) {
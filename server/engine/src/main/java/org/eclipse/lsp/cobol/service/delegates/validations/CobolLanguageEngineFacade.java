@@ -35,6 +35,7 @@ import org.eclipse.lsp4j.Location;
 
 import java.io.File;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static java.util.Collections.emptyList;
@@ -74,13 +75,45 @@ public class CobolLanguageEngineFacade implements LanguageEngineFacade {
    */
   @Override
   public AnalysisResult analyze(String uri, String text, AnalysisConfig analysisConfig) {
+    return analyzeInStages(uri, text, analysisConfig, diagnostics -> { });
+  }
+
+  /**
+   * Analyze the document like {@link #analyze(String, String, AnalysisConfig)} does, and report the
+   * preprocessor and parser errors as soon as the parsing finishes.
+   *
+   * @param uri - URI of the processing document to define positions and errors properly
+   * @param text of document opened in the client editor
+   * @param analysisConfig contains analysis processing features info and copybook config
+   * @param syntaxDiagnosticsListener receives the preliminary diagnostics grouped by file URI
+   * @return a model containing full analysis result, e.g. errors and semantic elements
+   */
+  @Override
+  public AnalysisResult analyzeInStages(
+      String uri,
+      String text,
+      AnalysisConfig analysisConfig,
+      Consumer<Map<String, List<Diagnostic>>> syntaxDiagnosticsListener) {
     if (isEmpty(text)) {
       return AnalysisResult.builder().build();
     }
     // start watching file specific copybooks
     List<String> fileNameSpecificWatchFolders = filenameSpecificWatchFolders(uri);
     watcherService.addRuntimeWatchers(fileNameSpecificWatchFolders, uri);
-    return toAnalysisResult(engine.run(uri, text, analysisConfig), uri);
+    return toAnalysisResult(
+        engine.run(
+            uri,
+            text,
+            analysisConfig,
+            errors ->
+                syntaxDiagnosticsListener.accept(
+                    collectDiagnosticsForAffectedDocuments(convertErrors(errors), emptyList(), uri))),
+        uri);
+  }
+
+  @Override
+  public void closeDocument(String uri) {
+    engine.closeDocument(uri);
   }
 
   /**
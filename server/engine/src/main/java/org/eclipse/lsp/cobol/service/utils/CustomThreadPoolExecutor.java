@@ -20,16 +20,43 @@ import java.util.concurrent.ScheduledExecutorService;
 /**
  * Interface profides API for custom thread pool using ThreadPoolExecutor and
  * ScheduledThreadPoolExecutor.
+ *
+ * <p>The work is split into lanes: the interactive requests, like hover or completion, run on a
+ * separate executor, so they never wait behind the background analysis. The copybook lane resolves
+ * and reads the copybooks ahead of the analysis that needs them.
  */
 public interface CustomThreadPoolExecutor {
 
   /**
-   * Provides configurable ThreadPoolExecutor.
+   * Provides configurable ThreadPoolExecutor for the background work, e.g. document analysis.
    *
    * @return ThreadPoolExecutor
    */
   ExecutorService getThreadPoolExecutor();
 
+  /**
+   * Provides configurable ThreadPoolExecutor for the interactive requests that the user waits for.
+   *
+   * @return ThreadPoolExecutor
+   */
+  ExecutorService getInteractiveThreadPoolExecutor();
+
+  /**
+   * Provides configurable ThreadPoolExecutor for the copybook prefetching, that mostly waits for the
+   * client and the file system.
+   *
+   * @return ThreadPoolExecutor
+   */
+  ExecutorService getCopybookThreadPoolExecutor();
+
+  /**
+   * Provides ThreadPoolExecutor that delivers the data bus events. Its queue is not bounded, so an
+   * event is never rejected.
+   *
+   * @return ThreadPoolExecutor
+   */
+  ExecutorService getEventThreadPoolExecutor();
+
   /**
    * Provides configurable ScheduledThreadPoolExecutor
    *
@@ -18,7 +18,12 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 
 /**
@@ -30,29 +35,56 @@ import java.util.concurrent.*;
  * <p>The main configuration parameters are: corePoolSize, maximumPoolSize, and keepAliveTime. The
  * pool consists of a fixed number of core threads that are kept inside all the time, and some
  * excessive threads that may be spawned and then terminated when they are not needed anymore.
+ *
+ * <p>The background, interactive and copybook lanes have their own threads and bounded queues, and
+ * all of them measure how long the tasks wait in the queue, see {@link MeasuredThreadPoolExecutor}.
+ * The data bus events are delivered by a lane with an unbounded queue, so posting an event never
+ * fails when the background lane is full. The statistics of the lanes are logged periodically.
  */
+@Slf4j
 @Singleton
 public class CustomThreadPoolExecutorService implements CustomThreadPoolExecutor {
+  private static final long STATISTICS_PERIOD_MINUTES = 10;
 
-  private ExecutorService executorService;
+  private MeasuredThreadPoolExecutor executorService;
+  private MeasuredThreadPoolExecutor interactiveExecutorService;
+  private MeasuredThreadPoolExecutor copybookExecutorService;
+  private MeasuredThreadPoolExecutor eventExecutorService;
   private ScheduledExecutorService scheduledExecutorService;
+  private final Map<MeasuredThreadPoolExecutor, Long> reportedTasks = new HashMap<>();
 
   @Inject
   public CustomThreadPoolExecutorService(
       @Named("CORE-POOL-SIZE") int corePoolSize,
       @Named("MAX-POOL-SIZE") int maximumPoolSize,
       @Named("KEEP-ALIVE-TIME-IN-SECONDS") int keepAliveTime,
-      @Named("CORE-POOL-SIZE-FOR-SCHEDULED-POOL") int corePoolSizeForScheduledThreadPool) {
+      @Named("CORE-POOL-SIZE-FOR-SCHEDULED-POOL") int corePoolSizeForScheduledThreadPool,
+      @Named("QUEUE-CAPACITY") int queueCapacity,
+      @Named("INTERACTIVE-POOL-SIZE") int interactivePoolSize,
+      @Named("INTERACTIVE-QUEUE-CAPACITY") int interactiveQueueCapacity,
+      @Named("COPYBOOK-POOL-SIZE") int copybookPoolSize,
+      @Named("COPYBOOK-QUEUE-CAPACITY") int copybookQueueCapacity) {
 
     this.executorService =
-        new ThreadPoolExecutor(
-            corePoolSize,
-            maximumPoolSize,
+        new MeasuredThreadPoolExecutor(
+            "cobol-background", corePoolSize, maximumPoolSize, keepAliveTime, queueCapacity);
+    this.interactiveExecutorService =
+        new MeasuredThreadPoolExecutor(
+            "cobol-interactive",
+            interactivePoolSize,
+            interactivePoolSize,
             keepAliveTime,
-            TimeUnit.SECONDS,
-            new LinkedBlockingQueue<Runnable>());
+            interactiveQueueCapacity);
+    this.copybookExecutorService =
+        new MeasuredThreadPoolExecutor(
+            "cobol-copybooks", copybookPoolSize, copybookPoolSize, keepAliveTime, copybookQueueCapacity);
+    this.eventExecutorService =
+        new MeasuredThreadPoolExecutor(
+            "cobol-events", corePoolSize, corePoolSize, keepAliveTime, new LinkedBlockingQueue<>());
     this.scheduledExecutorService =
         new ScheduledThreadPoolExecutor(corePoolSizeForScheduledThreadPool);
+    this.scheduledExecutorService.scheduleWithFixedDelay(
+        this::logQueueWaitStatistics, STATISTICS_PERIOD_MINUTES, STATISTICS_PERIOD_MINUTES, TimeUnit.MINUTES);
   }
 
   /**
@@ -66,6 +98,39 @@ public class CustomThreadPoolExecutorService implements CustomThreadPoolExecutor
     return this.executorService;
   }
 
+  /**
+   * {@inheritdoc}
+   *
+   * @return
+   */
+  @Override
+  @NonNull
+  public ExecutorService getInteractiveThreadPoolExecutor() {
+    return this.interactiveExecutorService;
+  }
+
+  /**
+   * {@inheritdoc}
+   *
+   * @return
+   */
+  @Override
+  @NonNull
+  public ExecutorService getCopybookThreadPoolExecutor() {
+    return this.copybookExecutorService;
+  }
+
+  /**
+   * {@inheritdoc}
+   *
+   * @return
+   */
+  @Override
+  @NonNull
+  public ExecutorService getEventThreadPoolExecutor() {
+    return this.eventExecutorService;
+  }
+
   /**
    * {@inheritdoc}
    *
@@ -76,4 +141,41 @@ public class CustomThreadPoolExecutorService implements CustomThreadPoolExecutor
   public ScheduledExecutorService getScheduledThreadPoolExecutor() {
     return this.scheduledExecutorService;
   }
+
+  /**
+   * Provides the queue waiting time statistics of the background lane
+   *
+   * @return the statistics
+   */
+  public MeasuredThreadPoolExecutor.QueueWaitStatistics getBackgroundQueueWaitStatistics() {
+    return executorService.getQueueWaitStatistics();
+  }
+
+  /**
+   * Provides the queue waiting time statistics of the interactive lane
+   *
+   * @return the statistics
+   */
+  public MeasuredThreadPoolExecutor.QueueWaitStatistics getInteractiveQueueWaitStatistics() {
+    return interactiveExecutorService.getQueueWaitStatistics();
+  }
+
+  /** Log the queue waiting time statistics of the lanes that executed tasks since the last report */
+  public synchronized void logQueueWaitStatistics() {
+    List<MeasuredThreadPoolExecutor> lanes =
+        Arrays.asList(executorService, interactiveExecutorService, copybookExecutorService, eventExecutorService);
+    for (MeasuredThreadPoolExecutor lane : lanes) {
+      MeasuredThreadPoolExecutor.QueueWaitStatistics statistics = lane.getQueueWaitStatistics();
+      Long reported = reportedTasks.put(lane, statistics.getExecutedTasks());
+      if (reported == null || reported != statistics.getExecutedTasks()) {
+        LOG.info(
+            "The {} lane executed {} tasks, they waited {} ms on average and {} ms at most, {} tasks are queued",
+            statistics.getLaneName(),
+            statistics.getExecutedTasks(),
+            statistics.getAverageWaitMillis(),
+            statistics.getMaxWaitMillis(),
+            statistics.getQueuedTasks());
+      }
+    }
+  }
 }
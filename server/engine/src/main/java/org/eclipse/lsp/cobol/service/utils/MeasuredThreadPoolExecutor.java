@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.utils;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link ThreadPoolExecutor} that represents a lane of work, e.g. interactive requests or
+ * background analysis. It measures how long the tasks wait in the queue before they start and
+ * reports the tasks that waited too long to the debug log. If the queue is bounded, a task that does
+ * not fit into it is rejected with {@link java.util.concurrent.RejectedExecutionException}.
+ */
+@Slf4j
+public class MeasuredThreadPoolExecutor extends ThreadPoolExecutor {
+  private static final long SLOW_WAIT_MILLIS = 500;
+
+  private final String laneName;
+  private final AtomicLong executedTasks = new AtomicLong();
+  private final AtomicLong totalWaitMillis = new AtomicLong();
+  private final AtomicLong maxWaitMillis = new AtomicLong();
+
+  public MeasuredThreadPoolExecutor(
+      String laneName,
+      int corePoolSize,
+      int maximumPoolSize,
+      long keepAliveTimeInSeconds,
+      int queueCapacity) {
+    this(laneName, corePoolSize, maximumPoolSize, keepAliveTimeInSeconds, new ArrayBlockingQueue<>(queueCapacity));
+  }
+
+  public MeasuredThreadPoolExecutor(
+      String laneName,
+      int corePoolSize,
+      int maximumPoolSize,
+      long keepAliveTimeInSeconds,
+      BlockingQueue<Runnable> queue) {
+    super(
+        corePoolSize,
+        maximumPoolSize,
+        keepAliveTimeInSeconds,
+        TimeUnit.SECONDS,
+        queue,
+        new LaneThreadFactory(laneName));
+    this.laneName = laneName;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    super.execute(new TimedRunnable(command));
+  }
+
+  @Override
+  protected void beforeExecute(Thread thread, Runnable runnable) {
+    super.beforeExecute(thread, runnable);
+    if (!(runnable instanceof TimedRunnable)) {
+      return;
+    }
+    long wait =
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - ((TimedRunnable) runnable).enqueuedAt);
+    executedTasks.incrementAndGet();
+    totalWaitMillis.addAndGet(wait);
+    maxWaitMillis.accumulateAndGet(wait, Math::max);
+    if (wait >= SLOW_WAIT_MILLIS) {
+      LOG.debug(
+          "Task waited {} ms in the {} queue, {} more tasks are waiting",
+          wait,
+          laneName,
+          getQueue().size());
+    }
+  }
+
+  /**
+   * Provides the queue waiting time statistics of the tasks started so far.
+   *
+   * @return the queue waiting time statistics
+   */
+  public QueueWaitStatistics getQueueWaitStatistics() {
+    return new QueueWaitStatistics(
+        laneName, executedTasks.get(), totalWaitMillis.get(), maxWaitMillis.get(), getQueue().size());
+  }
+
+  /** The queue waiting time statistics of a lane */
+  @Value
+  public static class QueueWaitStatistics {
+    String laneName;
+    long executedTasks;
+    long totalWaitMillis;
+    long maxWaitMillis;
+    int queuedTasks;
+
+    /**
+     * Calculates the average time a task waits in the queue
+     *
+     * @return the average waiting time in milliseconds
+     */
+    public long getAverageWaitMillis() {
+      return executedTasks == 0 ? 0 : totalWaitMillis / executedTasks;
+    }
+  }
+
+  /** Remembers the moment the task was submitted to the lane */
+  private static final class TimedRunnable implements Runnable {
+    private final Runnable delegate;
+    private final long enqueuedAt = System.nanoTime();
+
+    private TimedRunnable(Runnable delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void run() {
+      delegate.run();
+    }
+  }
+
+  /** Names the threads after the lane to make thread dumps readable */
+  private static final class LaneThreadFactory implements ThreadFactory {
+    private final AtomicInteger counter = new AtomicInteger();
+    private final String laneName;
+
+    private LaneThreadFactory(String laneName) {
+      this.laneName = laneName;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      return new Thread(runnable, laneName + "-" + counter.incrementAndGet());
+    }
+  }
+}
@@ -60,6 +60,9 @@ public abstract class ConfigurableTest {
         .injectMembers(this);
     customExecutor = mock(CustomThreadPoolExecutor.class);
     when(customExecutor.getThreadPoolExecutor()).thenReturn(Executors.newFixedThreadPool(3));
+    when(customExecutor.getInteractiveThreadPoolExecutor()).thenReturn(Executors.newFixedThreadPool(1));
+    when(customExecutor.getCopybookThreadPoolExecutor()).thenReturn(Executors.newFixedThreadPool(1));
+    when(customExecutor.getEventThreadPoolExecutor()).thenReturn(Executors.newFixedThreadPool(1));
     when(customExecutor.getScheduledThreadPoolExecutor())
         .thenReturn(Executors.newScheduledThreadPool(3));
   }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.Token;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Test that {@link CobolLexer} finds the keywords with {@link CobolKeywords} */
+class CobolKeywordsTest {
+
+  @Test
+  void testAllKeywordsFound() {
+    List<String> rules = Arrays.asList(CobolLexer.ruleNames);
+    int keywords = 0;
+    for (int type = 1; type <= CobolLexer.VOCABULARY.getMaxTokenType(); type++) {
+      String name = CobolLexer.VOCABULARY.getSymbolicName(type);
+      if (rules.contains(name)) continue;
+      String keyword = name.endsWith("_CHAR") ? name.substring(0, 1) : name.replace('_', '-');
+      assertEquals(Arrays.asList(type), lex(keyword), keyword);
+      assertEquals(Arrays.asList(type), lex(keyword.toLowerCase(Locale.ROOT)), keyword);
+      keywords++;
+    }
+    assertTrue(keywords > 700);
+  }
+
+  @Test
+  void testIdentifiersAreNotKeywords() {
+    assertEquals(
+        Arrays.asList(
+            CobolLexer.SOURCE_COMPUTER,
+            CobolLexer.IDENTIFIER,
+            CobolLexer.IDENTIFIER,
+            CobolLexer.S_CHAR,
+            CobolLexer.IDENTIFIER,
+            CobolLexer.IDENTIFIER),
+        lex("Source-Computer SOURCE-COMPUTERS ACCEPT-1 s SS ZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZ"));
+  }
+
+  private static List<Integer> lex(String text) {
+    CobolLexer lexer = new CobolLexer(CharStreams.fromString(text));
+    lexer.removeErrorListeners();
+    List<Integer> types = new ArrayList<>();
+    for (Token token = lexer.nextToken(); token.getType() != Token.EOF; token = lexer.nextToken()) {
+      if (token.getChannel() == Token.DEFAULT_CHANNEL) {
+        types.add(token.getType());
+      }
+    }
+    return types;
+  }
+}
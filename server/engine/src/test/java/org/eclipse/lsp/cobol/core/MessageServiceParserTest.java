@@ -15,12 +15,18 @@
 
 package org.eclipse.lsp.cobol.core;
 
+import org.antlr.v4.runtime.ANTLRErrorListener;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.Parser;
 import org.eclipse.lsp.cobol.common.message.LocaleStore;
 import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.common.message.MessageTemplate;
 import org.eclipse.lsp.cobol.core.engine.dialects.WorkingFolderService;
 import org.eclipse.lsp.cobol.core.messages.PropertiesMessageService;
 import org.eclipse.lsp.cobol.core.strategy.CobolErrorStrategy;
+import org.eclipse.lsp.cobol.core.visitor.ParserListener;
 import org.eclipse.lsp.cobol.service.settings.SettingsService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -131,6 +137,29 @@ class MessageServiceParserTest {
     verify(((MessageServiceParser) mockParser), never()).notifyError(any(), any());
   }
 
+  @Test
+  void whenTemplateIsNotified_thenOnlyParserListenerKeepsTemplate() {
+    MessageService messageService = mock(MessageService.class);
+    MessageTemplate template = MessageTemplate.of("template", "arg");
+    when(messageService.localizeTemplate(template)).thenReturn("localized");
+    Db2SqlParser parser = new Db2SqlParser(new CommonTokenStream(new Db2SqlLexer(CharStreams.fromString(""))));
+    parser.setErrorHandler(new CobolErrorStrategy(messageService));
+    parser.removeErrorListeners();
+    ParserListener parserListener = mock(ParserListener.class);
+    ANTLRErrorListener otherListener = mock(ANTLRErrorListener.class);
+    parser.addErrorListener(parserListener);
+    parser.addErrorListener(otherListener);
+    CommonToken token = new CommonToken(1, "TEXT");
+    token.setLine(2);
+    token.setCharPositionInLine(3);
+
+    parser.notifyErrorListeners(token, template, null);
+
+    verify(parserListener).syntaxError(parser, token, 2, 3, template, null);
+    verify(otherListener).syntaxError(parser, token, 2, 3, "localized", null);
+    assertEquals(1, parser.getNumberOfSyntaxErrors());
+  }
+
   private void checkErrorForRealMethod(String value, Consumer<MessageServiceParser> consumer, String errorCode) {
     ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
     consumer.accept((MessageServiceParser) mockParser);
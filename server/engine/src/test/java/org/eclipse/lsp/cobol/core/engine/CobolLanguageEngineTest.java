@@ -23,6 +23,7 @@ import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp.cobol.common.ResultWithErrors;
 import org.eclipse.lsp.cobol.common.SubroutineService;
 import org.eclipse.lsp.cobol.common.copybook.CopybookConfig;
+import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.common.dialects.DialectOutcome;
 import org.eclipse.lsp.cobol.common.dialects.DialectProcessingContext;
 import org.eclipse.lsp.cobol.common.error.ErrorCodes;
@@ -31,9 +32,11 @@ import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
 import org.eclipse.lsp.cobol.common.mapping.TextTransformations;
 import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.common.message.MessageTemplate;
 import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.common.model.NodeType;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisBudget;
 import org.eclipse.lsp.cobol.core.engine.analysis.EmbeddedCodeService;
 import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
 import org.eclipse.lsp.cobol.core.engine.errors.ErrorFinalizerService;
@@ -43,6 +46,7 @@ import org.eclipse.lsp.cobol.core.model.DocumentMapping;
 import org.eclipse.lsp.cobol.core.model.OldExtendedDocument;
 import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessor;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.GrammarPreprocessor;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.PreprocessorContext;
 import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
 import org.eclipse.lsp.cobol.core.strategy.CobolErrorStrategy;
 import org.eclipse.lsp.cobol.core.strategy.ErrorMessageHelper;
@@ -53,12 +57,22 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.eclipse.lsp.cobol.common.copybook.CopybookProcessingMode.DISABLED;
 import static org.eclipse.lsp.cobol.common.copybook.CopybookProcessingMode.ENABLED;
 import static org.eclipse.lsp.cobol.common.copybook.SQLBackend.DB2_SERVER;
 import static org.eclipse.lsp.cobol.common.error.ErrorSeverity.ERROR;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -79,6 +93,7 @@ class CobolLanguageEngineTest {
   private final DialectService dialectService = mock(DialectService.class);
   private final AstProcessor astProcessor = mock(AstProcessor.class);
   private final SymbolsRepository symbolsRepository = mock(SymbolsRepository.class);
+  private final CopybookService copybookService = mock(CopybookService.class);
 
   @Test
   void testLanguageEngineRun() {
@@ -91,7 +106,8 @@ class CobolLanguageEngineTest {
     CobolLanguageEngine engine =
         new CobolLanguageEngine(
             preprocessor, grammarPreprocessor, mockMessageService, treeListener, mock(SubroutineService.class), null,
-            dialectService, astProcessor, symbolsRepository, embeddedCodeService, mock(ErrorFinalizerService.class));
+            dialectService, astProcessor, symbolsRepository, embeddedCodeService, mock(ErrorFinalizerService.class),
+            copybookService, new DfaCacheGovernor(), new AnalysisBudget());
     when(mockMessageService.getMessage(anyString(), anyString(), anyString())).thenReturn("");
     Locality locality =
         Locality.builder()
@@ -164,7 +180,7 @@ class CobolLanguageEngineTest {
             .extendedSource(new ExtendedSource(TEXT, URI))
             .build();
     context.getExtendedSource().commitTransformations();
-    when(dialectService.process(anyList(), any()))
+    when(dialectService.process(anyList(), any(), any()))
         .thenReturn(new ResultWithErrors<>(new DialectOutcome(context), ImmutableList.of()));
     when(preprocessor.cleanUpCode(URI, TEXT))
         .thenReturn(new ResultWithErrors<>(TextTransformations.of(TEXT, URI), ImmutableList.of()));
@@ -175,7 +191,11 @@ class CobolLanguageEngineTest {
     when(grammarPreprocessor.preprocess(any())).thenReturn(new ResultWithErrors<>(new CopybooksRepository(), ImmutableList.of()));
 
     Range programRange = new Range(new Position(0, 7), new Position(0, 31));
-    ResultWithErrors<AnalysisResult> actual = engine.run(URI, TEXT, AnalysisConfig.defaultConfig(ENABLED));
+    List<List<SyntaxError>> syntaxErrors = new ArrayList<>();
+    ResultWithErrors<AnalysisResult> actual =
+        engine.run(URI, TEXT, AnalysisConfig.defaultConfig(ENABLED), syntaxErrors::add);
+    assertEquals(1, syntaxErrors.size());
+    verify(copybookService).prefetch(URI, TEXT);
     Node root = actual.getResult().getRootNode();
     Node program = root.getChildren().get(0);
     Node division = program.getChildren().get(0);
@@ -199,13 +219,160 @@ class CobolLanguageEngineTest {
     CobolLanguageEngine engine =
             new CobolLanguageEngine(
                     preprocessor, grammarPreprocessor, mockMessageService, treeListener, mock(SubroutineService.class), null,
-                    dialectService, astProcessor, symbolsRepository, embeddedCodeService, mock(ErrorFinalizerService.class));
+                    dialectService, astProcessor, symbolsRepository, embeddedCodeService, mock(ErrorFinalizerService.class),
+            copybookService, new DfaCacheGovernor(), new AnalysisBudget());
 
     ResultWithErrors<AnalysisResult> actual = engine.run(URI, TEXT, DialectConfigs.getDaCoAnalysisConfig());
     Assertions.assertEquals(actual.getErrors().size(), 1);
     Assertions.assertEquals(actual.getErrors().get(0).getErrorCode(), ErrorCodes.INCOMPATIBLE_SERVER_TYPE);
   }
 
+  @Test
+  void testLanguageEngineSkipsDocumentOverBudget() {
+    ErrorFinalizerService errorFinalizerService = mock(ErrorFinalizerService.class);
+    when(errorFinalizerService.localizeErrorMessage(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    CobolLanguageEngine engine =
+        new CobolLanguageEngine(
+            preprocessor, grammarPreprocessor, mockMessageService, treeListener, mock(SubroutineService.class), null,
+            dialectService, astProcessor, symbolsRepository, mock(EmbeddedCodeService.class), errorFinalizerService,
+            copybookService, new DfaCacheGovernor(), new AnalysisBudget(0, 10, 1_000));
+
+    ResultWithErrors<AnalysisResult> actual = engine.run(URI, TEXT, AnalysisConfig.defaultConfig(ENABLED));
+
+    assertEquals(1, actual.getErrors().size());
+    assertEquals(ErrorCodes.ANALYSIS_LIMITED, actual.getErrors().get(0).getErrorCode());
+    assertTrue(actual.getResult().getRootNode().getChildren().isEmpty());
+    verify(preprocessor, never()).cleanUpCode(anyString(), anyString());
+  }
+
+  @Test
+  void testLanguageEngineDoesNotPrefetchDisabledCopybooks() {
+    // the negative stage timeout stops the analysis right after the dialects
+    CobolLanguageEngine engine =
+        new CobolLanguageEngine(
+            preprocessor, grammarPreprocessor, mockMessageService, treeListener, mock(SubroutineService.class), null,
+            dialectService, astProcessor, symbolsRepository, mock(EmbeddedCodeService.class),
+            mock(ErrorFinalizerService.class), copybookService, new DfaCacheGovernor(), new AnalysisBudget(10, 10, -1));
+    DialectProcessingContext context = DialectProcessingContext.builder()
+        .extendedSource(new ExtendedSource(TEXT, URI))
+        .build();
+    context.getExtendedSource().commitTransformations();
+    when(dialectService.process(anyList(), any(), any()))
+        .thenReturn(new ResultWithErrors<>(new DialectOutcome(context), ImmutableList.of()));
+    when(preprocessor.cleanUpCode(URI, TEXT))
+        .thenReturn(new ResultWithErrors<>(TextTransformations.of(TEXT, URI), ImmutableList.of()));
+
+    engine.run(URI, TEXT, AnalysisConfig.defaultConfig(DISABLED));
+
+    verify(dialectService).process(anyList(), any(), any());
+    verify(copybookService, never()).prefetch(anyString(), anyString());
+  }
+
+  @Test
+  void testLanguageEngineStopsDialectStepOverBudget() {
+    CobolLanguageEngine engine = createEngineWithStageTimeout(-1);
+    AtomicBoolean stepRun = new AtomicBoolean();
+    when(dialectService.process(anyList(), any(), any())).thenAnswer(invocation -> {
+      invocation.<Runnable>getArgument(2).run();
+      stepRun.set(true);
+      return null;
+    });
+    when(preprocessor.cleanUpCode(URI, TEXT))
+        .thenReturn(new ResultWithErrors<>(TextTransformations.of(TEXT, URI), ImmutableList.of()));
+
+    ResultWithErrors<AnalysisResult> actual = engine.run(URI, TEXT, AnalysisConfig.defaultConfig(DISABLED));
+
+    assertFalse(stepRun.get());
+    assertBudgetExceeded(actual, "dialects");
+    verify(grammarPreprocessor, never()).preprocess(any());
+  }
+
+  @Test
+  void testLanguageEngineStopsCopybookExpansionOverBudget() {
+    CobolLanguageEngine engine = createEngineWithStageTimeout(50);
+    AtomicBoolean expanded = new AtomicBoolean();
+    DialectProcessingContext context = DialectProcessingContext.builder()
+        .extendedSource(new ExtendedSource(TEXT, URI))
+        .build();
+    context.getExtendedSource().commitTransformations();
+    when(dialectService.process(anyList(), any(), any()))
+        .thenReturn(new ResultWithErrors<>(new DialectOutcome(context), ImmutableList.of()));
+    when(preprocessor.cleanUpCode(URI, TEXT))
+        .thenReturn(new ResultWithErrors<>(TextTransformations.of(TEXT, URI), ImmutableList.of()));
+    when(grammarPreprocessor.preprocess(any())).thenAnswer(invocation -> {
+      Thread.sleep(100);
+      invocation.<PreprocessorContext>getArgument(0).getBudgetCheck().run();
+      expanded.set(true);
+      return new ResultWithErrors<>(new CopybooksRepository(), ImmutableList.of());
+    });
+
+    ResultWithErrors<AnalysisResult> actual = engine.run(URI, TEXT, AnalysisConfig.defaultConfig(DISABLED));
+
+    assertFalse(expanded.get());
+    assertBudgetExceeded(actual, "preprocessor");
+    assertTrue(actual.getResult().getRootNode().getChildren().isEmpty());
+  }
+
+  private CobolLanguageEngine createEngineWithStageTimeout(long stageTimeout) {
+    ErrorFinalizerService errorFinalizerService = mock(ErrorFinalizerService.class);
+    when(errorFinalizerService.localizeErrorMessage(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    return new CobolLanguageEngine(
+        preprocessor, grammarPreprocessor, mockMessageService, treeListener, mock(SubroutineService.class), null,
+        dialectService, astProcessor, symbolsRepository, mock(EmbeddedCodeService.class), errorFinalizerService,
+        copybookService, new DfaCacheGovernor(), new AnalysisBudget(10, 10, stageTimeout));
+  }
+
+  private static void assertBudgetExceeded(ResultWithErrors<AnalysisResult> actual, String stage) {
+    assertEquals(1, actual.getErrors().size());
+    SyntaxError error = actual.getErrors().get(0);
+    assertEquals(ErrorCodes.ANALYSIS_LIMITED, error.getErrorCode());
+    MessageTemplate reason = (MessageTemplate) error.getMessageTemplate().getArgs()[0];
+    assertEquals("analysis.stageTimeout", reason.getTemplate());
+    assertEquals(stage, reason.getArgs()[0]);
+  }
+
+  @Test
+  void testLanguageEngineFinalizesSyntaxErrorsOnce() {
+    EmbeddedCodeService embeddedCodeService = mock(EmbeddedCodeService.class);
+    CobolLanguageEngine engine =
+        new CobolLanguageEngine(
+            preprocessor, grammarPreprocessor, mockMessageService, treeListener, mock(SubroutineService.class), null,
+            dialectService, astProcessor, symbolsRepository, embeddedCodeService,
+            new ErrorFinalizerService(mockMessageService), copybookService, new DfaCacheGovernor(),
+            new AnalysisBudget());
+    MessageTemplate template = MessageTemplate.of("preprocessor.error");
+    when(mockMessageService.localizeTemplate(template)).thenReturn("Preprocessor error");
+    SyntaxError error =
+        SyntaxError.syntaxError()
+            .errorSource(ErrorSource.PREPROCESSING)
+            .location(Locality.builder().uri(URI).range(new Range(new Position(), new Position(0, 7))).build()
+                .toOriginalLocation())
+            .messageTemplate(template)
+            .severity(ERROR)
+            .build();
+    DialectProcessingContext context = DialectProcessingContext.builder()
+        .extendedSource(new ExtendedSource(TEXT, URI))
+        .build();
+    context.getExtendedSource().commitTransformations();
+    when(dialectService.process(anyList(), any(), any()))
+        .thenReturn(new ResultWithErrors<>(new DialectOutcome(context), ImmutableList.of()));
+    when(preprocessor.cleanUpCode(URI, TEXT))
+        .thenReturn(new ResultWithErrors<>(TextTransformations.of(TEXT, URI), ImmutableList.of(error)));
+    when(embeddedCodeService.generateNodes(any(), any(), any(), any(), anyString(), anyList()))
+        .thenReturn(new ResultWithErrors<>(ImmutableList.of(), ImmutableList.of()));
+    when(grammarPreprocessor.preprocess(any()))
+        .thenReturn(new ResultWithErrors<>(new CopybooksRepository(), ImmutableList.of()));
+
+    List<List<SyntaxError>> syntaxErrors = new ArrayList<>();
+    ResultWithErrors<AnalysisResult> actual =
+        engine.run(URI, TEXT, AnalysisConfig.defaultConfig(ENABLED), syntaxErrors::add);
+
+    SyntaxError localized = error.toBuilder().messageTemplate(null).suggestion("Preprocessor error").build();
+    assertTrue(syntaxErrors.get(0).contains(localized));
+    assertEquals(1, actual.getErrors().stream().filter(localized::equals).count());
+    verify(mockMessageService, times(1)).localizeTemplate(template);
+  }
+
   @AfterAll
   static void unsetSystemProperty() {
     System.setProperty("serverType", "JAVA");
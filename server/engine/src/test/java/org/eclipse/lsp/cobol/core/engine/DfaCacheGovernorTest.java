@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine;
+
+import com.google.common.io.Resources;
+import org.eclipse.lsp.cobol.common.dialects.GrammarCache;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** Test for {@link DfaCacheGovernor} */
+class DfaCacheGovernorTest {
+  private static String text;
+
+  @BeforeAll
+  static void readCorpus() throws IOException {
+    text = Resources.toString(GrammarWarmUp.class.getResource("/warmup/WARMUP.cbl"), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void testStatesKeptUnderLimit() {
+    DfaCacheGovernor governor = new DfaCacheGovernor(Integer.MAX_VALUE);
+
+    assertEquals(0, governor.runAnalysis(() -> GrammarWarmUp.warmUp(text)));
+
+    assertTrue(governor.countStates().get("CobolParser") > 0);
+    assertTrue(governor.countStates().get("Db2SqlParser") > 0);
+  }
+
+  @Test
+  void testStatesClearedOverLimitAfterAllAnalyses() {
+    DfaCacheGovernor governor = new DfaCacheGovernor(0);
+
+    governor.runAnalysis(
+        () -> {
+          governor.runAnalysis(() -> GrammarWarmUp.warmUp(text));
+          // The outer analysis is still running, so the caches stay
+          assertTrue(governor.countStates().get("CobolParser") > 0);
+          return null;
+        });
+
+    governor.countStates().values().forEach(states -> assertEquals(0, states));
+  }
+
+  @Test
+  void testRegisteredCachesBoundedWithGrammars() {
+    DfaCacheGovernor governor = new DfaCacheGovernor(0);
+    GrammarCache cache = mock(GrammarCache.class);
+    when(cache.size()).thenReturn(10);
+    governor.register("DialectParser", cache);
+
+    assertEquals(10, governor.countStates().get("DialectParser"));
+    governor.runAnalysis(() -> null);
+
+    verify(cache).clear();
+  }
+}
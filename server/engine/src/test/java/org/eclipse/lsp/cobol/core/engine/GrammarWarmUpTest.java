@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine;
+
+import com.google.common.io.Resources;
+import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/** Test for {@link GrammarWarmUp} */
+class GrammarWarmUpTest {
+  private final CustomThreadPoolExecutor executors = mock(CustomThreadPoolExecutor.class);
+  private final ExecutorService executor = mock(ExecutorService.class);
+
+  @AfterEach
+  void clearProperty() {
+    System.clearProperty("grammarWarmUp");
+  }
+
+  @Test
+  void testCorpusHasNoSyntaxErrors() throws IOException {
+    String text = Resources.toString(GrammarWarmUp.class.getResource("/warmup/WARMUP.cbl"), StandardCharsets.UTF_8);
+    assertEquals(0, GrammarWarmUp.warmUp(text));
+  }
+
+  @Test
+  void testStartRunsInBackground() {
+    when(executors.getThreadPoolExecutor()).thenReturn(executor);
+
+    new GrammarWarmUp(executors, mock(DfaCacheGovernor.class)).start();
+
+    verify(executor).execute(any(Runnable.class));
+  }
+
+  @Test
+  void testStartDisabled() {
+    System.setProperty("grammarWarmUp", "false");
+
+    new GrammarWarmUp(executors, mock(DfaCacheGovernor.class)).start();
+
+    verifyNoInteractions(executors);
+  }
+}
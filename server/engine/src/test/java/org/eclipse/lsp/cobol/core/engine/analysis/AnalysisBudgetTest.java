@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.analysis;
+
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.eclipse.lsp.cobol.common.message.MessageTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Activity.DIALECTS;
+import static org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Activity.PARSER;
+import static org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Activity.SYNTAX_TREE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** Test for {@link AnalysisBudget} */
+class AnalysisBudgetTest {
+  private final AnalysisBudget budget = new AnalysisBudget(2, 3, 1_000);
+
+  @Test
+  void testCheckSize() {
+    assertFalse(budget.checkSize("line 1\nline 2").isPresent());
+
+    MessageTemplate reason = budget.checkSize("line 1\nline 2\nline 3").get();
+    assertEquals("analysis.maxLines", reason.getTemplate());
+    assertArrayEquals(new Object[] {3, 2}, reason.getArgs());
+  }
+
+  @Test
+  void testCheckStage() {
+    assertEquals(Optional.empty(), budget.checkStage(PARSER, 1_000, 3));
+
+    MessageTemplate errors = budget.checkStage(PARSER, 10, 4).get();
+    assertEquals("analysis.maxErrors", errors.getTemplate());
+    assertArrayEquals(new Object[] {"parser", 4, 3}, errors.getArgs());
+
+    MessageTemplate timeout = budget.checkStage(SYNTAX_TREE, 1_001, 0).get();
+    assertEquals("analysis.stageTimeout", timeout.getTemplate());
+    assertArrayEquals(new Object[] {"syntax tree", 1_001L, 1_000L}, timeout.getArgs());
+  }
+
+  @Test
+  void testParserGuardStopsParserWithTooManyErrors() {
+    Parser parser = mock(Parser.class);
+    ParseTreeListener guard = budget.createParserGuard(PARSER, parser);
+    ParserRuleContext ctx = new ParserRuleContext();
+
+    when(parser.getNumberOfSyntaxErrors()).thenReturn(3);
+    guard.enterEveryRule(ctx);
+
+    when(parser.getNumberOfSyntaxErrors()).thenReturn(4);
+    AnalysisBudget.BudgetExceededException e =
+        assertThrows(AnalysisBudget.BudgetExceededException.class, () -> guard.enterEveryRule(ctx));
+    assertEquals("analysis.maxErrors", e.getReason().getTemplate());
+  }
+
+  @Test
+  void testStageGuardStopsStageOutOfTime() {
+    budget.createStageGuard(DIALECTS).run();
+
+    Runnable guard = new AnalysisBudget(2, 3, -1).createStageGuard(DIALECTS);
+    AnalysisBudget.BudgetExceededException e =
+        assertThrows(AnalysisBudget.BudgetExceededException.class, guard::run);
+    assertEquals("analysis.stageTimeout", e.getReason().getTemplate());
+    assertEquals("dialects", e.getReason().getArgs()[0]);
+  }
+}
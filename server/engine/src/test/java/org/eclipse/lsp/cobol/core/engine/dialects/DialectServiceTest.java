@@ -15,14 +15,17 @@
 package org.eclipse.lsp.cobol.core.engine.dialects;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import org.eclipse.lsp.cobol.common.DialectRegistryItem;
 import org.eclipse.lsp.cobol.common.ResultWithErrors;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.common.dialects.CobolDialect;
 import org.eclipse.lsp.cobol.common.dialects.DialectOutcome;
 import org.eclipse.lsp.cobol.common.dialects.DialectProcessingContext;
+import org.eclipse.lsp.cobol.common.dialects.GrammarCache;
 import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
 import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.core.engine.DfaCacheGovernor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
@@ -41,15 +44,17 @@ class DialectServiceTest {
   DialectDiscoveryService ddService;
   CopybookService copybookService;
   MessageService messageService;
+  DfaCacheGovernor dfaCacheGovernor;
 
   @BeforeEach
   void init() {
     ddService = mock(DialectDiscoveryService.class);
     copybookService = mock(CopybookService.class);
     messageService = mock(MessageService.class);
+    dfaCacheGovernor = mock(DfaCacheGovernor.class);
     when(ddService.loadDialects(copybookService, messageService)).thenReturn(ImmutableList.of());
 
-    dialectService = new DialectService(ddService, copybookService, messageService);
+    dialectService = new DialectService(ddService, copybookService, messageService, dfaCacheGovernor);
   }
 
   private CobolDialect configureDialect(DialectProcessingContext context, String name) {
@@ -89,6 +94,20 @@ class DialectServiceTest {
         .registerDialectCodeActionProviders(dialect.getDialectCodeActionProviders());
   }
 
+  @Test
+  void testGrammarCachesRegistered() {
+    DialectProcessingContext context = mock(DialectProcessingContext.class);
+    CobolDialect dialect = configureDialect(context, "dialect");
+    GrammarCache cache = mock(GrammarCache.class);
+    when(dialect.getGrammarCaches()).thenReturn(ImmutableMap.of("DialectParser", cache));
+    when(ddService.loadDialects(URI.create(""), copybookService, messageService)).thenReturn(ImmutableList.of(dialect));
+
+    dialectService.updateDialects(
+        ImmutableList.of(new DialectRegistryItem(dialect.getName(), URI.create(""), "", "extensionId")));
+
+    verify(dfaCacheGovernor).register("DialectParser", cache);
+  }
+
   @Test
   void testDialectOrder() {
     DialectProcessingContext context = mock(DialectProcessingContext.class);
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.lexer;
+
+import org.antlr.v4.runtime.*;
+import org.eclipse.lsp.cobol.core.CobolLexer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Test that {@link SplicedTokenSource} produces the same tokens and errors as {@link CobolLexer} */
+class SplicedTokenSourceTest {
+  private static final String[] LINES = {
+    "       IDENTIFICATION DIVISION.",
+    "       PROGRAM-ID. TEST1.",
+    "       01 PARENT PIC X(10).",
+    "          05 CHILD PIC",
+    "             9(5)V99.",
+    "          05 CHILD2 PIC\r",
+    "       MOVE 'ABC' TO PARENT.",
+    "      * comment line",
+    "           DISPLAY \"Ä😀\" CHILD.",
+    "",
+    "       ",
+    "       PROCEDURE DIVISION.",
+  };
+
+  private final CobolTokenCache cache = new CobolTokenCache();
+
+  @Test
+  void testSameTokensAsLexer() {
+    String text = generateText(new Random(42), 3000);
+    assertSameTokens(text);
+    // The second run splices the cached chunks
+    assertSameTokens(text);
+  }
+
+  @Test
+  void testSameTokensAfterEdit() {
+    String text = generateText(new Random(7), 2000);
+    assertSameTokens(text);
+    int middle = text.indexOf('\n', text.length() / 2) + 1;
+    assertSameTokens(text.substring(0, middle) + "          05 CHILD PIC\n" + text.substring(middle));
+  }
+
+  @Test
+  void testSpecialSeparatorsAfterEdit() {
+    String body = generateSeparatorsText(new Random(11));
+    String text = "       CBL LIB\n       ID DIVISION.\n" + body;
+    assertSameTokens(text);
+    int end = text.lastIndexOf('\n', text.length() - 2) + 1;
+    assertSameTokens(text.substring(0, end) + "       MOVE 1 TO A, B.\n" + text.substring(end));
+  }
+
+  @Test
+  void testSpecialSeparatorsOfSharedLines() {
+    String body = generateSeparatorsText(new Random(13));
+    assertSameTokens("       CBL LIB\n       ID DIVISION.\n" + body);
+    assertSameTokens("       ID DIVISION.\n" + body);
+    assertSameTokens("       PROCESS LIB\n       IDENTIFICATION DIVISION.\n" + body);
+  }
+
+  @Test
+  void testEmptyText() {
+    assertSameTokens("");
+  }
+
+  private void assertSameTokens(String text) {
+    CobolLexer lexer = new CobolLexer(CharStreams.fromString(text));
+    lexer.removeErrorListeners();
+    List<String> expected = new ArrayList<>();
+    lexer.addErrorListener(new RecordingListener(expected));
+    readAll(lexer, expected);
+
+    SplicedTokenSource source = cache.createTokenSource(text);
+    List<String> actual = new ArrayList<>();
+    source.addErrorListener(new RecordingListener(actual));
+    readAll(source, actual);
+
+    assertEquals(expected, actual);
+  }
+
+  private static void readAll(TokenSource source, List<String> events) {
+    Token token;
+    do {
+      token = source.nextToken();
+      events.add(
+          token.getType()
+              + ":"
+              + token.getChannel()
+              + ":"
+              + token.getStartIndex()
+              + "-"
+              + token.getStopIndex()
+              + "@"
+              + token.getLine()
+              + ","
+              + token.getCharPositionInLine()
+              + " "
+              + token.getText());
+    } while (token.getType() != Token.EOF);
+  }
+
+  private static String generateText(Random random, int lineCount) {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < lineCount; i++) {
+      text.append(LINES[random.nextInt(LINES.length)]).append('\n');
+    }
+    return text.toString();
+  }
+
+  /** Generate the text with the separators that depend on the CBL card, IDENTIFICATION resets them */
+  private static String generateSeparatorsText(Random random) {
+    return generateText(random, 1000)
+        .replace("IDENTIFICATION DIVISION.", "ENVIRONMENT DIVISION.")
+        .replace("TO PARENT.", "TO PARENT, CHILD; CHILD2.");
+  }
+
+  /** Records the errors among the tokens to check the order */
+  private static class RecordingListener extends BaseErrorListener {
+    private final List<String> events;
+
+    RecordingListener(List<String> events) {
+      this.events = events;
+    }
+
+    @Override
+    public void syntaxError(
+        Recognizer<?, ?> recognizer,
+        Object offendingSymbol,
+        int line,
+        int charPositionInLine,
+        String msg,
+        RecognitionException e) {
+      events.add("error@" + line + "," + charPositionInLine + " " + msg);
+    }
+  }
+}
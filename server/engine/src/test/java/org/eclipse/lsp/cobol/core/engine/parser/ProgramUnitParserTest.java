@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.parser;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.eclipse.lsp.cobol.common.error.SyntaxError;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
+import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.common.message.MessageTemplate;
+import org.eclipse.lsp.cobol.core.CobolLexer;
+import org.eclipse.lsp.cobol.core.CobolParser;
+import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
+import org.eclipse.lsp.cobol.core.strategy.CobolErrorStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/** Test for {@link ProgramUnitParser} */
+class ProgramUnitParserTest {
+  private static final String URI = "document.cbl";
+  private static final String PROGRAM_A =
+      "       IDENTIFICATION DIVISION.\n"
+          + "       PROGRAM-ID. A.\n"
+          + "       PROCEDURE DIVISION.\n"
+          + "           DISPLAY 'A'.\n"
+          + "       END PROGRAM A.\n";
+  private static final String PROGRAM_B =
+      "       IDENTIFICATION DIVISION.\n"
+          + "       PROGRAM-ID. B.\n"
+          + "       PROCEDURE DIVISION.\n"
+          + "           DISPLAY 'B'\n"
+          + "           MOVE 1 TO.\n"
+          + "       END PROGRAM B.\n";
+  private static final String VALID_PROGRAM_B = PROGRAM_B.replace("MOVE 1 TO.", "MOVE 1 TO X.");
+  private static final String PROGRAM_C =
+      "       IDENTIFICATION DIVISION.\n"
+          + "       PROGRAM-ID. C.\n"
+          + "       PROCEDURE DIVISION.\n"
+          + "           DISPLAY 'C' 'D'.\n"
+          + "       END PROGRAM C.\n";
+
+  private final MessageService messageService = mock(MessageService.class);
+  private final ProgramUnitParser unitParser = new ProgramUnitParser();
+
+  @Test
+  void testOnlyEditedUnitIsParsed() {
+    Parsed first = parse(unitParser, PROGRAM_A + PROGRAM_B + PROGRAM_C);
+    List<ParseTree> firstUnits = units(first.tree);
+
+    String edited = PROGRAM_A.replace("DISPLAY 'A'.", "DISPLAY 'A'\n           DISPLAY 'E'.") + PROGRAM_B + PROGRAM_C;
+    Parsed second = parse(unitParser, edited);
+    List<ParseTree> secondUnits = units(second.tree);
+
+    assertSame(first.tree, second.tree);
+    assertNotSame(firstUnits.get(0), secondUnits.get(0));
+    assertSame(firstUnits.get(1), secondUnits.get(1));
+    assertSame(firstUnits.get(2), secondUnits.get(2));
+    assertSameAsFullParse(second, edited);
+  }
+
+  @Test
+  void testErrorsOfReusedUnitsAreReplayed() {
+    parse(unitParser, PROGRAM_A + PROGRAM_B + PROGRAM_C);
+
+    String edited = PROGRAM_A + PROGRAM_B + PROGRAM_C.replace("'C' 'D'", "'C'\n           'D'");
+    Parsed second = parse(unitParser, edited);
+
+    assertFalse(second.listener.getErrors().isEmpty());
+    assertSameAsFullParse(second, edited);
+  }
+
+  @Test
+  void testNestedUnitIsParsed() {
+    String nested = PROGRAM_A.replace("       END PROGRAM A.\n", VALID_PROGRAM_B + "       END PROGRAM A.\n");
+    Parsed first = parse(unitParser, nested + PROGRAM_C);
+
+    String edited = nested.replace("DISPLAY 'B'", "DISPLAY 'B'\n           DISPLAY 'F'") + PROGRAM_C;
+    Parsed second = parse(unitParser, edited);
+
+    assertTrue(first.listener.getErrors().isEmpty());
+    assertSame(first.tree, second.tree);
+    assertSame(units(first.tree).get(0), units(second.tree).get(0));
+    assertSameAsFullParse(second, edited);
+  }
+
+  @Test
+  void testUndelimitedUnitWithErrorsParsesWholeDocument() {
+    String nested = PROGRAM_A.replace("       END PROGRAM A.\n", PROGRAM_B + "       END PROGRAM A.\n");
+    Parsed first = parse(unitParser, nested + PROGRAM_C);
+
+    String edited = nested.replace("MOVE 1 TO.", "MOVE 1 TO X.") + PROGRAM_C;
+    Parsed second = parse(unitParser, edited);
+
+    assertNotSame(first.tree, second.tree);
+    assertSameAsFullParse(second, edited);
+  }
+
+  @Test
+  void testChangeAcrossUnitsParsesWholeDocument() {
+    Parsed first = parse(unitParser, PROGRAM_A + PROGRAM_B + PROGRAM_C);
+
+    String edited = PROGRAM_A.replace("       END PROGRAM A.\n", "") + PROGRAM_B + PROGRAM_C;
+    Parsed second = parse(unitParser, edited);
+
+    assertNotSame(first.tree, second.tree);
+    assertSameAsFullParse(second, edited);
+  }
+
+  @Test
+  void testEditBetweenUnitsParsesWholeDocument() {
+    Parsed first = parse(unitParser, PROGRAM_A + PROGRAM_B + PROGRAM_C);
+
+    String edited = PROGRAM_A + "      * comment\n" + PROGRAM_B + PROGRAM_C;
+    Parsed second = parse(unitParser, edited);
+
+    assertNotSame(first.tree, second.tree);
+    assertSameAsFullParse(second, edited);
+  }
+
+  @Test
+  void testEditOfFirstUnitTokenParsesWholeDocument() {
+    Parsed first = parse(unitParser, PROGRAM_A + PROGRAM_B + PROGRAM_C);
+
+    String edited = PROGRAM_A + PROGRAM_B + PROGRAM_C.replace("IDENTIFICATION", "ID");
+    Parsed second = parse(unitParser, edited);
+
+    assertNotSame(first.tree, second.tree);
+    assertSameAsFullParse(second, edited);
+  }
+
+  @Test
+  void testEditAfterLastUnitParsesWholeDocument() {
+    Parsed first = parse(unitParser, PROGRAM_A + PROGRAM_B);
+
+    String edited = PROGRAM_A + PROGRAM_B + "       DISPLAY 'G'.\n";
+    Parsed second = parse(unitParser, edited);
+
+    assertNotSame(first.tree, second.tree);
+    assertSameAsFullParse(second, edited);
+  }
+
+  @Test
+  void testEditOfLastUnitReusesUnitsBefore() {
+    Parsed first = parse(unitParser, PROGRAM_A + PROGRAM_B + PROGRAM_C);
+
+    String edited = PROGRAM_A + PROGRAM_B + PROGRAM_C.replace("'C' 'D'", "'C' 'D' 'E'");
+    Parsed second = parse(unitParser, edited);
+
+    assertSame(first.tree, second.tree);
+    assertSame(units(first.tree).get(1), units(second.tree).get(1));
+    assertSameAsFullParse(second, edited);
+  }
+
+  @Test
+  void testReplayedErrorsHaveRenderedArguments() {
+    parse(unitParser, PROGRAM_A + PROGRAM_B + PROGRAM_C);
+
+    String edited = PROGRAM_A.replace("'A'", "'AA'") + PROGRAM_B + PROGRAM_C;
+    Parsed second = parse(unitParser, edited);
+
+    assertFalse(second.listener.getErrors().isEmpty());
+    second.listener.getErrors().forEach(error -> assertRendered(error.getMessageTemplate()));
+    assertSameAsFullParse(second, edited);
+  }
+
+  @Test
+  void testFailureOfUnitParsingParsesWholeDocument() {
+    Parsed first = parse(unitParser, PROGRAM_A + PROGRAM_B + PROGRAM_C);
+
+    String edited = PROGRAM_A + PROGRAM_B + PROGRAM_C.replace("'C' 'D'", "'C'\n           'D'");
+    Parsed second = parse(unitParser, edited, new FailingOnceListener());
+
+    assertNotSame(first.tree, second.tree);
+    assertSameAsFullParse(second, edited);
+    assertSameAsFullParse(parse(unitParser, PROGRAM_A + PROGRAM_B + PROGRAM_C), PROGRAM_A + PROGRAM_B + PROGRAM_C);
+  }
+
+  @Test
+  void testSameTokensReuseTree() {
+    Parsed first = parse(unitParser, PROGRAM_A + PROGRAM_B);
+    Parsed second = parse(unitParser, PROGRAM_A + PROGRAM_B);
+
+    assertSame(first.tree, second.tree);
+    assertSameAsFullParse(second, PROGRAM_A + PROGRAM_B);
+  }
+
+  @Test
+  void testRemovedDocumentIsParsedAgain() {
+    Parsed first = parse(unitParser, PROGRAM_A + PROGRAM_B);
+    unitParser.remove(URI);
+    Parsed second = parse(unitParser, PROGRAM_A + PROGRAM_B);
+
+    assertNotSame(first.tree, second.tree);
+    assertSameAsFullParse(second, PROGRAM_A + PROGRAM_B);
+  }
+
+  private void assertSameAsFullParse(Parsed actual, String text) {
+    Parsed expected = parse(new ProgramUnitParser(), text);
+    assertEquals(expected.tree.toStringTree(expected.parser), actual.tree.toStringTree(actual.parser));
+    assertEquals(describe(expected.listener.getErrors()), describe(actual.listener.getErrors()));
+    assertTerminalsFrom(actual.tokens, actual.tree);
+  }
+
+  private static void assertTerminalsFrom(CommonTokenStream tokens, ParseTree tree) {
+    if (tree instanceof TerminalNode) {
+      int index = ((TerminalNode) tree).getSymbol().getTokenIndex();
+      assertTrue(index < 0 || tokens.get(index) == ((TerminalNode) tree).getSymbol());
+    }
+    for (int i = 0; i < tree.getChildCount(); i++) {
+      assertTerminalsFrom(tokens, tree.getChild(i));
+    }
+  }
+
+  private static List<String> describe(List<SyntaxError> errors) {
+    return errors.stream()
+        .map(error -> error.getLocation().getLocation().getRange() + " " + error.getMessageTemplate().getTemplate()
+            + " " + Arrays.deepToString(error.getMessageTemplate().getArgs()))
+        .collect(Collectors.toList());
+  }
+
+  private static void assertRendered(MessageTemplate template) {
+    for (Object arg : template.getArgs()) {
+      if (arg instanceof MessageTemplate) {
+        assertRendered((MessageTemplate) arg);
+      } else {
+        assertTrue(arg == null || arg instanceof String || arg instanceof Number, String.valueOf(arg.getClass()));
+      }
+    }
+  }
+
+  private static List<ParseTree> units(CobolParser.StartRuleContext tree) {
+    return tree.compilationUnit().programUnit().stream().map(ParseTree.class::cast).collect(Collectors.toList());
+  }
+
+  private Parsed parse(ProgramUnitParser programUnitParser, String text, ParseTreeListener... parseListeners) {
+    CobolLexer lexer = new CobolLexer(CharStreams.fromString(text));
+    lexer.removeErrorListeners();
+    CommonTokenStream tokens = new CommonTokenStream(lexer);
+    RecordingParserListener listener =
+        new RecordingParserListener(new ExtendedSource(text, URI), new CopybooksRepository());
+    CobolParser parser = new CobolParser(tokens);
+    parser.removeErrorListeners();
+    parser.addErrorListener(listener);
+    parser.setErrorHandler(new CobolErrorStrategy(messageService));
+    Arrays.stream(parseListeners).forEach(parser::addParseListener);
+    return new Parsed(programUnitParser.parse(URI, parser, tokens, listener), parser, tokens, listener);
+  }
+
+  /** Fails when the parser enters the first program unit, as a broken partial parsing would */
+  private static class FailingOnceListener implements ParseTreeListener {
+    private boolean failed;
+
+    @Override
+    public void visitTerminal(TerminalNode node) {
+      // only the rule entries are watched
+    }
+
+    @Override
+    public void visitErrorNode(ErrorNode node) {
+      // only the rule entries are watched
+    }
+
+    @Override
+    public void enterEveryRule(ParserRuleContext ctx) {
+      if (!failed && ctx instanceof CobolParser.ProgramUnitContext) {
+        failed = true;
+        throw new IllegalStateException("Broken partial parsing");
+      }
+    }
+
+    @Override
+    public void exitEveryRule(ParserRuleContext ctx) {
+      // only the rule entries are watched
+    }
+  }
+
+  /** The parse result with the objects that produced it */
+  private static class Parsed {
+    private final CobolParser.StartRuleContext tree;
+    private final CobolParser parser;
+    private final CommonTokenStream tokens;
+    private final RecordingParserListener listener;
+
+    Parsed(CobolParser.StartRuleContext tree, CobolParser parser, CommonTokenStream tokens,
+           RecordingParserListener listener) {
+      this.tree = tree;
+      this.parser = parser;
+      this.tokens = tokens;
+      this.listener = listener;
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.lsp.cobol.common.ResultWithErrors;
+import org.eclipse.lsp.cobol.common.copybook.CopybookConfig;
+import org.eclipse.lsp.cobol.common.copybook.CopybookProcessingMode;
+import org.eclipse.lsp.cobol.common.copybook.SQLBackend;
+import org.eclipse.lsp.cobol.common.mapping.DocumentMap;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
+import org.eclipse.lsp.cobol.core.preprocessor.CopybookHierarchy;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.CopybookExpansionCache;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.GrammarPreprocessorListenerFactory;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.GrammarPreprocessorListenerImpl;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement.ReplacePreProcessorListener;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement.ReplacePreprocessorFactory;
+import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/** Test for {@link GrammarPreprocessorImpl} */
+class GrammarPreprocessorImplTest {
+  private static final String URI = "document";
+
+  private final GrammarPreprocessorListenerFactory listenerFactory = mock(GrammarPreprocessorListenerFactory.class);
+  private final ReplacePreprocessorFactory replacingFactory = mock(ReplacePreprocessorFactory.class);
+  private final GrammarPreprocessor preprocessor = new GrammarPreprocessorImpl(listenerFactory, replacingFactory);
+
+  /** The text without COPY, REPLACE and other directives is not parsed */
+  @Test
+  void testTextWithoutDirectivesIsSkipped() {
+    PreprocessorContext context = createContext("       01 PARENT.\n          05 CHILD PIC 9.");
+
+    ResultWithErrors<CopybooksRepository> result = preprocessor.preprocess(context);
+
+    assertSame(context.getCopybooksRepository(), result.getResult());
+    verifyNoInteractions(listenerFactory, replacingFactory);
+  }
+
+  /** The text with a directive is preprocessed by both listeners */
+  @Test
+  void testTextWithDirectiveIsPreprocessed() {
+    PreprocessorContext context = createContext("       01 PARENT.\n       COPY CHILD.");
+    ReplacePreProcessorListener replaceListener = mock(ReplacePreProcessorListener.class);
+    GrammarPreprocessorListenerImpl listener = mock(GrammarPreprocessorListenerImpl.class);
+    ResultWithErrors<CopybooksRepository> expected = new ResultWithErrors<>(new CopybooksRepository(), ImmutableList.of());
+    when(replacingFactory.create(any(), any())).thenReturn(replaceListener);
+    when(listenerFactory.create(context)).thenReturn(listener);
+    when(listener.getResult()).thenReturn(expected);
+
+    ResultWithErrors<CopybooksRepository> result = preprocessor.preprocess(context);
+
+    assertSame(expected.getResult(), result.getResult());
+    verify(replaceListener).applyReplacing();
+    verify(listener).getResult();
+  }
+
+  private static PreprocessorContext createContext(String text) {
+    return new PreprocessorContext(
+        URI,
+        new ExtendedSource(text, URI),
+        new DocumentMap(URI, text),
+        new CopybookConfig(CopybookProcessingMode.ENABLED, SQLBackend.DB2_SERVER),
+        new CopybookHierarchy(),
+        new CopybooksRepository(),
+        new CopybookExpansionCache(),
+        () -> { });
+  }
+}
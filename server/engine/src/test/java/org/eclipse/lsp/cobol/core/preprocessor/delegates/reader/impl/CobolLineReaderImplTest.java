@@ -130,6 +130,21 @@ class CobolLineReaderImplTest extends AbstractCobolLinePreprocessorTest {
     assertThat(error.getLocation().getLocation().getRange().getStart().getCharacter(), is(80));
   }
 
+  @Test
+  void testMixedLineSeparators() {
+    ResultWithErrors<List<CobolLine>> processed =
+        processText("       LINE1\r\n\r       LINE3\n       LINE4\u2028       LINE5\r\n");
+
+    assertThat(processed.getResult(), hasSize(5));
+    assertThat(processed.getResult().get(0), hasToString("       LINE1"));
+    assertThat(processed.getResult().get(1), hasToString(""));
+    assertThat(processed.getResult().get(2), hasToString("       LINE3"));
+    assertThat(processed.getResult().get(3), hasToString("       LINE4"));
+    assertThat(processed.getResult().get(4), hasToString("       LINE5"));
+    assertThat(processed.getResult().get(4).getNumber(), is(4));
+    assertThat(processed.getErrors(), hasSize(0));
+  }
+
   // END @Test methods
 
   private List<String> createTextToTest() {
@@ -25,6 +25,7 @@ import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement.ReplaceData;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement.ReplacingService;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement.ReplacingServiceImpl;
+import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.junit.jupiter.api.Test;
 
@@ -60,6 +61,24 @@ class ReplacingServiceImplTest {
     assertEquals("01 ABC.", dm2.extendedText());
   }
 
+  /**
+   * Test the service applies the patterns one by one on several lines, so the following pattern
+   * replaces the result of the previous one. The matches out of the scope remain as is.
+   */
+  @Test
+  void testApplyReplacingOnSeveralLines() {
+    ReplacingService replacingService = new ReplacingServiceImpl(messageService);
+    DocumentMap documentMap =
+        new DocumentMap(TextTransformations.of("       AAA BBB\n       BBB AAA\n       AAA.", ""));
+    replacingService.applyReplacing(
+        documentMap,
+        new ReplaceData(
+            ImmutableList.of(Pair.of("AAA", "BBB"), Pair.of("BBB", "CCC")),
+            "",
+            new Range(new Position(0, 0), new Position(1, 80))));
+    assertEquals("       CCC CCC\n       CCC CCC\n       AAA.", documentMap.extendedText());
+  }
+
   /**
    * Test the way service retrieves the replacing pattern from the pseudo text. It should remove all
    * the equals chars and provide a trimmed regex that matches expected token sequence ignoring the
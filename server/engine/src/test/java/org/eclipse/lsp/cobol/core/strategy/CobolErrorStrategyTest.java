@@ -17,8 +17,11 @@ package org.eclipse.lsp.cobol.core.strategy;
 import org.antlr.v4.runtime.*;
 import org.antlr.v4.runtime.misc.IntervalSet;
 import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.common.message.MessageTemplate;
+import org.eclipse.lsp.cobol.core.MessageServiceParser;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.util.Collections;
 
@@ -40,14 +43,13 @@ class CobolErrorStrategyTest {
     NoViableAltException error =
         new NoViableAltException(recognizer, stream, token, token, null, null);
     CobolErrorStrategy strategy = new CobolErrorStrategy(messageService);
-    when(messageService.getMessage(
-            matches("ErrorStrategy.rulereportNoViableAlternative"), anyString()))
-        .thenReturn("ErrorStrategy.rulereportNoViableAlternative");
-    when(messageService.getMessage(matches("ErrorStrategy.reportNoViableAlternative"), anyString()))
-        .thenReturn("No viable alternative at input text");
-
     when(recognizer.getInputStream()).thenReturn(stream);
     when(stream.getText(token, token)).thenReturn("text");
+    when(messageService.localizeTemplate(
+            MessageTemplate.of(
+                "ErrorStrategy.reportNoViableAlternative",
+                new ErrorMessageHelper.InputText(stream, token, token))))
+        .thenReturn("No viable alternative at input text");
     when(recognizer.getRuleInvocationStack()).thenReturn(Collections.singletonList("rule"));
 
     strategy.reportError(recognizer, error);
@@ -71,17 +73,44 @@ class CobolErrorStrategyTest {
     when(intervalSet.toString(vocab)).thenReturn("text");
     when(errorMock.getExpectedTokens()).thenReturn(intervalSet);
     when(errorMock.getOffendingToken()).thenReturn(token);
-    when(messageService.getMessage(
-            matches("ErrorStrategy.rulereportInputMismatch"), anyString(), anyString()))
-        .thenReturn("ErrorStrategy.rulereportInputMismatch");
-    when(messageService.getMessage(
-            matches("ErrorStrategy.reportInputMismatch"), anyString(), anyString()))
-        .thenReturn("Syntax error on '<0>' expected text");
+    when(messageService.localizeTemplate(any(MessageTemplate.class)))
+        .thenAnswer(
+            invocation -> {
+              MessageTemplate template = invocation.getArgument(0);
+              Assertions.assertEquals("ErrorStrategy.reportInputMismatch", template.getTemplate());
+              return String.format("Syntax error on %s expected %s", template.getArgs());
+            });
     strategy.reportError(recognizer, errorMock);
     verify(recognizer)
         .notifyErrorListeners(token, "Syntax error on '<0>' expected text", errorMock);
   }
 
+  @Test
+  void messageServiceParserReceivesTemplateTest() {
+    MessageServiceParser recognizer = mock(MessageServiceParser.class);
+    Token token = mock(Token.class);
+    InputMismatchException errorMock = mock(InputMismatchException.class);
+    IntervalSet intervalSet = mock(IntervalSet.class);
+
+    String[] vocabString = new String[] {"text", "to", "test"};
+    VocabularyImpl vocab = new VocabularyImpl(vocabString, vocabString);
+    CobolErrorStrategy strategy = new CobolErrorStrategy(messageService);
+
+    when(recognizer.getVocabulary()).thenReturn(vocab);
+    when(intervalSet.toString(vocab)).thenReturn("text");
+    when(errorMock.getExpectedTokens()).thenReturn(intervalSet);
+    when(errorMock.getOffendingToken()).thenReturn(token);
+    strategy.reportError(recognizer, errorMock);
+
+    ArgumentCaptor<MessageTemplate> captor = ArgumentCaptor.forClass(MessageTemplate.class);
+    verify(recognizer).notifyErrorListeners(eq(token), captor.capture(), eq(errorMock));
+    verify(intervalSet, never()).toString(vocab);
+    verifyNoInteractions(messageService);
+    Assertions.assertEquals("ErrorStrategy.reportInputMismatch", captor.getValue().getTemplate());
+    Assertions.assertEquals("'<0>'", captor.getValue().getArgs()[0]);
+    Assertions.assertEquals("text", captor.getValue().getArgs()[1].toString());
+  }
+
   @Test
   void failedPredicateExceptionTest() throws NullPointerException {
     Parser recognizer = mock(Parser.class);
@@ -18,7 +18,8 @@ package org.eclipse.lsp.cobol.core.strategy;
 import com.google.common.collect.ImmutableList;
 import org.antlr.v4.runtime.*;
 import org.antlr.v4.runtime.misc.IntervalSet;
-import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.common.message.MessageTemplate;
+import org.eclipse.lsp.cobol.core.CobolLexer;
 import org.eclipse.lsp.cobol.core.CobolParser;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -28,12 +29,10 @@ import static org.mockito.Mockito.*;
 
 /** Tests {@link ErrorMessageHelper} class. */
 class ErrorMessageHelperTest {
-  private final MessageService messageService = mock(MessageService.class);
+  private final ErrorMessageHelper errorMessageHelper = new ErrorMessageHelper();
 
   @Test
   void getInputMismatchMessage_whenTokenTypeNotEOF() {
-    ErrorMessageHelper errorMessageHelper = new ErrorMessageHelper(messageService);
-
     Parser recognizer = mock(Parser.class);
     InputMismatchException mockInputMismatchExp = mock(InputMismatchException.class);
     Vocabulary vocabulary = mock(Vocabulary.class);
@@ -45,43 +44,43 @@ class ErrorMessageHelperTest {
     when(mockInputMismatchExp.getExpectedTokens()).thenReturn(interval);
     when(interval.toString(any(Vocabulary.class))).thenReturn("INTERVAL");
 
-    errorMessageHelper.getInputMismatchMessage(
-        recognizer, mockInputMismatchExp, token, "OFFENDING_TOKEN");
-    verify(messageService).getMessage(REPORT_INPUT_MISMATCH, "OFFENDING_TOKEN", "INTERVAL");
+    MessageTemplate message =
+        errorMessageHelper.getInputMismatchMessage(
+            recognizer, mockInputMismatchExp, token, "OFFENDING_TOKEN");
+    verify(interval, never()).toString(any(Vocabulary.class));
+    Assertions.assertEquals(REPORT_INPUT_MISMATCH, message.getTemplate());
+    Assertions.assertEquals("OFFENDING_TOKEN", message.getArgs()[0]);
+    Assertions.assertEquals("INTERVAL", message.getArgs()[1].toString());
   }
 
   @Test
   void getInputMismatchMessage_whenTokenTypeIsEOF() {
-    ErrorMessageHelper errorMessageHelper = new ErrorMessageHelper(messageService);
-
     Parser recognizer = mock(Parser.class);
     InputMismatchException mockInputMismatchExp = mock(InputMismatchException.class);
     Token token = mock(Token.class);
 
     when(token.getType()).thenReturn(-1);
 
-    errorMessageHelper.getInputMismatchMessage(
-        recognizer, mockInputMismatchExp, token, "OFFENDING_TOKEN");
-    verify(messageService).getMessage(END_OF_FILE_MESSAGE);
+    Assertions.assertEquals(
+        MessageTemplate.of(END_OF_FILE_MESSAGE),
+        errorMessageHelper.getInputMismatchMessage(
+            recognizer, mockInputMismatchExp, token, "OFFENDING_TOKEN"));
   }
 
   @Test
   void getUnwantedTokenMessage_whenTokenTypeIsEOF() {
-    ErrorMessageHelper errorMessageHelper = new ErrorMessageHelper(messageService);
-
     Parser recognizer = mock(Parser.class);
     Token token = mock(Token.class);
 
     when(token.getType()).thenReturn(-1);
 
-    errorMessageHelper.getUnwantedTokenMessage(recognizer, token);
-    verify(messageService).getMessage(END_OF_FILE_MESSAGE);
+    Assertions.assertEquals(
+        MessageTemplate.of(END_OF_FILE_MESSAGE),
+        errorMessageHelper.getUnwantedTokenMessage(recognizer, token));
   }
 
   @Test
   void getUnwantedTokenMessage_whenTokenTypeNotEOF_andTokenInSpecialToken_andInlineStatement() {
-    ErrorMessageHelper errorMessageHelper = new ErrorMessageHelper(messageService);
-
     Parser recognizer = mock(Parser.class);
     Token token = mock(Token.class);
     ParserRuleContext parserRuleContext = mock(ParserRuleContext.class);
@@ -91,14 +90,13 @@ class ErrorMessageHelperTest {
     when(recognizer.getContext()).thenReturn(parserRuleContext);
     when(parserRuleContext.getRuleIndex()).thenReturn(CobolParser.RULE_performInlineStatement);
 
-    errorMessageHelper.getUnwantedTokenMessage(recognizer, token);
-    verify(messageService).getMessage(PERFORM_MISSING_END, "'EXEC SQL'");
+    Assertions.assertEquals(
+        MessageTemplate.of(PERFORM_MISSING_END, "'EXEC SQL'"),
+        errorMessageHelper.getUnwantedTokenMessage(recognizer, token));
   }
 
   @Test
   void getUnwantedTokenMessage_whenTokenTypeNotEOF_andTokenInSpecialToken() {
-    ErrorMessageHelper errorMessageHelper = new ErrorMessageHelper(messageService);
-
     Parser recognizer = mock(Parser.class);
     Token token = mock(Token.class);
     ParserRuleContext parserRuleContext = mock(ParserRuleContext.class);
@@ -112,14 +110,14 @@ class ErrorMessageHelperTest {
     when(recognizer.getExpectedTokens()).thenReturn(interval);
     when(interval.toString(any(Vocabulary.class))).thenReturn("INTERVAL");
 
-    errorMessageHelper.getUnwantedTokenMessage(recognizer, token);
-    verify(messageService).getMessage(REPORT_UNWANTED_TOKEN, "'EXEC SQL'", "INTERVAL");
+    MessageTemplate message = errorMessageHelper.getUnwantedTokenMessage(recognizer, token);
+    Assertions.assertEquals(REPORT_UNWANTED_TOKEN, message.getTemplate());
+    Assertions.assertEquals("'EXEC SQL'", message.getArgs()[0]);
+    Assertions.assertEquals("INTERVAL", message.getArgs()[1].toString());
   }
 
   @Test
   void getExpectedText() {
-    ErrorMessageHelper errorMessageHelper = new ErrorMessageHelper(messageService);
-
     Parser recognizer = mock(Parser.class);
     IntervalSet interval = mock(IntervalSet.class);
     Vocabulary vocabulary = mock(Vocabulary.class);
@@ -128,10 +126,24 @@ class ErrorMessageHelperTest {
     when(recognizer.getVocabulary()).thenReturn(vocabulary);
     when(interval.toString(any(Vocabulary.class))).thenReturn("INTERVAL");
 
-    String expectedText = errorMessageHelper.getExpectedText(recognizer);
+    String expectedText = errorMessageHelper.getExpectedText(recognizer).toString();
     Assertions.assertEquals("INTERVAL", expectedText);
   }
 
+  @Test
+  void getExpectedText_isBuiltOnceAndComparedByTokens() {
+    Parser recognizer = mock(Parser.class);
+    Vocabulary vocabulary = new VocabularyImpl(null, new String[] {null, "ONE", "TWO_WORDS"});
+    when(recognizer.getVocabulary()).thenReturn(vocabulary);
+    when(recognizer.getExpectedTokens()).thenReturn(IntervalSet.of(1, 2));
+
+    ErrorMessageHelper.ExpectedText expectedText = errorMessageHelper.getExpectedText(recognizer);
+
+    Assertions.assertEquals(errorMessageHelper.getExpectedText(recognizer), expectedText);
+    Assertions.assertEquals("{ONE, TWO-WORDS}", expectedText.toString());
+    Assertions.assertSame(expectedText.toString(), expectedText.toString());
+  }
+
   @Test
   void getRule() {
     Parser recognizer = mock(Parser.class);
@@ -142,30 +154,47 @@ class ErrorMessageHelperTest {
 
   @Test
   void retrieveInputForNoViableException_whenTokenStreamIsNull() {
-    ErrorMessageHelper errorMessageHelper = new ErrorMessageHelper(messageService);
-
     Parser recognizer = mock(Parser.class);
     NoViableAltException mockException = mock(NoViableAltException.class);
     String returnedStr =
-        errorMessageHelper.retrieveInputForNoViableException(recognizer, mockException);
+        errorMessageHelper.retrieveInputForNoViableException(recognizer, mockException).toString();
     Assertions.assertEquals("<unknown input>", returnedStr);
   }
 
   @Test
   void retrieveInputForNoViableException_whenTokenStreamIsNotNull() {
-    ErrorMessageHelper errorMessageHelper = new ErrorMessageHelper(messageService);
-
     Parser recognizer = mock(Parser.class);
-    TokenStream tokenStream = mock(TokenStream.class);
+    CommonTokenStream tokenStream = createTokens("MOVE  A TO B");
     NoViableAltException mockException = mock(NoViableAltException.class);
 
     when(recognizer.getInputStream()).thenReturn(tokenStream);
-    when(mockException.getStartToken()).thenReturn(mock(Token.class));
-    when(mockException.getOffendingToken()).thenReturn(mock(Token.class));
-    when(tokenStream.getText(any(Token.class), any(Token.class))).thenReturn("INPUT TEXT");
-    String returnedStr =
+    when(mockException.getStartToken()).thenReturn(tokenStream.get(0));
+    when(mockException.getOffendingToken()).thenReturn(tokenStream.get(4));
+    ErrorMessageHelper.InputText input =
         errorMessageHelper.retrieveInputForNoViableException(recognizer, mockException);
 
-    Assertions.assertEquals("INPUT TEXT", returnedStr);
+    Assertions.assertEquals("MOVE  A TO", input.toString());
+    Assertions.assertEquals(tokenStream.getText(tokenStream.get(0), tokenStream.get(4)), input.toString());
+  }
+
+  @Test
+  void inputTextEqualityIsBasedOnText() {
+    CommonTokenStream first = createTokens("MOVE A TO B");
+    CommonTokenStream second = createTokens("DISPLAY A TO B");
+
+    Assertions.assertEquals(
+        new ErrorMessageHelper.InputText(first, first.get(2), first.get(4)),
+        new ErrorMessageHelper.InputText(second, second.get(2), second.get(4)));
+    Assertions.assertNotEquals(
+        new ErrorMessageHelper.InputText(first, first.get(0), first.get(2)),
+        new ErrorMessageHelper.InputText(second, second.get(0), second.get(2)));
+  }
+
+  private static CommonTokenStream createTokens(String text) {
+    CobolLexer lexer = new CobolLexer(CharStreams.fromString(text));
+    lexer.removeErrorListeners();
+    CommonTokenStream tokens = new CommonTokenStream(lexer);
+    tokens.fill();
+    return tokens;
   }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.strategy;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.eclipse.lsp.cobol.core.Db2SqlLexer;
+import org.eclipse.lsp.cobol.core.Db2SqlParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Test for {@link GrammarProfiler} */
+class GrammarProfilerTest {
+  private static final String SQL = "CONNECT TO :LOCNAME USER :AUTHID USING :PASSWORD";
+
+  @AfterEach
+  void disableProfiling() {
+    System.clearProperty("grammarProfile");
+    report();
+  }
+
+  @Test
+  void testReportRanksProfiledDecisions() {
+    System.setProperty("grammarProfile", "true");
+    String tree = parse();
+
+    String[] lines = report().split("\\R");
+
+    assertEquals(tree, parseWithLL());
+    assertTrue(lines[0].startsWith("Grammar"));
+    assertTrue(lines.length > 1);
+    assertTrue(lines[1].startsWith("Db2SqlParser.g4"));
+    double previousTime = Double.MAX_VALUE;
+    for (int i = 1; i < lines.length; i++) {
+      double time = Double.parseDouble(lines[i].trim().split("\\s+")[4]);
+      assertTrue(time <= previousTime);
+      previousTime = time;
+    }
+  }
+
+  @Test
+  void testNothingCollectedWhenDisabled() {
+    parse();
+
+    assertEquals(1, report().split("\\R").length);
+  }
+
+  private static String parse() {
+    Db2SqlParser parser = createParser();
+    return TwoStageParsing.parse(parser, Db2SqlParser::procedureDivisionRules).toStringTree(parser);
+  }
+
+  private static String parseWithLL() {
+    Db2SqlParser parser = createParser();
+    return parser.procedureDivisionRules().toStringTree(parser);
+  }
+
+  private static Db2SqlParser createParser() {
+    Db2SqlLexer lexer = new Db2SqlLexer(CharStreams.fromString(SQL));
+    lexer.removeErrorListeners();
+    Db2SqlParser parser = new Db2SqlParser(new CommonTokenStream(lexer));
+    parser.removeErrorListeners();
+    return parser;
+  }
+
+  private static String report() {
+    StringWriter report = new StringWriter();
+    GrammarProfiler.writeReport(new PrintWriter(report));
+    return report.toString();
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.strategy;
+
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.ParserATNSimulator;
+import org.eclipse.lsp.cobol.core.Db2SqlLexer;
+import org.eclipse.lsp.cobol.core.Db2SqlParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Test for {@link TwoStageParsing} */
+class TwoStageParsingTest {
+  private static final String VALID = "SELECT NAME INTO :NAME FROM EMPLOYEE WHERE ID = :ID";
+  private static final String INVALID = "SELECT NAME INTO :NAME FROM EMPLOYEE WHERE ID = = :ID";
+  private static final String AMBIGUOUS = "CONNECT TO :LOCNAME USER :AUTHID USING :PASSWORD";
+
+  @Test
+  void testValidInputParsedLikeWithLL() {
+    List<String> errors = new ArrayList<>();
+    Db2SqlParser parser = createParser(VALID, errors);
+    DefaultErrorStrategy errorStrategy = new DefaultErrorStrategy();
+    parser.setErrorHandler(errorStrategy);
+
+    ParserRuleContext tree = TwoStageParsing.parse(parser, Db2SqlParser::procedureDivisionRules);
+
+    assertTrue(errors.isEmpty());
+    assertEquals(parseWithLL(VALID, new ArrayList<>()), tree.toStringTree(parser));
+    assertSame(errorStrategy, parser.getErrorHandler());
+  }
+
+  @Test
+  void testAmbiguousInputParsedLikeWithLL() {
+    List<String> errors = new ArrayList<>();
+    Db2SqlParser parser = createParser(AMBIGUOUS, errors);
+
+    ParserRuleContext tree = TwoStageParsing.parse(parser, Db2SqlParser::procedureDivisionRules);
+
+    assertTrue(errors.isEmpty());
+    assertEquals(parseWithLL(AMBIGUOUS, new ArrayList<>()), tree.toStringTree(parser));
+  }
+
+  @Test
+  void testInvalidInputReportsErrorsLikeWithLL() {
+    List<String> errors = new ArrayList<>();
+    Db2SqlParser parser = createParser(INVALID, errors);
+    parser.setErrorHandler(new DefaultErrorStrategy());
+
+    ParserRuleContext tree = TwoStageParsing.parse(parser, Db2SqlParser::procedureDivisionRules);
+
+    List<String> expectedErrors = new ArrayList<>();
+    assertEquals(parseWithLL(INVALID, expectedErrors), tree.toStringTree(parser));
+    assertFalse(errors.isEmpty());
+    assertEquals(expectedErrors, errors);
+  }
+
+  @Test
+  void testParserRestoredOnFailure() {
+    List<String> errors = new ArrayList<>();
+    Db2SqlParser parser = createParser(VALID, errors);
+    DefaultErrorStrategy errorStrategy = new DefaultErrorStrategy();
+    parser.setErrorHandler(errorStrategy);
+    List<ANTLRErrorListener> errorListeners = new ArrayList<>(parser.getErrorListeners());
+    ParserATNSimulator interpreter = parser.getInterpreter();
+
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            TwoStageParsing.parse(
+                parser,
+                p -> {
+                  throw new IllegalStateException("failure");
+                }));
+
+    assertSame(errorStrategy, parser.getErrorHandler());
+    assertSame(interpreter, parser.getInterpreter());
+    assertEquals(errorListeners, parser.getErrorListeners());
+  }
+
+  private static String parseWithLL(String text, List<String> errors) {
+    Db2SqlParser parser = createParser(text, errors);
+    return parser.procedureDivisionRules().toStringTree(parser);
+  }
+
+  private static Db2SqlParser createParser(String text, List<String> errors) {
+    Db2SqlLexer lexer = new Db2SqlLexer(CharStreams.fromString(text));
+    lexer.removeErrorListeners();
+    Db2SqlParser parser = new Db2SqlParser(new CommonTokenStream(lexer));
+    parser.removeErrorListeners();
+    parser.addErrorListener(
+        new BaseErrorListener() {
+          @Override
+          public void syntaxError(
+              Recognizer<?, ?> recognizer,
+              Object offendingSymbol,
+              int line,
+              int charPositionInLine,
+              String msg,
+              RecognitionException e) {
+            errors.add(line + ":" + charPositionInLine + " " + msg);
+          }
+        });
+    return parser;
+  }
+}
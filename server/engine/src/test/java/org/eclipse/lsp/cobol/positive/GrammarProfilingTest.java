@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.positive;
+
+import org.eclipse.lsp.cobol.core.strategy.GrammarProfiler;
+import org.eclipse.lsp.cobol.test.CobolText;
+import org.eclipse.lsp.cobol.test.engine.UseCase;
+import org.eclipse.lsp.cobol.test.engine.UseCaseUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.NullSource;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * This test analyzes the texts from the positive tests set with the grammar profiling enabled, and
+ * writes the decisions of the parsers ranked by the prediction time to
+ * "target/grammar-profile-&lt;folder&gt;.txt". The report also shows the SLL to LL fallbacks, the
+ * ambiguities and the maximal lookahead of the decisions. Disabled by default, to enable provide
+ * <code>-Dtests.profile=true</code> as a system property for the run configuration.
+ */
+class GrammarProfilingTest extends FileBasedTest {
+  private static final String MODE_PROPERTY_NAME = "tests.profile";
+  private static final String TEST_MODE = System.getProperty(MODE_PROPERTY_NAME);
+
+  @ParameterizedTest
+  @MethodSource("getSourceFolder")
+  @DisplayName("Grammar profiling")
+  @NullSource
+  void grammarProfiling(String testFolder) throws IOException {
+    if (!Boolean.TRUE.toString().equals(TEST_MODE) || testFolder == null) return;
+
+    CobolTextRegistry cobolTextRegistry = retrieveTextsRegistry(testFolder);
+    List<CobolText> textsToTest = getTextsToTest(cobolTextRegistry);
+    System.setProperty("grammarProfile", "true");
+    try {
+      for (CobolText text : textsToTest) {
+        UseCaseUtils.analyzeForErrors(
+            UseCase.builder()
+                .documentUri(text.getFileName())
+                .text(text.getFullText())
+                .copybooks(getCopybooks(cobolTextRegistry))
+                .build());
+      }
+    } finally {
+      System.clearProperty("grammarProfile");
+    }
+
+    Path report = Paths.get("target", "grammar-profile-" + Paths.get(testFolder).getFileName() + ".txt");
+    try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(report, StandardCharsets.UTF_8))) {
+      GrammarProfiler.writeReport(writer);
+    }
+    System.out.printf("Grammar profile of %d texts: %s\n", textsToTest.size(), report.toAbsolutePath());
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service;
+
+import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutorService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Test {@link AnalysisScheduler} */
+class AnalysisSchedulerTest {
+  private static final String URI = "file:///c:/workspace/document.cbl";
+
+  @Test
+  void testBurstOfChangesRunsOnlyTheLatestTask() throws Exception {
+    AnalysisScheduler scheduler =
+        new AnalysisScheduler(new CustomThreadPoolExecutorService(2, 2, 60, 1, 100, 1, 10, 1, 10), 200);
+    List<Integer> runs = new CopyOnWriteArrayList<>();
+    CompletableFuture<Void> result = null;
+    for (int i = 0; i < 10; i++) {
+      int version = i;
+      result = scheduler.schedule(URI, () -> runs.add(version));
+    }
+    result.get(5, TimeUnit.SECONDS);
+    assertEquals(1, runs.size());
+    assertEquals(9, runs.get(0));
+  }
+
+  @Test
+  void testPendingTaskWaitsForTheRunningOne() throws Exception {
+    AnalysisScheduler scheduler =
+        new AnalysisScheduler(new CustomThreadPoolExecutorService(2, 2, 60, 1, 100, 1, 10, 1, 10), 0);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger concurrent = new AtomicInteger();
+    AtomicInteger maxConcurrent = new AtomicInteger();
+    Runnable blocking =
+        () -> {
+          maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+          started.countDown();
+          await(release);
+          concurrent.decrementAndGet();
+        };
+    CompletableFuture<Void> first = scheduler.submit(URI, blocking);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    CompletableFuture<Void> second =
+        scheduler.submit(URI, () -> maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max));
+    assertFalse(second.isDone());
+    release.countDown();
+
+    CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+    assertEquals(1, maxConcurrent.get());
+  }
+
+  @Test
+  void testCancelDropsPendingTask() throws Exception {
+    AnalysisScheduler scheduler =
+        new AnalysisScheduler(new CustomThreadPoolExecutorService(1, 1, 60, 1, 100, 1, 10, 1, 10), 60000);
+    AtomicInteger runs = new AtomicInteger();
+    CompletableFuture<Void> result = scheduler.schedule(URI, runs::incrementAndGet);
+    scheduler.cancel(URI);
+    result.get(5, TimeUnit.SECONDS);
+    assertEquals(0, runs.get());
+  }
+
+  @Test
+  void testQueueIsRemovedWhenTasksFinish() throws Exception {
+    AnalysisScheduler scheduler =
+        new AnalysisScheduler(new CustomThreadPoolExecutorService(1, 1, 60, 1, 100, 1, 10, 1, 10), 0);
+    scheduler.submit(URI, () -> { }).get(5, TimeUnit.SECONDS);
+    for (int i = 0; i < 100 && scheduler.hasQueue(URI); i++) {
+      Thread.sleep(10);
+    }
+    assertFalse(scheduler.hasQueue(URI));
+  }
+
+  @Test
+  void testConcurrentCancelNeverRunsTasksInParallel() throws Exception {
+    AnalysisScheduler scheduler =
+        new AnalysisScheduler(new CustomThreadPoolExecutorService(4, 4, 60, 2, 1000, 1, 10, 1, 10), 0);
+    AtomicInteger concurrent = new AtomicInteger();
+    AtomicInteger maxConcurrent = new AtomicInteger();
+    Runnable task =
+        () -> {
+          maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+          Thread.yield();
+          concurrent.decrementAndGet();
+        };
+    List<CompletableFuture<Void>> results = new CopyOnWriteArrayList<>();
+    Thread canceller =
+        new Thread(() -> {
+          for (int i = 0; i < 2000; i++) {
+            scheduler.cancel(URI);
+          }
+        });
+    canceller.start();
+    for (int i = 0; i < 2000; i++) {
+      results.add(scheduler.submit(URI, task));
+    }
+    canceller.join();
+    CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+    assertEquals(1, maxConcurrent.get());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
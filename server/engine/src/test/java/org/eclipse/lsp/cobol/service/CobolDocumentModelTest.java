@@ -15,10 +15,15 @@
 package org.eclipse.lsp.cobol.service;
 
 import org.eclipse.lsp.cobol.common.AnalysisResult;
+import com.google.common.collect.ImmutableList;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
@@ -115,6 +120,159 @@ class CobolDocumentModelTest {
     assertEquals("de", model.getTokenBeforePosition(new Position(1, 2)));
   }
 
+  @Test
+  void testIncrementalChangeWithinLine() {
+    model.applyChanges(ImmutableList.of(change(1, 20, 1, 25, "prog2")));
+    assertEquals(TEXT.replace("test1", "prog2"), model.getText());
+    assertEquals("        PROGRAM-ID. prog2.", model.getLine(1).getText());
+    assertEquals(LINES_NUMBER, model.getLines().size());
+  }
+
+  @Test
+  void testIncrementalChangeAcrossLines() {
+    model.applyChanges(ImmutableList.of(change(0, 8, 2, 8, "")));
+    assertEquals(LINES_NUMBER - 2, model.getLines().size());
+    assertEquals("        DATA DIVISION.", model.getLine(0).getText());
+    assertEquals(TEXT.substring(0, 8) + TEXT.substring(TEXT.indexOf("DATA")), model.getText());
+  }
+
+  @Test
+  void testIncrementalInsertionOfLines() {
+    model.applyChanges(
+        ImmutableList.of(
+            change(3, 0, 3, 0, "       01 A PIC 9.\r\n"),
+            change(4, 0, 4, 0, "       01 B PIC 9.\r\n")));
+    assertEquals(LINES_NUMBER + 2, model.getLines().size());
+    assertEquals("       01 A PIC 9.", model.getLine(3).getText());
+    assertEquals("       01 B PIC 9.", model.getLine(4).getText());
+    assertEquals("        WORKING-STORAGE SECTION.", model.getLine(5).getText());
+  }
+
+  @Test
+  void testIncrementalChangeAtTheEnd() {
+    CobolDocumentModel document = new CobolDocumentModel("", "a\n");
+    document.applyChanges(ImmutableList.of(change(1, 0, 1, 0, "b")));
+    assertEquals("a\nb", document.getText());
+    assertEquals(2, document.getLines().size());
+  }
+
+  @Test
+  void testLineFeedAfterBareCarriageReturn() {
+    CobolDocumentModel document = new CobolDocumentModel("", "A\rB\rC\rD", AnalysisResult.builder().build());
+    document.applyChanges(ImmutableList.of(change(1, 0, 1, 0, "\nX\r")));
+    assertEquals("A\r\nX\rB\rC\rD", document.getText());
+    assertEquals(new CobolDocumentModel("", document.getText()).getLines(), document.getLines());
+    assertEquals("B", document.getLine(2).getText());
+    assertEquals(Optional.of(new Position(2, 0)), document.toAnalyzedPosition(new Position(3, 0)));
+
+    document.applyChanges(ImmutableList.of(change(1, 0, 1, 1, ""), change(1, 0, 2, 0, "\n")));
+    assertEquals("A\r\n\nB\rC\rD", document.getText());
+    assertEquals(new CobolDocumentModel("", document.getText()).getLines(), document.getLines());
+  }
+
+  @Test
+  void testDeletionJoinsBareCarriageReturnAndLineFeed() {
+    CobolDocumentModel document = new CobolDocumentModel("", "A\rX\nB", AnalysisResult.builder().build());
+    document.applyChanges(ImmutableList.of(change(1, 0, 1, 1, "")));
+    assertEquals("A\r\nB", document.getText());
+    assertEquals(2, document.getLines().size());
+    assertEquals("B", document.getLine(1).getText());
+    assertEquals(Optional.of(new Position(2, 0)), document.toAnalyzedPosition(new Position(1, 0)));
+  }
+
+  @Test
+  void testFullChangeReplacesText() {
+    model.applyChanges(ImmutableList.of(new TextDocumentContentChangeEvent("a\nb")));
+    assertEquals("a\nb", model.getText());
+    assertEquals(new CobolDocumentModel("", "a\nb", model.getAnalysisResult()), model);
+  }
+
+  @Test
+  void testStreamOfSingleCharacterEdits() {
+    StringBuilder source = new StringBuilder();
+    for (int i = 0; i < 60000; i++) source.append("       MOVE 1 TO A.\r\n");
+    CobolDocumentModel document = new CobolDocumentModel("", source.toString());
+    StringBuilder expected = new StringBuilder(source);
+    for (int i = 0; i < 1000; i++) {
+      int line = i * 59;
+      document.applyChanges(ImmutableList.of(change(line, 7, line, 7, "X")));
+      expected.insert(line * 21 + 7, 'X');
+      expected.deleteCharAt(line * 21 + 8);
+      document.applyChanges(ImmutableList.of(change(line, 8, line, 9, "")));
+    }
+    assertEquals(expected.toString(), document.getText());
+  }
+
+  @Test
+  void testPositionsAreMappedToTheAnalyzedText() {
+    AnalysisResult result = AnalysisResult.builder().build();
+    model.setAnalysisResult(result);
+    long analyzedVersion = model.getSnapshot().getVersion();
+    model.applyChanges(
+        ImmutableList.of(change(3, 0, 3, 0, "       01 A PIC 9.\r\n       01 B PIC 9.\r\n")));
+
+    assertEquals(Optional.of(new Position(1, 5)), model.toAnalyzedPosition(new Position(1, 5)));
+    assertEquals(Optional.empty(), model.toAnalyzedPosition(new Position(4, 5)));
+    assertEquals(Optional.of(new Position(4, 8)), model.toAnalyzedPosition(new Position(6, 8)));
+    Range analyzedRange = new Range(new Position(4, 8), new Position(4, 12));
+    assertEquals(
+        Optional.of(new Range(new Position(6, 8), new Position(6, 12))),
+        model.toCurrentRange(analyzedRange));
+    assertEquals(Optional.empty(), model.toCurrentRange(new Range(new Position(3, 8), new Position(3, 12))));
+
+    model.setAnalysisResult(result, analyzedVersion + 1);
+    assertEquals(Optional.of(new Position(4, 5)), model.toAnalyzedPosition(new Position(4, 5)));
+  }
+
+  @Test
+  void testFullChangeCannotBeMapped() {
+    model.setAnalysisResult(AnalysisResult.builder().build());
+    model.applyChanges(ImmutableList.of(new TextDocumentContentChangeEvent(TEXT)));
+    assertEquals(Optional.empty(), model.toAnalyzedPosition(new Position(0, 0)));
+  }
+
+  @Test
+  void testCopybookEditsAreNotKept() {
+    CobolDocumentModel copybook = new CobolDocumentModel("", TEXT);
+    for (int i = 0; i < 5000; i++) {
+      copybook.applyChanges(ImmutableList.of(change(1, 8, 1, 8, "X")));
+    }
+    assertEquals(0, copybook.getHistorySize());
+    assertEquals(5000, copybook.getVersion());
+
+    copybook.setAnalysisResult(AnalysisResult.builder().build(), 4999);
+    assertEquals(Optional.empty(), copybook.toAnalyzedPosition(new Position(5, 0)));
+  }
+
+  @Test
+  void testHistoryIsLimitedWithoutAnalysis() {
+    model.setAnalysisResult(AnalysisResult.builder().build());
+    for (int i = 0; i < ChangeHistory.MAX_CHANGES + 10; i++) {
+      model.applyChanges(ImmutableList.of(change(1, 8, 1, 8, "X")));
+    }
+    assertEquals(9, model.getHistorySize());
+    assertEquals(Optional.empty(), model.toAnalyzedPosition(new Position(5, 0)));
+
+    model.setAnalysisResult(AnalysisResult.builder().build());
+    assertEquals(0, model.getHistorySize());
+    assertEquals(Optional.of(new Position(5, 0)), model.toAnalyzedPosition(new Position(5, 0)));
+  }
+
+  @Test
+  void testFullChangeDropsHistory() {
+    model.setAnalysisResult(AnalysisResult.builder().build());
+    model.applyChanges(ImmutableList.of(change(1, 8, 1, 8, "X"), change(2, 8, 2, 8, "X")));
+    assertEquals(2, model.getHistorySize());
+    model.applyChanges(ImmutableList.of(new TextDocumentContentChangeEvent(TEXT)));
+    assertEquals(0, model.getHistorySize());
+  }
+
+  private static TextDocumentContentChangeEvent change(
+      int startLine, int startChar, int endLine, int endChar, String text) {
+    return new TextDocumentContentChangeEvent(
+        new Range(new Position(startLine, startChar), new Position(endLine, endChar)), text);
+  }
+
   private String retrieveFirstTextLine() {
     return TEXT.substring(0, getFirstLineBreak());
   }
@@ -75,6 +75,9 @@ class CobolLanguageServerTest {
   static void init() {
     customExecutor = mock(CustomThreadPoolExecutor.class);
     when(customExecutor.getThreadPoolExecutor()).thenReturn(Executors.newFixedThreadPool(3));
+    when(customExecutor.getInteractiveThreadPoolExecutor()).thenReturn(Executors.newFixedThreadPool(1));
+    when(customExecutor.getCopybookThreadPoolExecutor()).thenReturn(Executors.newFixedThreadPool(1));
+    when(customExecutor.getEventThreadPoolExecutor()).thenReturn(Executors.newFixedThreadPool(1));
     when(customExecutor.getScheduledThreadPoolExecutor())
         .thenReturn(Executors.newSingleThreadScheduledExecutor());
   }
@@ -271,7 +274,7 @@ class CobolLanguageServerTest {
   }
 
   private void checkOnlySupportedCapabilitiesAreSet(ServerCapabilities capabilities) {
-    assertEquals(TextDocumentSyncKind.Full, capabilities.getTextDocumentSync().getLeft());
+    assertEquals(TextDocumentSyncKind.Incremental, capabilities.getTextDocumentSync().getLeft());
     assertTrue(capabilities.getWorkspace().getWorkspaceFolders().getSupported());
     assertTrue(capabilities.getDefinitionProvider().getLeft());
     assertTrue(capabilities.getReferencesProvider().getLeft());
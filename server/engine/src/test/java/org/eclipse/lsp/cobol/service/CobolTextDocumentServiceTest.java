@@ -32,6 +32,8 @@ import org.eclipse.lsp.cobol.domain.databus.model.RunAnalysisEvent;
 import org.eclipse.lsp.cobol.service.delegates.actions.CodeActions;
 import org.eclipse.lsp.cobol.service.delegates.communications.Communications;
 import org.eclipse.lsp.cobol.service.mocks.MockTextDocumentService;
+import org.eclipse.lsp.cobol.service.utils.MeasuredThreadPoolExecutor;
+import org.eclipse.lsp.cobol.service.utils.TestThreadPoolExecutor;
 import org.eclipse.lsp4j.*;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.services.TextDocumentService;
@@ -39,13 +41,20 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.internal.stubbing.answers.AnswersWithDelay;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -125,6 +134,157 @@ class CobolTextDocumentServiceTest extends MockTextDocumentService {
     verify(communications, times(2)).publishDiagnostics(anyMap());
   }
 
+  /**
+   * Test the registered analysis future and the progress of the document are completed when the
+   * analysis task is rejected by the executor
+   */
+  @Test
+  void testRejectedAnalysisCompletesFuture() {
+    ExecutorService rejecting = mock(ExecutorService.class);
+    doThrow(new RejectedExecutionException("rejected")).when(rejecting).execute(any(Runnable.class));
+    service =
+        getMockedTextDocumentService(
+            new TestThreadPoolExecutor() {
+              @Override
+              public ExecutorService getThreadPoolExecutor() {
+                return rejecting;
+              }
+            });
+    mockSettingServiceForCopybooks(Boolean.FALSE);
+
+    service.didOpen(
+        new DidOpenTextDocumentParams(new TextDocumentItem(DOCUMENT_URI, LANGUAGE, 0, TEXT_EXAMPLE)));
+
+    Future<?> future = service.getFutureMap().get(DOCUMENT_URI);
+    assertTrue(future.isDone());
+    assertThrows(ExecutionException.class, future::get);
+    verify(engine, never()).analyze(anyString(), anyString(), any(AnalysisConfig.class));
+    InOrder inOrder = inOrder(communications);
+    inOrder.verify(communications).notifyProgressBegin(DOCUMENT_URI);
+    inOrder.verify(communications).notifyProgressEnd(DOCUMENT_URI);
+  }
+
+  /**
+   * Test the interactive requests are cancelled instead of failing when the queue of the interactive
+   * lane is full
+   */
+  @Test
+  void testInteractiveRequestsCancelledWhenQueueIsFull() throws InterruptedException {
+    MeasuredThreadPoolExecutor interactive = new MeasuredThreadPoolExecutor("interactive", 1, 1, 60, 1);
+    CountDownLatch release = new CountDownLatch(1);
+    try {
+      interactive.execute(() -> awaitQuietly(release));
+      interactive.execute(() -> { });
+      service =
+          getMockedTextDocumentService(
+              new TestThreadPoolExecutor() {
+                @Override
+                public ExecutorService getInteractiveThreadPoolExecutor() {
+                  return interactive;
+                }
+              });
+
+      CompletableFuture<List<? extends TextEdit>> formatting =
+          service.formatting(new DocumentFormattingParams(new TextDocumentIdentifier(DOCUMENT_URI), new FormattingOptions()));
+      CompletableFuture<Either<List<CompletionItem>, CompletionList>> completion =
+          service.completion(
+              new CompletionParams(new TextDocumentIdentifier(DOCUMENT_URI), new Position(0, 8)));
+
+      assertCancelled(formatting);
+      assertCancelled(completion);
+    } finally {
+      release.countDown();
+      interactive.shutdown();
+    }
+  }
+
+  private static void assertCancelled(CompletableFuture<?> future) {
+    assertTrue(future.isCompletedExceptionally());
+    ExecutionException error = assertThrows(ExecutionException.class, future::get);
+    assertTrue(error.getCause() instanceof CancellationException);
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Test the syntax diagnostics reported by the engine before the analysis finishes are published
+   * right away and then replaced by the final ones
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  void testSyntaxDiagnosticsPublishedBeforeAnalysisFinishes() {
+    Map<String, List<Diagnostic>> syntaxDiagnostics =
+        ImmutableMap.of(DOCUMENT_URI, ImmutableList.of(new Diagnostic(new Range(), "syntax")));
+    Map<String, List<Diagnostic>> finalDiagnostics =
+        ImmutableMap.of(DOCUMENT_URI, ImmutableList.of(new Diagnostic(new Range(), "semantic")));
+    mockSettingServiceForCopybooks(Boolean.FALSE);
+    when(configurationService.getConfig(any(), any())).thenReturn(AnalysisConfig.defaultConfig(ENABLED));
+    doAnswer(
+            invocation -> {
+              invocation.<Consumer<Map<String, List<Diagnostic>>>>getArgument(3).accept(syntaxDiagnostics);
+              return AnalysisResult.builder().diagnostics(finalDiagnostics).build();
+            })
+        .when(engine)
+        .analyzeInStages(eq(DOCUMENT_URI), eq(TEXT_EXAMPLE), any(AnalysisConfig.class), any(Consumer.class));
+
+    service.notifyExtensionConfig(ImmutableList.of());
+    openDocument(service);
+
+    InOrder inOrder = inOrder(communications);
+    inOrder.verify(communications).publishDiagnostics(syntaxDiagnostics);
+    inOrder.verify(communications).publishDiagnostics(finalDiagnostics);
+  }
+
+  /**
+   * Test the semantic diagnostics of the previous analysis stay published together with the new
+   * syntax diagnostics until the re-analysis finishes
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  void testSemanticDiagnosticsKeptWhileReanalyzing() {
+    Diagnostic semantic = new Diagnostic(new Range(), "semantic");
+    Diagnostic firstSyntax = new Diagnostic(new Range(), "first syntax");
+    Diagnostic secondSyntax = new Diagnostic(new Range(), "second syntax");
+    List<Diagnostic> syntaxErrors = ImmutableList.of(firstSyntax, secondSyntax);
+    AtomicInteger analyses = new AtomicInteger();
+    mockSettingServiceForCopybooks(Boolean.FALSE);
+    when(configurationService.getConfig(any(), any())).thenReturn(AnalysisConfig.defaultConfig(ENABLED));
+    doAnswer(
+            invocation -> {
+              Diagnostic syntax = syntaxErrors.get(analyses.getAndIncrement());
+              invocation.<Consumer<Map<String, List<Diagnostic>>>>getArgument(3)
+                  .accept(ImmutableMap.of(DOCUMENT_URI, ImmutableList.of(syntax)));
+              return AnalysisResult.builder()
+                  .diagnostics(ImmutableMap.of(DOCUMENT_URI, ImmutableList.of(syntax, semantic)))
+                  .build();
+            })
+        .when(engine)
+        .analyzeInStages(eq(DOCUMENT_URI), anyString(), any(AnalysisConfig.class), any(Consumer.class));
+
+    service.notifyExtensionConfig(ImmutableList.of());
+    openDocument(service);
+    service.didChange(
+        new DidChangeTextDocumentParams(
+            new VersionedTextDocumentIdentifier(DOCUMENT_URI, 2),
+            ImmutableList.of(new TextDocumentContentChangeEvent(INCORRECT_TEXT_EXAMPLE))));
+    waitFor(service, DOCUMENT_URI);
+
+    InOrder inOrder = inOrder(communications);
+    inOrder.verify(communications).publishDiagnostics(ImmutableMap.of(DOCUMENT_URI, ImmutableList.of(firstSyntax)));
+    inOrder.verify(communications)
+        .publishDiagnostics(ImmutableMap.of(DOCUMENT_URI, ImmutableList.of(firstSyntax, semantic)));
+    inOrder.verify(communications)
+        .publishDiagnostics(ImmutableMap.of(DOCUMENT_URI, ImmutableList.of(semantic, secondSyntax)));
+    inOrder.verify(communications)
+        .publishDiagnostics(ImmutableMap.of(DOCUMENT_URI, ImmutableList.of(secondSyntax, semantic)));
+  }
+
   @Test
   void testDidClose() {
     doNothing().when(communications).publishDiagnostics(anyMap());
@@ -140,6 +300,7 @@ class CobolTextDocumentServiceTest extends MockTextDocumentService {
     DidCloseTextDocumentParams closedDocument = new DidCloseTextDocumentParams(testDocument);
     service.didClose(closedDocument);
     assertEquals(Collections.EMPTY_MAP, closeGetter(service));
+    verify(engine).closeDocument(DOCUMENT_URI);
   }
 
   @SafeVarargs
@@ -46,6 +46,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.LOCALE;
@@ -376,9 +377,38 @@ class WorkspaceServiceTest {
             stateService,
             copybookNameService, null, null);
 
+    when(copybookService.invalidateCache(event.getUri())).thenReturn(singleton(UseCaseUtils.DOCUMENT_URI));
     DidChangeWatchedFilesParams params = new DidChangeWatchedFilesParams(singletonList(event));
     service.didChangeWatchedFiles(params);
 
-    verify(broker).postData(any(RunAnalysisEvent.class));
+    verify(copybookService, never()).invalidateCache();
+    verify(broker).postData(new RunAnalysisEvent(false, singleton(UseCaseUtils.DOCUMENT_URI)));
+  }
+
+  /**
+   * This test verifies that the Workspace Service doesn't run the analysis if no document uses the
+   * changed files
+   */
+  @Test
+  void testDidChangeWatchedFilesWithoutDependentDocuments() {
+    DefaultDataBusBroker broker = mock(DefaultDataBusBroker.class);
+    CopybookService copybookService = mock(CopybookService.class);
+
+    WorkspaceService service =
+        new CobolWorkspaceServiceImpl(
+            broker,
+            null,
+            null,
+            copybookService,
+            null,
+            mock(SubroutineService.class),
+            stateService,
+            mock(CopybookNameService.class), null, null);
+
+    String uri = "file:///c:/workspace/COBOL/.copybooks/CpyName.cpy";
+    service.didChangeWatchedFiles(new DidChangeWatchedFilesParams(singletonList(new FileEvent(uri, Changed))));
+
+    verify(copybookService).invalidateCache(uri);
+    verify(broker, never()).postData(any());
   }
 }
@@ -15,13 +15,17 @@
 package org.eclipse.lsp.cobol.service.copybooks;
 
 import com.google.common.collect.ImmutableList;
+import org.eclipse.lsp.cobol.common.ResultWithErrors;
 import org.eclipse.lsp.cobol.common.copybook.*;
+import org.eclipse.lsp.cobol.common.mapping.TextTransformations;
 import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessor;
 import org.eclipse.lsp.cobol.common.utils.PredefinedCopybooks;
 import org.eclipse.lsp.cobol.domain.databus.api.DataBusBroker;
 import org.eclipse.lsp.cobol.domain.databus.model.AnalysisFinishedEvent;
 import org.eclipse.lsp.cobol.lsp.jrpc.CobolLanguageClient;
 import org.eclipse.lsp.cobol.service.providers.ClientProvider;
+import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
+import org.eclipse.lsp.cobol.service.utils.TestThreadPoolExecutor;
 import org.eclipse.lsp.cobol.common.file.FileSystemService;
 import org.eclipse.lsp4j.services.LanguageClient;
 import org.junit.jupiter.api.Assertions;
@@ -31,10 +35,16 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static org.eclipse.lsp.cobol.common.copybook.CopybookProcessingMode.ENABLED;
@@ -166,6 +176,49 @@ class CopybookServiceTest {
     assertEquals(new CopybookModel(copybookName.toCopybookId(DOCUMENT_URI), copybookName, VALID_CPY_URI, CONTENT), copybookModelSkipped);
   }
 
+  /**
+   * Test the targeted cache invalidation evicts only the copybooks resolved to the changed file, and
+   * returns the documents that use it
+   */
+  @Test
+  void testCacheInvalidationForChangedFile() {
+    CopybookName copybookName = createCopybook(VALID_CPY_NAME);
+    CopybookName invalidCopybookName = createCopybook(INVALID_CPY_NAME);
+    CopybookService copybookService = createCopybookService();
+    when(files.decodeURI(VALID_CPY_URI)).thenReturn(VALID_CPY_URI);
+
+    copybookService.resolve(copybookName.toCopybookId(DOCUMENT_URI), copybookName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+    copybookService.resolve(invalidCopybookName.toCopybookId(DOCUMENT_URI), invalidCopybookName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+
+    assertEquals(singleton(DOCUMENT_URI), copybookService.invalidateCache(VALID_CPY_URI));
+
+    copybookService.resolve(copybookName.toCopybookId(DOCUMENT_URI), copybookName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+    copybookService.resolve(invalidCopybookName.toCopybookId(DOCUMENT_URI), invalidCopybookName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+
+    verify(files, times(2)).getContentByPath(cpyPath);
+    verify(client, times(1)).resolveCopybook(DOCUMENT_URI, INVALID_CPY_NAME, "COBOL");
+  }
+
+  /**
+   * Test the copybook name of the changed file is taken without its last extension only, so a file
+   * with a dot in the name doesn't evict the copybook named after its first part
+   */
+  @Test
+  void testCacheInvalidationForDottedFileName() {
+    String dottedUri = VALID_CPY_URI.replace(VALID_CPY_NAME, VALID_CPY_NAME + ".OLD");
+    CopybookName copybookName = createCopybook(VALID_CPY_NAME);
+    CopybookService copybookService = createCopybookService();
+    when(files.decodeURI(dottedUri)).thenReturn(dottedUri);
+    when(files.getNameFromURI(dottedUri)).thenReturn(VALID_CPY_NAME + ".OLD.cpy");
+
+    copybookService.resolve(copybookName.toCopybookId(DOCUMENT_URI), copybookName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+
+    assertTrue(copybookService.invalidateCache(dottedUri).isEmpty());
+
+    copybookService.resolve(copybookName.toCopybookId(DOCUMENT_URI), copybookName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+    verify(files, times(1)).getContentByPath(cpyPath);
+  }
+
   /**
    * Test when cache invalidation invoked, the next copybook requests tries to resolve URI in order
    * to avoid dirty state
@@ -434,7 +487,8 @@ class CopybookServiceTest {
   private CopybookServiceImpl createCopybookService() {
     ClientProvider provider = new ClientProvider();
     provider.setClient(client);
-    return new CopybookServiceImpl(broker, provider, files, preprocessor, new CopybookCache(3, 3, "HOURS"), copybookReferenceRepo);
+    return new CopybookServiceImpl(broker, provider, files, preprocessor, new CopybookCache(3, 3, "HOURS"), copybookReferenceRepo,
+        new TestThreadPoolExecutor());
   }
 
   private CopybookName createCopybook(String displayName) {
@@ -454,6 +508,144 @@ class CopybookServiceTest {
     assertEquals(CONTENT, resolve.getContent());
   }
 
+  /**
+   * Test the copybook content is cleaned only once if the same copybook file is used by several
+   * programs, and the programs share the cleaned text
+   */
+  @Test
+  void testCleanedContentSharedBetweenPrograms() {
+    CopybookName copybookName = createCopybook(VALID_CPY_NAME);
+    CopybookService copybookService = createCopybookService();
+    when(client.resolveCopybook(DOCUMENT_2_URI, VALID_CPY_NAME, "COBOL"))
+        .thenReturn(completedFuture(VALID_CPY_URI));
+    when(preprocessor.cleanUpCode(VALID_CPY_URI, CONTENT))
+        .thenReturn(new ResultWithErrors<>(TextTransformations.of(CONTENT, VALID_CPY_URI), emptyList()));
+
+    CopybookModel first = copybookService.resolve(copybookName.toCopybookId(DOCUMENT_URI), copybookName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, true);
+    CopybookModel second = copybookService.resolve(copybookName.toCopybookId(DOCUMENT_2_URI), copybookName, DOCUMENT_2_URI, DOCUMENT_2_URI, cpyConfig, true);
+
+    assertEquals(CONTENT, first.getContent());
+    assertSame(first.getContent(), second.getContent());
+    verify(files, times(2)).getContentByPath(cpyPath);
+    verify(preprocessor, times(1)).cleanUpCode(VALID_CPY_URI, CONTENT);
+  }
+
+  /**
+   * Test the prefetched copybooks are resolved and read before the analysis requests them, and the
+   * analysis doesn't call the client again
+   */
+  @Test
+  void testPrefetchResolvesCopybooksAhead() {
+    CopybookName copybookName = createCopybook(VALID_CPY_NAME);
+    CopybookService copybookService = createCopybookService();
+    when(preprocessor.cleanUpCode(VALID_CPY_URI, CONTENT))
+        .thenReturn(new ResultWithErrors<>(TextTransformations.of(CONTENT, VALID_CPY_URI), emptyList()));
+
+    copybookService.prefetch(DOCUMENT_URI, "       COPY VALIDNAME.\n       COPY 'VALIDNAME' REPLACING ==A== BY ==B==.");
+    verify(client, times(1)).resolveCopybook(DOCUMENT_URI, VALID_CPY_NAME, "COBOL");
+    verify(files, times(1)).getContentByPath(cpyPath);
+
+    CopybookModel copybookModel = copybookService.resolve(copybookName.toCopybookId(DOCUMENT_URI), copybookName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, true);
+
+    assertEquals(new CopybookModel(copybookName.toCopybookId(DOCUMENT_URI), copybookName, VALID_CPY_URI, CONTENT), copybookModel);
+    verify(client, times(1)).resolveCopybook(DOCUMENT_URI, VALID_CPY_NAME, "COBOL");
+    verify(files, times(1)).getContentByPath(cpyPath);
+    verify(preprocessor, times(1)).cleanUpCode(VALID_CPY_URI, CONTENT);
+  }
+
+  /**
+   * Test the change of a copybook drops only its prefetching, the prefetched copybooks that are not
+   * affected are still used by the analysis
+   */
+  @Test
+  void testCacheInvalidationKeepsUnaffectedPrefetch() {
+    CopybookName copybookName = createCopybook(VALID_CPY_NAME);
+    CopybookService copybookService = createCopybookService();
+    when(preprocessor.cleanUpCode(VALID_CPY_URI, CONTENT))
+        .thenReturn(new ResultWithErrors<>(TextTransformations.of(CONTENT, VALID_CPY_URI), emptyList()));
+    when(files.decodeURI(PARENT_CPY_URI)).thenReturn(PARENT_CPY_URI);
+    when(files.getNameFromURI(PARENT_CPY_URI)).thenReturn(PARENT_CPY_NAME + ".cpy");
+    when(files.decodeURI(VALID_CPY_URI)).thenReturn(VALID_CPY_URI);
+
+    copybookService.prefetch(DOCUMENT_URI, "       COPY VALIDNAME.");
+    copybookService.invalidateCache(PARENT_CPY_URI);
+    copybookService.resolve(copybookName.toCopybookId(DOCUMENT_URI), copybookName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, true);
+    verify(client, times(1)).resolveCopybook(DOCUMENT_URI, VALID_CPY_NAME, "COBOL");
+
+    copybookService.invalidateCache(VALID_CPY_URI);
+    copybookService.resolve(copybookName.toCopybookId(DOCUMENT_URI), copybookName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, true);
+    verify(client, times(2)).resolveCopybook(DOCUMENT_URI, VALID_CPY_NAME, "COBOL");
+  }
+
+  /** Test the copybooks referred from the prefetched copybooks are prefetched as well */
+  @Test
+  void testPrefetchResolvesNestedCopybooks() {
+    CopybookService copybookService = createCopybookService();
+    when(client.resolveCopybook(DOCUMENT_URI, PARENT_CPY_NAME, "COBOL"))
+        .thenReturn(completedFuture(PARENT_CPY_URI));
+    when(files.getPathFromURI(PARENT_CPY_URI)).thenReturn(parentPath);
+    when(files.getContentByPath(parentPath)).thenReturn(PARENT_CONTENT);
+    when(preprocessor.cleanUpCode(PARENT_CPY_URI, PARENT_CONTENT))
+        .thenReturn(new ResultWithErrors<>(TextTransformations.of(PARENT_CONTENT, PARENT_CPY_URI), emptyList()));
+
+    copybookService.prefetch(DOCUMENT_URI, "       COPY PARENT.");
+
+    verify(client).resolveCopybook(DOCUMENT_URI, "NESTED", "COBOL");
+  }
+
+  /**
+   * Test the analysis resolves the copybook itself if its prefetching is blocked in the queue, and
+   * the prefetching is skipped when it starts later
+   */
+  @Test
+  void testBlockedPrefetchIsResolvedOnDemand() throws Exception {
+    CopybookName copybookName = createCopybook(VALID_CPY_NAME);
+    ExecutorService copybookExecutor = Executors.newSingleThreadExecutor();
+    CustomThreadPoolExecutor executors = mock(CustomThreadPoolExecutor.class);
+    when(executors.getCopybookThreadPoolExecutor()).thenReturn(copybookExecutor);
+    ClientProvider provider = new ClientProvider();
+    provider.setClient(client);
+    CopybookService copybookService = new CopybookServiceImpl(broker, provider, files, preprocessor,
+        new CopybookCache(3, 3, "HOURS"), copybookReferenceRepo, executors);
+    when(preprocessor.cleanUpCode(VALID_CPY_URI, CONTENT))
+        .thenReturn(new ResultWithErrors<>(TextTransformations.of(CONTENT, VALID_CPY_URI), emptyList()));
+    CountDownLatch release = new CountDownLatch(1);
+    copybookExecutor.execute(() -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    copybookService.prefetch(DOCUMENT_URI, "       COPY VALIDNAME.");
+    CopybookModel copybookModel = assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+        copybookService.resolve(copybookName.toCopybookId(DOCUMENT_URI), copybookName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, true));
+    release.countDown();
+    copybookExecutor.shutdown();
+    assertTrue(copybookExecutor.awaitTermination(5, TimeUnit.SECONDS));
+
+    assertEquals(CONTENT, copybookModel.getContent());
+    verify(client, times(1)).resolveCopybook(DOCUMENT_URI, VALID_CPY_NAME, "COBOL");
+  }
+
+  /**
+   * Test the prefetching doesn't register the not found copybooks for downloading, it is done only if
+   * the analysis requests them
+   */
+  @Test
+  void testPrefetchDoesNotDownloadMissingCopybooks() {
+    CopybookName copybookName = createCopybook(INVALID_CPY_NAME);
+    CopybookServiceImpl copybookService = createCopybookService();
+
+    copybookService.prefetch(DOCUMENT_URI, "       COPY INVALID.");
+    assertTrue(copybookService.getCopybooksForDownloading().isEmpty());
+
+    copybookService.resolve(copybookName.toCopybookId(DOCUMENT_URI), copybookName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+    assertEquals(1, copybookService.getCopybooksForDownloading().size());
+    verify(client, times(1)).resolveCopybook(DOCUMENT_URI, INVALID_CPY_NAME, "COBOL");
+  }
+
   @Test
   void getCopybookUsageReference() {
     CopybookName copybookName = createCopybook(VALID_CPY_NAME);
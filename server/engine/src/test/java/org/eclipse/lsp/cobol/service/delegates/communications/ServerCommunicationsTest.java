@@ -116,6 +116,52 @@ class ServerCommunicationsTest {
     verify(client, times(1)).publishDiagnostics(eq(new PublishDiagnosticsParams(uri, diagnostics)));
   }
 
+  /**
+   * Method {@link ServerCommunications#publishDiagnostics(Map)} should send to the client only the
+   * diagnostics of the files that changed since the previous call.
+   */
+  @Test
+  void testPublishDiagnosticsSendsOnlyChangedFiles() {
+    String program = UUID.randomUUID().toString();
+    String copybook = UUID.randomUUID().toString();
+    List<Diagnostic> copybookDiagnostics =
+        ImmutableList.of(new Diagnostic(new Range(), "copybook error"));
+
+    communications.publishDiagnostics(
+        ImmutableMap.of(program, ImmutableList.of(), copybook, copybookDiagnostics));
+    List<Diagnostic> programDiagnostics =
+        ImmutableList.of(new Diagnostic(new Range(), "program error"));
+    communications.publishDiagnostics(
+        ImmutableMap.of(
+            program,
+            programDiagnostics,
+            copybook,
+            ImmutableList.of(new Diagnostic(new Range(), "copybook error"))));
+
+    verify(client, never()).publishDiagnostics(eq(new PublishDiagnosticsParams(program, ImmutableList.of())));
+    verify(client).publishDiagnostics(eq(new PublishDiagnosticsParams(copybook, copybookDiagnostics)));
+    verify(client).publishDiagnostics(eq(new PublishDiagnosticsParams(program, programDiagnostics)));
+    verifyNoMoreInteractions(client);
+  }
+
+  /**
+   * Method {@link ServerCommunications#publishDiagnostics(Map)} should publish an empty list for the
+   * files that had diagnostics before but are cleared or absent now.
+   */
+  @Test
+  void testPublishDiagnosticsClearsFiles() {
+    String program = UUID.randomUUID().toString();
+    String copybook = UUID.randomUUID().toString();
+    List<Diagnostic> diagnostics = ImmutableList.of(new Diagnostic(new Range(), "error"));
+
+    communications.publishDiagnostics(ImmutableMap.of(program, diagnostics, copybook, diagnostics));
+    communications.publishDiagnostics(ImmutableMap.of(program, ImmutableList.of()));
+    communications.publishDiagnostics(ImmutableMap.of(program, ImmutableList.of()));
+
+    verify(client, times(1)).publishDiagnostics(eq(new PublishDiagnosticsParams(program, ImmutableList.of())));
+    verify(client, times(1)).publishDiagnostics(eq(new PublishDiagnosticsParams(copybook, ImmutableList.of())));
+  }
+
   @Test
   void testNotifyProgressBegin() throws NoSuchFieldException {
     String uri = UUID.randomUUID().toString();
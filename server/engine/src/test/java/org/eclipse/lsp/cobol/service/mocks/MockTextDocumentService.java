@@ -17,6 +17,7 @@ package org.eclipse.lsp.cobol.service.mocks;
 
 import org.eclipse.lsp.cobol.domain.databus.api.DataBusBroker;
 import org.eclipse.lsp.cobol.cfg.CFASTBuilderImpl;
+import org.eclipse.lsp.cobol.service.AnalysisScheduler;
 import org.eclipse.lsp.cobol.service.CobolLSPServerStateService;
 import org.eclipse.lsp.cobol.service.CobolTextDocumentService;
 import org.eclipse.lsp.cobol.service.settings.ConfigurationService;
@@ -32,9 +33,11 @@ import org.eclipse.lsp.cobol.service.delegates.formations.Formations;
 import org.eclipse.lsp.cobol.service.delegates.hover.HoverProvider;
 import org.eclipse.lsp.cobol.service.delegates.references.Occurrences;
 import org.eclipse.lsp.cobol.common.LanguageEngineFacade;
+import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
 import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutorService;
 import org.eclipse.lsp.cobol.service.utils.TestThreadPoolExecutor;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -47,7 +50,8 @@ import static org.mockito.Mockito.when;
 public class MockTextDocumentService {
 
   @Mock protected Communications communications;
-  @Mock protected LanguageEngineFacade engine;
+  @Mock(answer = Answers.CALLS_REAL_METHODS)
+  protected LanguageEngineFacade engine;
   @Mock protected DataBusBroker broker;
   @Mock protected Completions completions;
   @Mock protected CodeActions actions;
@@ -64,6 +68,14 @@ public class MockTextDocumentService {
    * synchronously.
    */
   protected CobolTextDocumentService getMockedTextDocumentServiceUsingSameThread() {
+    return getMockedTextDocumentService(new TestThreadPoolExecutor());
+  }
+
+  /**
+   * Give a dummy {@link CobolTextDocumentService} with mocked attributes for testing. The tasks run
+   * on the given executors.
+   */
+  protected CobolTextDocumentService getMockedTextDocumentService(CustomThreadPoolExecutor executor) {
     return CobolTextDocumentService.builder()
         .copybookIdentificationService(copybookIdentificationService)
         .communications(communications)
@@ -73,7 +85,8 @@ public class MockTextDocumentService {
         .actions(actions)
         .occurrences(occurrences)
         .formations(formations)
-        .executors(new TestThreadPoolExecutor())
+        .executors(executor)
+        .analysisScheduler(new AnalysisScheduler(executor, 0))
         .cfastBuilder(new CFASTBuilderImpl())
         .disposableLSPStateService(new CobolLSPServerStateService())
         .hoverProvider(hoverProvider)
@@ -90,6 +103,7 @@ public class MockTextDocumentService {
    * the separate thread.
    */
   protected CobolTextDocumentService getMockedTextDocumentServiceUsingSeparateThread() {
+    CustomThreadPoolExecutorService executor = new CustomThreadPoolExecutorService(1, 1, 60, 1, 100, 1, 10, 1, 10);
     return CobolTextDocumentService.builder()
         .copybookIdentificationService(copybookIdentificationService)
         .communications(communications)
@@ -100,7 +114,8 @@ public class MockTextDocumentService {
         .occurrences(occurrences)
         .formations(formations)
         .disposableLSPStateService(new CobolLSPServerStateService())
-        .executors(new CustomThreadPoolExecutorService(1, 1, 60, 1))
+        .executors(executor)
+        .analysisScheduler(new AnalysisScheduler(executor, 0))
         .hoverProvider(hoverProvider)
         .configurationService(configurationService)
         .syncProvider(new SyncProvider())
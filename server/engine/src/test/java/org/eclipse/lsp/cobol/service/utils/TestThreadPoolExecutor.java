@@ -29,6 +29,21 @@ public class TestThreadPoolExecutor implements CustomThreadPoolExecutor {
     return EXECUTOR_SERVICE;
   }
 
+  @Override
+  public ExecutorService getInteractiveThreadPoolExecutor() {
+    return EXECUTOR_SERVICE;
+  }
+
+  @Override
+  public ExecutorService getCopybookThreadPoolExecutor() {
+    return EXECUTOR_SERVICE;
+  }
+
+  @Override
+  public ExecutorService getEventThreadPoolExecutor() {
+    return EXECUTOR_SERVICE;
+  }
+
   @Override
   public ScheduledExecutorService getScheduledThreadPoolExecutor() {
     return EXECUTOR_SERVICE;
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.usecases;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.eclipse.lsp.cobol.common.error.ErrorCodes;
+import org.eclipse.lsp.cobol.common.error.ErrorSource;
+import org.eclipse.lsp.cobol.test.CobolText;
+import org.eclipse.lsp.cobol.test.engine.UseCaseEngine;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import static org.eclipse.lsp4j.DiagnosticSeverity.Error;
+
+/**
+ * Test the copybook copied several times without replacing is expanded at each place, and the
+ * errors found inside it are shown on each copy statement.
+ */
+class TestSameCopybookWithNestedErrorCopiedTwice {
+
+  private static final String TEXT =
+      "       IDENTIFICATION DIVISION.\n"
+          + "       PROGRAM-ID. TESTREPL.\n"
+          + "       DATA DIVISION.\n"
+          + "       WORKING-STORAGE SECTION.\n"
+          + "       01  {$*PARENT1}.\n"
+          + "       {_COPY {~REPL}.|missing_}\n"
+          + "       01  {$*PARENT2}.\n"
+          + "       {_COPY {~REPL}.|missing_}\n"
+          + "       PROCEDURE DIVISION.\n"
+          + "           MOVE 0 TO {$CHILD} OF {$PARENT1}.\n"
+          + "           MOVE 0 TO {$CHILD} OF {$PARENT2}.";
+
+  private static final String REPL =
+      "         05 {$*CHILD} PIC 9.\n" + "       COPY {~CPYNAME|missingCpy}.";
+  private static final String REPL_NAME = "REPL";
+
+  @Test
+  void test() {
+    UseCaseEngine.runTest(
+        TEXT,
+        ImmutableList.of(new CobolText(REPL_NAME, REPL)),
+        ImmutableMap.of(
+            "missing",
+            new Diagnostic(
+                new Range(),
+                "CPYNAME: Copybook not found",
+                Error,
+                ErrorSource.COPYBOOK.getText(),
+                ErrorCodes.MISSING_COPYBOOK.getLabel()),
+            "missingCpy",
+            new Diagnostic(
+                new Range(),
+                "CPYNAME: Copybook not found",
+                Error,
+                ErrorSource.COPYBOOK.getText(),
+                ErrorCodes.MISSING_COPYBOOK.getLabel())));
+  }
+}
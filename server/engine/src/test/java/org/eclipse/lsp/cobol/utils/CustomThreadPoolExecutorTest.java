@@ -16,9 +16,18 @@ package org.eclipse.lsp.cobol.utils;
 
 import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
 import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutorService;
+import org.eclipse.lsp.cobol.service.utils.MeasuredThreadPoolExecutor;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * This class tests provided Custom Thread Executors (ThreadPoolExecutor and
@@ -28,8 +37,69 @@ class CustomThreadPoolExecutorTest {
 
   @Test
   void customExecutorCreatioinTest() {
-    CustomThreadPoolExecutor customExecutor = new CustomThreadPoolExecutorService(4, 5, 60, 3);
+    CustomThreadPoolExecutor customExecutor = new CustomThreadPoolExecutorService(4, 5, 60, 3, 100, 1, 10, 1, 10);
     assertNotNull(customExecutor.getThreadPoolExecutor());
+    assertNotNull(customExecutor.getInteractiveThreadPoolExecutor());
+    assertNotNull(customExecutor.getCopybookThreadPoolExecutor());
+    assertNotNull(customExecutor.getEventThreadPoolExecutor());
     assertNotNull(customExecutor.getScheduledThreadPoolExecutor());
   }
+
+  @Test
+  void interactiveLaneIsNotBlockedByBackgroundWork() throws Exception {
+    CustomThreadPoolExecutorService customExecutor =
+        new CustomThreadPoolExecutorService(1, 1, 60, 1, 10, 1, 10, 1, 10);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    customExecutor.getThreadPoolExecutor().execute(() -> {
+      started.countDown();
+      await(release);
+    });
+    customExecutor.getThreadPoolExecutor().execute(() -> await(release));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    Future<?> interactive = customExecutor.getInteractiveThreadPoolExecutor().submit(() -> { });
+    interactive.get(5, TimeUnit.SECONDS);
+    release.countDown();
+
+    assertEquals(1, customExecutor.getInteractiveQueueWaitStatistics().getExecutedTasks());
+    assertTrue(customExecutor.getBackgroundQueueWaitStatistics().getExecutedTasks() >= 1);
+  }
+
+  @Test
+  void eventLaneAcceptsEventsWhenBackgroundLaneIsFull() throws Exception {
+    CustomThreadPoolExecutorService customExecutor =
+        new CustomThreadPoolExecutorService(1, 1, 60, 1, 1, 1, 10, 1, 10);
+    CountDownLatch release = new CountDownLatch(1);
+    customExecutor.getThreadPoolExecutor().execute(() -> await(release));
+    customExecutor.getThreadPoolExecutor().execute(() -> await(release));
+    customExecutor.getEventThreadPoolExecutor().execute(() -> await(release));
+    for (int i = 0; i < 10; i++) {
+      customExecutor.getEventThreadPoolExecutor().execute(() -> { });
+    }
+    release.countDown();
+
+    Future<?> last = customExecutor.getEventThreadPoolExecutor().submit(() -> { });
+    last.get(5, TimeUnit.SECONDS);
+    customExecutor.logQueueWaitStatistics();
+  }
+
+  @Test
+  void boundedQueueRejectsExcessiveTasks() {
+    MeasuredThreadPoolExecutor executor = new MeasuredThreadPoolExecutor("test", 1, 1, 60, 1);
+    CountDownLatch release = new CountDownLatch(1);
+    executor.execute(() -> await(release));
+    executor.execute(() -> await(release));
+    assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> await(release)));
+    release.countDown();
+    executor.shutdown();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
 }